@@ -2,8 +2,15 @@ package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld;
 
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.StateManager;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemFactory;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.MonsterFactory;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.AtlasImageLoader;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ImageCache;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteImages;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.TextureAtlas;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMapManager;
 import javafx.application.Application;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import java.nio.file.Path;
 
@@ -23,14 +30,31 @@ public class Game extends Application {
      */
     @Override
     public void start(final Stage stage) {
+        // open the content pack, or fall back to the loose config files
+        Assets.init(Assets.PACK_FILE);
+
         // load game configurations
         Config.init("config/config.json");
 
+        // pack all sprite and tile images into the texture atlas, and draw sprites from it
+        TextureAtlas.buildFromConfig();
+        SpriteImages.setLoader(new AtlasImageLoader());
+
+        // load every tile definition before the first map is parsed
+        TileMapManager.preloadTiles();
+
+        // parse every item definition once
+        ItemFactory.preloadAll();
+
+        // parse every monster definition once
+        MonsterFactory.preloadAll();
+
         // set up the stage
         stage.setTitle(Config.getWindowName());
         stage.setResizable(false);
         stage.centerOnScreen();
-        stage.getIcons().add(new Image(Path.of("config/icon/image.png").toUri().toString()));
+        stage.getIcons().add(ImageCache.acquire(
+                Path.of("config/icon/image.png").toUri().toString()));
 
         // initialize the state manager
         StateManager.init(stage);
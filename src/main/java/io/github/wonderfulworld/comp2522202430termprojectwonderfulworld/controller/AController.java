@@ -34,12 +34,20 @@ public abstract class AController {
     public abstract void init();
 
     /**
-     * A method is called by the main timer every frame to update the state of the controller.
+     * A method is called by the main timer for every simulation step
+     * to update the state of the controller.
      *
-     * @param delta the time elapsed since the last tick (in seconds)
+     * @param delta the length of a simulation step (in seconds)
      */
     public abstract void tick(double delta);
 
+    /**
+     * A method is called by the main timer every frame to draw the controller's view.
+     *
+     * @param alpha how far the frame is between the last two simulation steps, from 0 to 1
+     */
+    public abstract void render(double alpha);
+
     /**
      * Compares this AController with another object for equality.
      * Two AController objects are considered equal if they have the same values for all properties,
@@ -1,19 +1,21 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.controller;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Camera;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.PlayerInput;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.SimulationLoop;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.StateManager;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.TripleBuffer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.WorldSimulation;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.location.Location;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.RenderSnapshot;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteManager;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Portal;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.GameView;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.input.KeyEvent;
-import javafx.scene.layout.Pane;
 
-import java.util.ArrayList;
 import java.util.Objects;
 
 /**
@@ -24,14 +26,16 @@ import java.util.Objects;
  * @version 2024
  */
 public class GameController extends AController implements IController {
-    private ArrayList<String> input = new ArrayList<>();
+    // Keys are pressed on the JavaFX thread and read by the simulation, which may run on its own
+    private PlayerInput input;
+    private WorldSimulation world;
+    private SimulationLoop.Mode simulation;
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private Location location;
     private Player player;
     private TileMap tileMap;
-    private ArrayList<Monster> monsters;
-    private ArrayList<AItem> items;
-    private ArrayList<Portal> portals;
     private SpriteManager spriteManager;
-    private Pane canvasRoot;
+    private Camera camera;
 
     /**
      * Initializes the GameController.
@@ -42,20 +46,37 @@ public class GameController extends AController implements IController {
             return;
         }
 
+        simulation = SimulationLoop.Mode.valueOf(Config.getSimulation());
         view = new GameView(this);
         view.init();
+        camera = ((GameView) view).getCamera();
+        input = GameSession.current().getInput();
+        world = GameSession.current().getWorld();
 
-        // Links to game entitles
+        linkLocation();
+        world.setViewSize(camera.getWidth(), camera.getHeight());
+        followPlayer();
+        wasInitialized = true;
+    }
+
+    /**
+     * Links the controller to the entities of the current location.
+     */
+    private void linkLocation() {
         GameModel gameModel = GameModel.getInstance();
+        location = gameModel.getCurrentLocation();
         player = gameModel.getPlayer();
-        monsters = gameModel.getMonsters();
-        items = gameModel.getItems();
-        portals = gameModel.getPortals();
         tileMap = gameModel.getTileMap();
-        canvasRoot = ((GameView) view).getCanvasRoot();
         spriteManager = gameModel.getSpriteManager();
-        setCameraPositionOnLoad();
-        wasInitialized = true;
+        player.setOnDeath(StateManager::gameOver);
+    }
+
+    /**
+     * Moves the camera to the player.
+     * Called on the JavaFX thread only, the camera belongs to the view.
+     */
+    private void followPlayer() {
+        camera.follow(player, tileMap);
     }
 
     /**
@@ -68,18 +89,16 @@ public class GameController extends AController implements IController {
         String code = e.getCode().toString();
 
         // Track inputs
-        if (!input.contains(code)) {
-            input.add(code);
-        }
+        setMoving(code, true);
 
-        // Player attack
+        // Player attack, carried out by the next simulation step
         if (code.equals("J")) {
-            playerAttack();
+            input.requestAttack();
         }
 
         // Custom ESCAPE behavior
         if (code.equals("ESCAPE")) {
-            input = new ArrayList<>();
+            input.clear();
             StateManager.goToGameMenu();
         }
 
@@ -87,6 +106,11 @@ public class GameController extends AController implements IController {
         if (code.equals("I")) {
             StateManager.goToInventory();
         }
+
+        // Switch between the full and the dirty rectangle rendering modes
+        if (code.equals("F3")) {
+            ((GameView) view).toggleRenderMode();
+        }
     }
 
     /**
@@ -97,237 +121,98 @@ public class GameController extends AController implements IController {
     @Override
     public void keyRelease(final KeyEvent e) {
         String code = e.getCode().toString();
-        input.remove(code);
+        setMoving(code, false);
     }
 
     /**
-     * Attacks the monster by player.
+     * Starts or stops moving the player in the direction of a movement key.
      *
+     * @param code   the code of the key
+     * @param moving whether the key is pressed
      */
-    public void playerAttack() {
-        ArrayList<Monster> deadMonsters = new ArrayList<>();
-
-        for (Monster monster : monsters) {
-            if (player.intersectsAttackBox(monster)) {
-                player.attack(monster);
-
-                if (monster.isDead()) {
-                    deadMonsters.add(monster);
-                    break;
-                }
+    private void setMoving(final String code, final boolean moving) {
+        switch (code) {
+            case "W" -> input.setMovingUp(moving);
+            case "S" -> input.setMovingDown(moving);
+            case "A" -> input.setMovingLeft(moving);
+            case "D" -> input.setMovingRight(moving);
+            default -> {
+                // Do nothing for other keys
             }
         }
-
-        // Remove dead monsters
-        for (Monster deadMonster : deadMonsters) {
-            monsters.remove(deadMonster);
-            spriteManager.removeSprite(deadMonster);
-        }
     }
 
     /**
-     * Updates the player Position.
-     *
+     * A method is called by the main timer for every simulation step
+     * to update the state of the controller.
      *
-     * @param delta the change
+     * @param delta the length of a simulation step (in seconds)
      */
-    private void updatePlayerPosition(final double delta) {
-        Rectangle2D moveBox = player.getMoveBox();
-        int path = (int) (player.getSpeed() * delta);
-
-        handleHorizontalMovement(moveBox, path);
-        handleVerticalMovement(moveBox, path);
-    }
-
-    private void handleHorizontalMovement(final Rectangle2D moveBox, final int path) {
-        // Handle left movement
-        if (input.contains("A") && canMoveLeft(moveBox, path)) {
-            player.moveLeft(path);
-        }
-
-        // Handle right movement
-        if (input.contains("D") && canMoveRight(moveBox, path)) {
-            player.moveRight(path);
-        }
-    }
-
-    private void handleVerticalMovement(final Rectangle2D moveBox, final int path) {
-        // Handle upward movement
-        if (input.contains("W") && canMoveUp(moveBox, path)) {
-            player.moveUp(path);
-        }
-
-        // Handle downward movement
-        if (input.contains("S") && canMoveDown(moveBox, path)) {
-            player.moveDown(path);
-        }
-    }
-
-    private boolean canMoveLeft(final Rectangle2D moveBox, final int path) {
-        if (player.getPositionX() - path <= 0) {
-            return false;
-        }
-
-        int tileMinX = TileMap.convertPixelToTile(moveBox.getMinX() - path);
-        int tileMinY = TileMap.convertPixelToTile(moveBox.getMinY());
-        int tileMaxY = TileMap.convertPixelToTile(moveBox.getMaxY());
+    @Override
+    public void tick(final double delta) {
+        world.step(delta);
 
-        return tileMap.getTile(tileMinX, tileMinY).isPassable()
-                && tileMap.getTile(tileMinX, tileMaxY).isPassable();
-    }
+        // Follow the player through a portal
+        if (world.getLocation() != location) {
+            linkLocation();
 
-    private boolean canMoveRight(final Rectangle2D moveBox, final int path) {
-        if (player.getPositionX() + player.getWidth() + path >= tileMap.getMapWidth()) {
-            return false;
+            // Reuse the same view and canvas for the new location. On the simulation thread,
+            // the view switches when it draws the first snapshot of the new location
+            if (simulation == SimulationLoop.Mode.FX_THREAD) {
+                ((GameView) view).loadLocation();
+                followPlayer();
+            }
         }
 
-        int tileMinY = TileMap.convertPixelToTile(moveBox.getMinY());
-        int tileMaxY = TileMap.convertPixelToTile(moveBox.getMaxY());
-        int tileMaxX = TileMap.convertPixelToTile(moveBox.getMaxX() + path);
-
-        return tileMap.getTile(tileMaxX, tileMinY).isPassable()
-                && tileMap.getTile(tileMaxX, tileMaxY).isPassable();
-    }
-
-    private boolean canMoveUp(final Rectangle2D moveBox, final int path) {
-        if (player.getPositionY() - path <= 0) {
-            return false;
+        // Hand the sprites of this step over to the JavaFX thread
+        if (simulation == SimulationLoop.Mode.DEDICATED_THREAD) {
+            snapshots.getBack().capture(spriteManager, player, tileMap, System.nanoTime());
+            snapshots.publish();
         }
-
-        int tileMinX = TileMap.convertPixelToTile(moveBox.getMinX());
-        int tileMinY = TileMap.convertPixelToTile(moveBox.getMinY() - path);
-        int tileMaxX = TileMap.convertPixelToTile(moveBox.getMaxX());
-
-        return tileMap.getTile(tileMinX, tileMinY).isPassable()
-                && tileMap.getTile(tileMaxX, tileMinY).isPassable();
-    }
-
-    private boolean canMoveDown(final Rectangle2D moveBox, final int path) {
-        if (player.getPositionY() + player.getHeight() + path >= tileMap.getMapHeight()) {
-            return false;
-        }
-
-        int tileMinX = TileMap.convertPixelToTile(moveBox.getMinX());
-        int tileMaxY = TileMap.convertPixelToTile(moveBox.getMaxY() + path);
-        int tileMaxX = TileMap.convertPixelToTile(moveBox.getMaxX());
-
-        return tileMap.getTile(tileMinX, tileMaxY).isPassable()
-                && tileMap.getTile(tileMaxX, tileMaxY).isPassable();
     }
 
     /**
-     * Sets the camera position.
+     * A method is called by the main timer every frame to draw the controller's view.
+     *
+     * @param alpha how far the frame is between the last two simulation steps, from 0 to 1
      */
-    private void setCameraPositionOnLoad() {
-        double offsetX = ((player.getPositionX() - (double) (Config.getWindowWidth() / 2))
-                + player.getWidth() / 2);
-        double offsetY = ((player.getPositionY() - (double) (Config.getWindowHeight() / 2))
-                + player.getHeight() / 2);
-
-        // X camera
-        if (offsetX > 0 && offsetX > tileMap.getMapWidth() - Config.getWindowWidth()) {
-            canvasRoot.setTranslateX((offsetX - (offsetX - (tileMap.getMapWidth()
-                    - Config.getWindowWidth()))) * -1);
+    @Override
+    public void render(final double alpha) {
+        if (simulation == SimulationLoop.Mode.DEDICATED_THREAD) {
+            renderSnapshot();
+            return;
         }
 
-        // Y camera
-        if (offsetY > 0 && offsetY > tileMap.getMapHeight() - Config.getWindowHeight()) {
-            canvasRoot.setTranslateY((offsetY - (offsetY - (tileMap.getMapHeight()
-                    - Config.getWindowHeight()))) * -1);
-        }
-    }
+        // Draw the sprites between their last two positions
+        spriteManager.interpolate(alpha);
 
-    /**
-     * Updates the camera position.
-     */
-    private void updateCameraPosition() {
-        double offsetX = ((player.getPositionX() - (double) (Config.getWindowWidth() / 2))
-                + player.getWidth() / 2);
-        double offsetY = ((player.getPositionY() - (double) (Config.getWindowHeight() / 2))
-                + player.getHeight() / 2);
-
-        // X camera
-        if (offsetX > 0 && offsetX < tileMap.getMapWidth() - Config.getWindowWidth()) {
-            canvasRoot.setTranslateX(offsetX * -1);
-        }
+        // Camera
+        camera.follow(player, tileMap);
 
-        // Y camera
-        if (offsetY > 0 && offsetY < tileMap.getMapHeight() - Config.getWindowHeight()) {
-            canvasRoot.setTranslateY(offsetY * -1);
-        }
+        // Render
+        view.render();
     }
 
     /**
-     * Checks the intersections.
+     * Draws the latest snapshot published by the simulation thread.
+     * The sprites are only read through the snapshot, never while the simulation moves them.
      */
-    private void checkIntersections() {
-        handleItemIntersections();
-        handleMonsterIntersections();
-        handlePortalIntersections();
-    }
-
-    private void handleItemIntersections() {
-        ArrayList<AItem> takenItems = new ArrayList<>();
-
-        for (AItem item : items) {
-            if (player.intersectsMoveBox(item) && item.take(player)) {
-                takenItems.add(item);
-            }
-        }
-
-        // Remove Taken Items from game world
-        for (AItem item : takenItems) {
-            spriteManager.removeSprite(item);
-            items.remove(item);
-        }
-    }
-
-    private void handleMonsterIntersections() {
-        for (Monster monster : monsters) {
-            if (monster.intersectsRadiusViewBox(player)) {
-                monster.setAim(player);
-            }
-        }
-    }
-
-    private void handlePortalIntersections() {
-        for (Portal portal : portals) {
-            if (player.intersectsMoveBox(portal)) {
-                handlePortalActivation(portal);
-                return;
-            }
+    private void renderSnapshot() {
+        RenderSnapshot snapshot = snapshots.acquire();
+        TileMap snapshotMap = snapshot.getTileMap();
+        if (snapshotMap == null) {
+            return;
         }
-    }
 
-    private void handlePortalActivation(final Portal portal) {
-        portal.activate();
-        monsters.forEach(Monster::offCombat);
-        wasInitialized = false;
-        init();
-        StateManager.resetScene();
-    }
-
-    /**
-     * A method is called by the main timer every frame to update the state of the controller.
-     *
-     * @param delta the time elapsed since the last tick (in seconds)
-     */
-    @Override
-    public void tick(final double delta) {
-        // Update
-        updatePlayerPosition(delta);
+        // How far the frame is past the snapshot, measured against the clock of the simulation
+        double alpha = snapshot.getAlpha(System.nanoTime(), SimulationLoop.TIME_STEP);
 
         // Camera
-        updateCameraPosition();
-
-        // Check intersections
-        checkIntersections();
-
-        // Sprite Update
-        spriteManager.update(delta);
+        camera.follow(snapshot.getFocusX(alpha), snapshot.getFocusY(alpha),
+                snapshot.getFocusWidth(), snapshot.getFocusHeight(), snapshotMap);
 
         // Render
-        view.render();
+        ((GameView) view).render(snapshot, alpha);
     }
 
     /**
@@ -351,13 +236,12 @@ public class GameController extends AController implements IController {
             return false;
         }
         GameController that = (GameController) o;
-        return Objects.equals(input, that.input) && Objects.equals(player, that.player)
+        return Objects.equals(input, that.input) && Objects.equals(world, that.world)
+                && Objects.equals(location, that.location)
+                && Objects.equals(player, that.player)
                 && Objects.equals(tileMap, that.tileMap)
-                && Objects.equals(monsters, that.monsters)
-                && Objects.equals(items, that.items)
-                && Objects.equals(portals, that.portals)
                 && Objects.equals(spriteManager, that.spriteManager)
-                && Objects.equals(canvasRoot, that.canvasRoot);
+                && Objects.equals(camera, that.camera);
     }
 
     /**
@@ -367,8 +251,8 @@ public class GameController extends AController implements IController {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), input, player, tileMap,
-                monsters, items, portals, spriteManager, canvasRoot);
+        return Objects.hash(super.hashCode(), input, world, location, player, tileMap,
+                spriteManager, camera);
     }
 
     /**
@@ -380,13 +264,12 @@ public class GameController extends AController implements IController {
     public String toString() {
         return "GameController{"
                 + "input=" + input
+                + ", world=" + world
+                + ", location=" + location
                 + ", player=" + player
                 + ", tileMap=" + tileMap
-                + ", monsters=" + monsters
-                + ", items=" + items
-                + ", portals=" + portals
                 + ", spriteManager=" + spriteManager
-                + ", canvasRoot=" + canvasRoot
+                + ", camera=" + camera
                 + '}';
     }
 }
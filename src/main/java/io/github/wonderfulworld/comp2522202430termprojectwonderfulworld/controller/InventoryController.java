@@ -31,14 +31,24 @@ public class InventoryController extends AController implements IController {
     }
 
     /**
-     * A method is called by the main timer every frame to update the state of the controller.
+     * A method is called by the main timer for every simulation step
+     * to update the state of the controller.
      *
-     * @param delta the time elapsed since the last tick (in seconds)
+     * @param delta the length of a simulation step (in seconds)
      */
     @Override
     public void tick(final double delta) {
     }
 
+    /**
+     * A method is called by the main timer every frame to draw the controller's view.
+     *
+     * @param alpha how far the frame is between the last two simulation steps, from 0 to 1
+     */
+    @Override
+    public void render(final double alpha) {
+    }
+
     /**
      * Handles the click event for a key press.
      *
@@ -112,8 +122,8 @@ public class InventoryController extends AController implements IController {
         }
 
         AItem item = ((ItemView) e.getTarget()).getItem();
-        if (item != null) {
-            item.drop(GameModel.getInstance().getPlayer());
+        if (item != null && item.drop(GameModel.getInstance().getPlayer())) {
+            item.releaseImage();
         }
     }
 
@@ -0,0 +1,135 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
+import javafx.scene.canvas.GraphicsContext;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * The Camera class represents the visible area of the game world.
+ * The camera is applied as a transform on the graphics context, so the canvas only
+ * needs to be as large as the window, no matter how large the map is.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+@Getter
+public class Camera {
+    /**
+     * The position of the camera in world pixels.
+     */
+    private double x;
+    private double y;
+
+    /**
+     * The size of the visible area in pixels.
+     */
+    private final double width;
+    private final double height;
+
+    /**
+     * Constructs a new Camera with the specified size of the visible area.
+     *
+     * @param width  the width of the visible area in pixels
+     * @param height the height of the visible area in pixels
+     */
+    public Camera(final double width, final double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Centers the camera on the target where it is drawn, without showing anything
+     * outside the map.
+     *
+     * @param target  the sprite to follow
+     * @param tileMap the tile map the target is on
+     */
+    public void follow(final ASprite target, final TileMap tileMap) {
+        follow(target.getRenderX(), target.getRenderY(), target.getWidth(), target.getHeight(),
+                tileMap);
+    }
+
+    /**
+     * Centers the camera on an area, without moving past the edges of the tile map.
+     *
+     * @param targetX      the x-coordinate of the area
+     * @param targetY      the y-coordinate of the area
+     * @param targetWidth  the width of the area
+     * @param targetHeight the height of the area
+     * @param tileMap      the tile map the area is on
+     */
+    public void follow(final double targetX, final double targetY, final double targetWidth,
+                       final double targetHeight, final TileMap tileMap) {
+        double offsetX = targetX - width / 2 + targetWidth / 2;
+        double offsetY = targetY - height / 2 + targetHeight / 2;
+
+        x = clamp(offsetX, tileMap.getMapWidth() - width);
+        y = clamp(offsetY, tileMap.getMapHeight() - height);
+    }
+
+    /**
+     * Clamps a camera coordinate between zero and the maximum value.
+     *
+     * @param value the coordinate
+     * @param max   the maximum value, may be negative when the map is smaller than the window
+     * @return the clamped coordinate
+     */
+    private static double clamp(final double value, final double max) {
+        return Math.max(0, Math.min(value, Math.max(0, max)));
+    }
+
+    /**
+     * Applies the camera transform on the graphics context,
+     * so world coordinates are drawn at their position on the screen.
+     *
+     * @param gc the graphics context of the canvas
+     */
+    public void apply(final GraphicsContext gc) {
+        gc.setTransform(1, 0, 0, 1, -Math.round(x), -Math.round(y));
+    }
+
+    /**
+     * Compares this Camera with another object for equality.
+     * Two Camera objects are considered equal if they have the same position and size.
+     *
+     * @param o the object to compare with this Camera
+     * @return true if the given object is equal to this Camera, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Camera camera = (Camera) o;
+        return Double.compare(x, camera.x) == 0 && Double.compare(y, camera.y) == 0
+                && Double.compare(width, camera.width) == 0
+                && Double.compare(height, camera.height) == 0;
+    }
+
+    /**
+     * Returns the hash code of this Camera.
+     *
+     * @return the hash code value of the Camera as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y, width, height);
+    }
+
+    /**
+     * Returns a string representation of this Camera.
+     *
+     * @return the representation of the Camera as a string
+     */
+    @Override
+    public String toString() {
+        return "Camera{" + "x=" + x + ", y=" + y + ", width=" + width + ", height=" + height + '}';
+    }
+}
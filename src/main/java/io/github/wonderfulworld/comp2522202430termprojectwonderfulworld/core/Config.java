@@ -1,10 +1,8 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
 import org.json.JSONObject;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 
 /**
  * The Config class handles loading and providing access to the main application configuration.
@@ -16,6 +14,7 @@ import java.nio.file.Paths;
 public final class Config {
     /**
      * The JSON object storing the configuration data.
+     * Only read after the initialization, so all game sessions share it.
      */
     private static JSONObject jo;
 
@@ -35,9 +34,8 @@ public final class Config {
      * @throws RuntimeException if the configuration file cannot be loaded
      */
     public static void init(final String path) {
-        File file = new File(path);
         try {
-            String content = new String(Files.readAllBytes(Paths.get(file.toURI())));
+            String content = Assets.readString(path);
             jo = new JSONObject(content);
         } catch (IOException e) {
             System.err.println("Failed to load configuration file: " + path);
@@ -72,6 +70,51 @@ public final class Config {
         return jo.getInt("tileSize");
     }
 
+    /**
+     * Gets the size of a tile map chunk in tiles.
+     *
+     * @return The tile chunk size.
+     */
+    public static int getTileChunkSize() {
+        return jo.getInt("tileChunkSize");
+    }
+
+    /**
+     * Gets the memory budget of the tile layer cache in megabytes.
+     *
+     * @return The tile cache budget.
+     */
+    public static int getTileCacheBudgetMb() {
+        return jo.getInt("tileCacheBudgetMb");
+    }
+
+    /**
+     * Gets the rendering mode of the game view.
+     *
+     * @return The render mode name.
+     */
+    public static String getRenderMode() {
+        return jo.getString("renderMode");
+    }
+
+    /**
+     * Gets where the layers of tile maps are kept: HEAP, OFF_HEAP or MAPPED.
+     *
+     * @return The tile layer mode name.
+     */
+    public static String getTileLayer() {
+        return jo.getString("tileLayer");
+    }
+
+    /**
+     * Gets where the game world is simulated: FX_THREAD or DEDICATED_THREAD.
+     *
+     * @return The simulation mode name.
+     */
+    public static String getSimulation() {
+        return jo.getString("simulation");
+    }
+
     /**
      * Gets window name.
      *
@@ -0,0 +1,99 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
+
+/**
+ * The GameClock class keeps the time of a game session.
+ * It only moves when the session is simulated, so cooldowns do not run out while the game is
+ * paused, and sessions simulated side by side each keep their own time.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class GameClock {
+    /**
+     * Constants.
+     */
+    private static final double MILLIS_PER_SECOND = 1000;
+
+    /**
+     * The time simulated so far (in seconds).
+     */
+    private volatile double time;
+
+    /**
+     * Moves the clock forward. Called by the thread simulating the session only.
+     *
+     * @param delta the length of the simulation step (in seconds)
+     * @throws IllegalArgumentException if the delta is negative
+     */
+    public void advance(final double delta) {
+        if (delta < 0) {
+            throw new IllegalArgumentException("Delta must not be negative: " + delta);
+        }
+        time += delta;
+    }
+
+    /**
+     * Sets the clock back to zero.
+     */
+    public void reset() {
+        time = 0;
+    }
+
+    /**
+     * Gets the time simulated so far.
+     *
+     * @return the time (in seconds)
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the time simulated so far in milliseconds.
+     *
+     * @return the time (in milliseconds)
+     */
+    public double getMillis() {
+        return time * MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Returns a string representation of this GameClock.
+     *
+     * @return the representation of the GameClock as a string
+     */
+    @Override
+    public String toString() {
+        return "GameClock{" + "time=" + time + '}';
+    }
+
+    /**
+     * Compares this GameClock with another object for equality.
+     * Two GameClocks are considered equal if they show the same time.
+     *
+     * @param object the object to compare with this GameClock
+     * @return true if the given object is equal to this GameClock, false otherwise
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        GameClock that = (GameClock) object;
+        return Double.compare(time, that.time) == 0;
+    }
+
+    /**
+     * Returns the hash code of this GameClock.
+     *
+     * @return the hash code value of the GameClock as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Double.hashCode(time);
+    }
+}
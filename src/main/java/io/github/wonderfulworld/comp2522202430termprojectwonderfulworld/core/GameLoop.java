@@ -6,33 +6,82 @@ import java.util.Objects;
 
 /**
  * The GameLoop class represents the control of the main timer.
+ * The game is simulated in fixed steps, as many as the time elapsed since the last frame
+ * calls for, and every frame is drawn between the last two steps. The simulation runs at the
+ * same rate on every display, and slow frames are caught up instead of slowing the game down.
+ * When the simulation runs on its own thread, the game loop only draws.
  */
 class GameLoop extends AnimationTimer {
     // CONSTANTS
-    private static final double TARGET_FRAME_RATE = 60.0;
-    private static final double MAX_DELTA_TIME = 1.0 / TARGET_FRAME_RATE;
+    private static final double TIME_STEP = SimulationLoop.TIME_STEP;
+    private static final int MAX_STEPS_PER_FRAME = SimulationLoop.MAX_STEPS_PER_FRAME;
     private static final double NANOSECONDS_TO_SECONDS = 1000000000.0;
+    private static final double LATEST_STEP = 1.0;
+
+    /**
+     * Whether the game loop runs the simulation steps itself.
+     */
+    private final boolean simulating;
 
     private long lastNanoTime = System.nanoTime();
 
+    /**
+     * The time elapsed but not simulated yet, in seconds.
+     */
+    private double accumulator;
+
+    /**
+     * Constructs a new GameLoop.
+     *
+     * @param simulating whether the game loop runs the simulation steps itself,
+     *                   false if a SimulationLoop runs them
+     */
+    GameLoop(final boolean simulating) {
+        this.simulating = simulating;
+    }
+
+    /**
+     * Starts the timer, without simulating the time it was stopped.
+     */
+    @Override
+    public void start() {
+        lastNanoTime = System.nanoTime();
+        accumulator = 0;
+        super.start();
+    }
+
     /**
      * Handles the animation timer's update logic.
+     * Runs the simulation steps due since the last frame, then draws the frame.
+     * After a long stall, at most MAX_STEPS_PER_FRAME steps are run and the rest of the
+     * elapsed time is dropped, so a slow machine does not fall further and further behind.
      *
      *
      * @param now the current time in nanoseconds
      */
     @Override
     public void handle(final long now) {
-        double delta = (now - lastNanoTime) / NANOSECONDS_TO_SECONDS;
+        if (!simulating) {
+            // The state interpolates the published snapshots by itself
+            StateManager.getCurrentState().render(LATEST_STEP);
+            return;
+        }
+
+        accumulator += (now - lastNanoTime) / NANOSECONDS_TO_SECONDS;
         lastNanoTime = now;
 
-        // Cap the maximum delta time
-        if (delta > MAX_DELTA_TIME) {
-            delta = MAX_DELTA_TIME;
+        int steps = 0;
+        while (accumulator >= TIME_STEP && steps < MAX_STEPS_PER_FRAME) {
+            // The state can change during a step, so it is looked up for each one
+            StateManager.getCurrentState().tick(TIME_STEP);
+            accumulator -= TIME_STEP;
+            steps++;
+        }
+        if (accumulator >= TIME_STEP) {
+            accumulator %= TIME_STEP;
         }
 
-        // Always run tick with the capped delta
-        StateManager.getCurrentState().tick(delta);
+        StateManager.getCurrentState().render(accumulator / TIME_STEP);
     }
 
     /**
@@ -52,7 +101,8 @@ class GameLoop extends AnimationTimer {
             return false;
         }
         GameLoop gameLoop = (GameLoop) o;
-        return lastNanoTime == gameLoop.lastNanoTime;
+        return simulating == gameLoop.simulating && lastNanoTime == gameLoop.lastNanoTime
+                && Double.compare(accumulator, gameLoop.accumulator) == 0;
     }
 
     /**
@@ -62,7 +112,7 @@ class GameLoop extends AnimationTimer {
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(lastNanoTime);
+        return Objects.hash(simulating, lastNanoTime, accumulator);
     }
 
     /**
@@ -72,6 +122,7 @@ class GameLoop extends AnimationTimer {
      */
     @Override
     public String toString() {
-        return "GameLoop{" + "lastNanoTime=" + lastNanoTime + '}';
+        return "GameLoop{" + "simulating=" + simulating + ", lastNanoTime=" + lastNanoTime
+                + ", accumulator=" + accumulator + '}';
     }
 }
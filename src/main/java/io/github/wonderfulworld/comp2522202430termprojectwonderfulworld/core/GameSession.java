@@ -0,0 +1,167 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpatialHash;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GameSession class holds everything one game owns: the model with its player and
+ * locations, the clock, the player input with the world simulation it drives, and the counter
+ * of the spatial hash queries. Many sessions can run side by side in one JVM, each on its own
+ * virtual thread, while the immutable assets (the config, the tiles, the monster and item
+ * definitions, the images) and their caches stay shared between them.
+ * Code running inside a session finds it through {@link #current()}. Outside any session, the
+ * default session is used, which is the one the game window plays.
+ * Bots play a session without any view by setting its input and calling {@link #tick}.
+ * A session is simulated by one thread at a time.
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class GameSession {
+    /**
+     * The number given to the next session.
+     */
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    /**
+     * The session used by code running outside any session.
+     */
+    private static final GameSession DEFAULT = new GameSession();
+
+    /**
+     * The session each thread is running.
+     */
+    private static final ThreadLocal<GameSession> CURRENT = new ThreadLocal<>();
+
+    /**
+     * -- GETTER --
+     * Gets the number of the session.
+     */
+    @Getter private final int id;
+
+    /**
+     * -- GETTER --
+     * Gets the model of the session.
+     */
+    @Getter private final GameModel model = new GameModel();
+
+    /**
+     * -- GETTER --
+     * Gets the clock of the session.
+     */
+    @Getter private final GameClock clock = new GameClock();
+
+    /**
+     * -- GETTER --
+     * Gets the counter numbering the spatial hash queries of the session.
+     */
+    @Getter private final SpatialHash.QueryCounter queryCounter = new SpatialHash.QueryCounter();
+
+    /**
+     * -- GETTER --
+     * Gets what the player of the session wants to do.
+     */
+    @Getter private final PlayerInput input = new PlayerInput();
+
+    /**
+     * -- GETTER --
+     * Gets the simulation running the rules of the world of the session.
+     */
+    @Getter private final WorldSimulation world = new WorldSimulation(model, clock, input);
+
+    /**
+     * Constructs a new GameSession with an empty model.
+     */
+    public GameSession() {
+        id = NEXT_ID.getAndIncrement();
+    }
+
+    /**
+     * Gets the default session, played by the window.
+     *
+     * @return the default session
+     */
+    public static GameSession getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the session the current thread is running, or the default session
+     * if the thread is not running any.
+     *
+     * @return the current session
+     */
+    public static GameSession current() {
+        GameSession session = CURRENT.get();
+        if (session == null) {
+            return DEFAULT;
+        }
+        return session;
+    }
+
+    /**
+     * Runs a task inside this session on the current thread.
+     *
+     * @param task the task
+     */
+    public void run(final Runnable task) {
+        GameSession previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs a task inside this session on a new virtual thread.
+     *
+     * @param task the task
+     * @return the started thread
+     */
+    public Thread start(final Runnable task) {
+        return Thread.ofVirtual().name("session-" + id).start(() -> run(task));
+    }
+
+    /**
+     * Simulates one step of the current location without any view, inside this session.
+     *
+     * @param delta the length of the simulation step (in seconds)
+     */
+    public void tick(final double delta) {
+        run(() -> world.step(delta));
+    }
+
+    /**
+     * Simulates a number of steps of the current location without any view, inside this
+     * session. The input stays as it is during the steps.
+     *
+     * @param delta the length of each simulation step (in seconds)
+     * @param steps the number of steps
+     */
+    public void tick(final double delta, final int steps) {
+        run(() -> {
+            for (int i = 0; i < steps; i++) {
+                world.step(delta);
+            }
+        });
+    }
+
+    /**
+     * Returns a string representation of this GameSession.
+     *
+     * @return the representation of the GameSession as a string
+     */
+    @Override
+    public String toString() {
+        return "GameSession{" + "id=" + id + ", clock=" + clock + '}';
+    }
+}
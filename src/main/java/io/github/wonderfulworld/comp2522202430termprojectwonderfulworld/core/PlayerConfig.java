@@ -1,5 +1,6 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
@@ -42,7 +43,7 @@ public final class PlayerConfig {
         }
 
         try {
-            String content = new String(Files.readAllBytes(Path.of(path)));
+            String content = Assets.readString(path);
             return new JSONObject(content);
         } catch (IOException e) {
             System.err.println("Error while reading player config: " + e.getMessage());
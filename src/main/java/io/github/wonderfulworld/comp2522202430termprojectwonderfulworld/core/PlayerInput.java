@@ -0,0 +1,74 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The PlayerInput class holds what the player of a game session wants to do in the next
+ * simulation steps: the directions to move in and whether to attack.
+ * The keyboard sets it in the game window, and bots set it directly in headless sessions.
+ * It can be set on any thread while the simulation reads it on its own.
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+@Getter
+@Setter
+public final class PlayerInput {
+    /**
+     * The directions the player moves in while they are set.
+     */
+    private volatile boolean movingUp;
+    private volatile boolean movingDown;
+    private volatile boolean movingLeft;
+    private volatile boolean movingRight;
+
+    /**
+     * Whether the player attacks in the next simulation step.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicBoolean attackRequested = new AtomicBoolean();
+
+    /**
+     * Asks for an attack in the next simulation step.
+     */
+    public void requestAttack() {
+        attackRequested.set(true);
+    }
+
+    /**
+     * Takes the attack asked for since the last call, so every request attacks once.
+     *
+     * @return true if an attack was asked for, false otherwise
+     */
+    public boolean takeAttackRequest() {
+        return attackRequested.getAndSet(false);
+    }
+
+    /**
+     * Stops all movement and drops the requested attack.
+     */
+    public void clear() {
+        movingUp = false;
+        movingDown = false;
+        movingLeft = false;
+        movingRight = false;
+        attackRequested.set(false);
+    }
+
+    /**
+     * Returns a string representation of this PlayerInput.
+     *
+     * @return the representation of the PlayerInput as a string
+     */
+    @Override
+    public String toString() {
+        return "PlayerInput{" + "movingUp=" + movingUp + ", movingDown=" + movingDown
+                + ", movingLeft=" + movingLeft + ", movingRight=" + movingRight
+                + ", attackRequested=" + attackRequested.get() + '}';
+    }
+}
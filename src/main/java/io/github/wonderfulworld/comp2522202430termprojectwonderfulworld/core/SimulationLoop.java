@@ -0,0 +1,133 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The SimulationLoop class runs the simulation steps of the current state on a thread of its
+ * own, so the JavaFX thread only draws what the last step published.
+ * Steps are run at the same fixed rate as in GameLoop, catching up at most
+ * MAX_STEPS_PER_FRAME steps after a stall, and the thread sleeps between steps.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class SimulationLoop {
+    /**
+     * Where the game world is simulated.
+     */
+    public enum Mode {
+        /**
+         * On the JavaFX thread, by the game loop, right before drawing.
+         */
+        FX_THREAD,
+        /**
+         * On the simulation thread, the JavaFX thread draws published snapshots.
+         */
+        DEDICATED_THREAD
+    }
+
+    /**
+     * The length of a simulation step in seconds.
+     */
+    public static final double TIME_STEP = 1.0 / 60.0;
+
+    /**
+     * The largest number of steps run to catch up after a stall.
+     */
+    public static final int MAX_STEPS_PER_FRAME = 5;
+
+    /**
+     * Constants.
+     */
+    private static final double NANOSECONDS_TO_SECONDS = 1000000000.0;
+    private static final long STEP_NANOS = Math.round(TIME_STEP * NANOSECONDS_TO_SECONDS);
+    private static final String THREAD_NAME = "simulation";
+
+    /**
+     * The simulation thread, or null while stopped.
+     */
+    private Thread thread;
+
+    /**
+     * Whether the simulation thread keeps running.
+     */
+    private volatile boolean running;
+
+    /**
+     * Starts the simulation thread, if it is not running yet.
+     */
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform().name(THREAD_NAME).daemon().start(this::run);
+    }
+
+    /**
+     * Stops the simulation thread and waits for the step it is running to finish.
+     * Called from a step on the simulation thread, such as when the player dies,
+     * the thread ends after that step, and a later call waits for it.
+     */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Runs the simulation steps until stopped.
+     */
+    private void run() {
+        long nextStep = System.nanoTime();
+        while (running) {
+            int steps = 0;
+            while (running && System.nanoTime() - nextStep >= 0
+                    && steps < MAX_STEPS_PER_FRAME) {
+                // The state can change during a step, so it is looked up for each one
+                StateManager.getCurrentState().tick(TIME_STEP);
+                nextStep += STEP_NANOS;
+                steps++;
+            }
+
+            long wait = nextStep - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (steps == MAX_STEPS_PER_FRAME) {
+                // Too far behind, drop the time that cannot be caught up
+                nextStep = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the simulation thread is running.
+     *
+     * @return true if it is running, false otherwise
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Returns a string representation of this SimulationLoop.
+     *
+     * @return the representation of the SimulationLoop as a string
+     */
+    @Override
+    public String toString() {
+        return "SimulationLoop{" + "running=" + running + '}';
+    }
+}
@@ -5,13 +5,13 @@ import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.controll
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.controller.InventoryController;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.controller.GameOverController;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.controller.GameController;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
 import javafx.application.Platform;
 import javafx.stage.Stage;
 import java.util.HashMap;
 
 /**
  * Manages the overall state of the game, providing methods to control global game flow.
+ * The window always plays the default game session.
  *
  *
  * @author Melissa Shao, Candice Wei
@@ -30,9 +30,10 @@ public final class StateManager {
     }
 
     private static final HashMap<GameState, AController> STATES = new HashMap<>();
-    private static AController currentController;
+    private static volatile AController currentController;
     private static Stage stage;
     private static GameLoop gameLoop;
+    private static SimulationLoop simulationLoop;
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -60,8 +61,12 @@ public final class StateManager {
         STATES.put(GameState.INVENTORY, new InventoryController());
         STATES.put(GameState.GAME_OVER, new GameOverController());
 
-        // Init Game Loop
-        StateManager.gameLoop = new GameLoop();
+        // Init Game Loop, and the simulation thread if the game is simulated on its own thread
+        SimulationLoop.Mode mode = SimulationLoop.Mode.valueOf(Config.getSimulation());
+        if (mode == SimulationLoop.Mode.DEDICATED_THREAD) {
+            StateManager.simulationLoop = new SimulationLoop();
+        }
+        StateManager.gameLoop = new GameLoop(simulationLoop == null);
         // Initial State
         goToMainMenu();
         // Open and Start game
@@ -75,12 +80,14 @@ public final class StateManager {
      */
     public static void startGame(final boolean fromSave) {
         System.out.println("Starting game...");
+        stopSimulation();
         currentController = STATES.get(GameState.GAME);
 
         // Reset all controls and views when restarting the game
         STATES.forEach((_, value) -> value.reset());
-        GameModel gameModel = GameModel.getInstance();
-        gameModel.init(fromSave);
+        GameSession session = GameSession.getDefault();
+        session.getClock().reset();
+        session.getModel().init(fromSave);
         currentController.init();
 
         // Set the scene
@@ -92,17 +99,19 @@ public final class StateManager {
         } else {
             System.err.println("GameLoop is null!");
         }
+        startSimulation();
 
         System.out.println("Game starts.");
     }
 
     /**
-     * Continues the game.
+     * Continues the game, restarting the simulation thread stopped by the menus.
      */
     public static void continueGame() {
         currentController = STATES.get(GameState.GAME);
         currentController.init();
         stage.setScene(currentController.getView().getScene());
+        startSimulation();
         System.out.println("Game continues.");
     }
 
@@ -113,6 +122,7 @@ public final class StateManager {
         if (gameLoop != null) {
             gameLoop.stop();
         }
+        stopSimulation();
         currentController = STATES.get(GameState.MENU);
         currentController.init();
         stage.setScene(currentController.getView().getScene());
@@ -120,9 +130,11 @@ public final class StateManager {
     }
 
     /**
-     * Goes to game menu.
+     * Goes to game menu. The simulation thread is stopped first,
+     * so saving reads the model while nothing else changes it.
      */
     public static void goToGameMenu() {
+        stopSimulation();
         currentController = STATES.get(GameState.GAME_MENU);
         currentController.init();
         stage.setScene(currentController.getView().getScene());
@@ -131,19 +143,47 @@ public final class StateManager {
 
 
     /**
-     * Goes to inventory.
+     * Goes to inventory. The simulation thread is stopped first,
+     * so the inventory changes the model on the JavaFX thread alone.
      */
     public static void goToInventory() {
+        stopSimulation();
         currentController = STATES.get(GameState.INVENTORY);
         currentController.init();
         stage.setScene(currentController.getView().getScene());
         System.out.println("Go to Inventory.");
     }
 
+    /**
+     * Starts the simulation thread, if the game is simulated on its own thread.
+     */
+    private static void startSimulation() {
+        if (simulationLoop != null) {
+            simulationLoop.start();
+        }
+    }
+
+    /**
+     * Stops the simulation thread, if the game is simulated on its own thread.
+     */
+    private static void stopSimulation() {
+        if (simulationLoop != null) {
+            simulationLoop.stop();
+        }
+    }
+
     /**
      * Triggers the game-over sequence, typically indicating the player's defeat.
+     * The simulation thread is stopped, so the dead game is not simulated behind the
+     * game-over screen. When called from the simulation thread, the scene is changed on
+     * the JavaFX thread.
      */
     public static void gameOver() {
+        stopSimulation();
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(StateManager::gameOver);
+            return;
+        }
         currentController = STATES.get(GameState.GAME_OVER);
         currentController.init();
         stage.setScene(currentController.getView().getScene());
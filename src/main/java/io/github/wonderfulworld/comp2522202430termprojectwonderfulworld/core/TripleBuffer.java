@@ -0,0 +1,99 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The TripleBuffer class hands data from one writer thread to one reader thread without locks.
+ * The writer fills the back buffer and publishes it, the reader takes the latest published
+ * buffer. The third buffer sits between them, so neither thread ever waits for the other
+ * and a buffer is never written while it is read. Buffers are reused, so once published
+ * a buffer must not be changed until the writer gets it back as its back buffer.
+ *
+ * @param <T> the type of the buffers
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class TripleBuffer<T> {
+    /**
+     * Constants.
+     */
+    private static final int BUFFER_COUNT = 3;
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+
+    /**
+     * The three buffers.
+     */
+    private final Object[] buffers = new Object[BUFFER_COUNT];
+
+    /**
+     * The index of the buffer between the threads, with the FRESH bit set
+     * if it was published after the reader last took a buffer.
+     */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /**
+     * The index of the buffer owned by the writer.
+     */
+    private int back = 2;
+
+    /**
+     * The index of the buffer owned by the reader.
+     */
+    private int front;
+
+    /**
+     * Constructs a new TripleBuffer.
+     *
+     * @param factory creates each of the three buffers
+     */
+    public TripleBuffer(final Supplier<T> factory) {
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * Gets the buffer the writer fills next. Called by the writer thread only.
+     *
+     * @return the back buffer
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Publishes the back buffer and gives the writer another one. Called by the writer only.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Gets the latest published buffer, or the buffer read last if nothing was published since.
+     * Called by the reader thread only. The buffer stays valid until the next call.
+     *
+     * @return the front buffer
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+
+    /**
+     * Returns a string representation of this TripleBuffer.
+     *
+     * @return the representation of the TripleBuffer as a string
+     */
+    @Override
+    public String toString() {
+        return "TripleBuffer{" + "front=" + front + ", middle=" + middle.get() + ", back=" + back
+                + '}';
+    }
+}
@@ -0,0 +1,414 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.location.Location;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteManager;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Portal;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
+import lombok.Getter;
+
+import java.util.ArrayList;
+
+/**
+ * The WorldSimulation class runs the rules of the game world, one simulation step at a time:
+ * the player moves and attacks as the player input asks, picks up items and walks through
+ * portals, monsters notice the player, and the tiles of a streamed map are loaded around it.
+ * It knows nothing about the window, so the game window and headless sessions run the
+ * same rules, and bots play a session by setting its input.
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class WorldSimulation {
+    /**
+     * The size of the area streamed around the player until a view sets its own,
+     * the default size of the game window (in pixels).
+     */
+    private static final double DEFAULT_VIEW_WIDTH = 1200;
+    private static final double DEFAULT_VIEW_HEIGHT = 700;
+
+    /**
+     * The model of the simulated game.
+     */
+    private final GameModel model;
+
+    /**
+     * The clock advanced by every step.
+     */
+    private final GameClock clock;
+
+    /**
+     * What the player wants to do.
+     */
+    private final PlayerInput input;
+
+    /**
+     * The size of the area around the player whose tiles are streamed in (in pixels).
+     */
+    private double viewWidth = DEFAULT_VIEW_WIDTH;
+    private double viewHeight = DEFAULT_VIEW_HEIGHT;
+
+    /**
+     * The location the simulation is linked to, and its entities.
+     * -- GETTER --
+     * Gets the location the last step ran in.
+     */
+    @Getter private Location location;
+    private Player player;
+    private TileMap tileMap;
+    private ArrayList<Monster> monsters;
+    private ArrayList<AItem> items;
+    private SpriteManager spriteManager;
+
+    /**
+     * The sprites found by the last query, reused between queries.
+     */
+    private final ArrayList<ASprite> nearbySprites = new ArrayList<>();
+
+    /**
+     * Constructs a new WorldSimulation.
+     *
+     * @param model the model of the simulated game
+     * @param clock the clock advanced by every step
+     * @param input what the player wants to do
+     */
+    public WorldSimulation(final GameModel model, final GameClock clock,
+                           final PlayerInput input) {
+        this.model = model;
+        this.clock = clock;
+        this.input = input;
+    }
+
+    /**
+     * Sets the size of the area whose tiles are streamed in around the player,
+     * which is the visible area when the game is shown in a window.
+     *
+     * @param width  the width of the area (in pixels)
+     * @param height the height of the area (in pixels)
+     */
+    public void setViewSize(final double width, final double height) {
+        viewWidth = width;
+        viewHeight = height;
+        if (location != null) {
+            streamAroundPlayer();
+        }
+    }
+
+    /**
+     * Simulates one step of the current location. Does nothing before the game was started.
+     *
+     * @param delta the length of the simulation step (in seconds)
+     */
+    public void step(final double delta) {
+        if (model.getCurrentLocation() == null) {
+            return;
+        }
+        if (model.getCurrentLocation() != location) {
+            link();
+        }
+
+        // Keep the positions of the last step to interpolate from
+        spriteManager.savePositions();
+
+        // Update
+        clock.advance(delta);
+        if (input.takeAttackRequest()) {
+            playerAttack();
+        }
+        updatePlayerPosition(delta);
+
+        // Check intersections
+        checkIntersections();
+
+        // Sprite Update
+        spriteManager.update(delta);
+        streamAroundPlayer();
+    }
+
+    /**
+     * Links the simulation to the entities of the current location.
+     */
+    private void link() {
+        location = model.getCurrentLocation();
+        player = model.getPlayer();
+        tileMap = model.getTileMap();
+        monsters = model.getMonsters();
+        items = model.getItems();
+        spriteManager = model.getSpriteManager();
+        streamAroundPlayer();
+    }
+
+    /**
+     * Streams in the tiles of the area around the player, placed like the camera of the
+     * game window, which is centered on the player without showing anything outside the map.
+     */
+    private void streamAroundPlayer() {
+        double x = clamp(player.getPositionX() + player.getWidth() / 2 - viewWidth / 2,
+                tileMap.getMapWidth() - viewWidth);
+        double y = clamp(player.getPositionY() + player.getHeight() / 2 - viewHeight / 2,
+                tileMap.getMapHeight() - viewHeight);
+        tileMap.updateStreaming(x, y, viewWidth, viewHeight);
+    }
+
+    /**
+     * Clamps a coordinate of the streamed area between zero and the maximum value.
+     *
+     * @param value the coordinate
+     * @param max   the maximum value, may be negative when the map is smaller than the area
+     * @return the clamped coordinate
+     */
+    private static double clamp(final double value, final double max) {
+        return Math.max(0, Math.min(value, Math.max(0, max)));
+    }
+
+    /**
+     * Attacks the monsters in reach of the player.
+     */
+    private void playerAttack() {
+        // The attack area lies next to the player, within the damage radius
+        double radius = player.getDamageRadius();
+        findNearbySprites(player.getPositionX() - radius, player.getPositionY() - radius,
+                getPlayerMaxX() + radius, getPlayerMaxY() + radius);
+
+        for (int i = 0; i < nearbySprites.size(); i++) {
+            if (nearbySprites.get(i) instanceof Monster monster
+                    && player.intersectsAttackBox(monster)) {
+                player.attack(monster);
+
+                // Remove the dead monster
+                if (monster.isDead()) {
+                    monsters.remove(monster);
+                    spriteManager.removeSprite(monster);
+                    monster.releaseImage();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the sprites overlapping the given area, replacing the previously found sprites.
+     *
+     * @param minX the minimum x-coordinate of the area
+     * @param minY the minimum y-coordinate of the area
+     * @param maxX the maximum x-coordinate of the area
+     * @param maxY the maximum y-coordinate of the area
+     */
+    private void findNearbySprites(final double minX, final double minY,
+                                   final double maxX, final double maxY) {
+        nearbySprites.clear();
+        spriteManager.query(minX, minY, maxX, maxY, nearbySprites);
+    }
+
+    /**
+     * Moves the player in the directions of the input, where the tiles let it.
+     *
+     * @param delta the length of the simulation step (in seconds)
+     */
+    private void updatePlayerPosition(final double delta) {
+        double path = player.getSpeed() * delta;
+
+        handleHorizontalMovement(path);
+        handleVerticalMovement(path);
+    }
+
+    /**
+     * Moves the player left or right.
+     *
+     * @param path the distance to move (in pixels)
+     */
+    private void handleHorizontalMovement(final double path) {
+        // Handle left movement
+        if (input.isMovingLeft() && canMoveLeft(path)) {
+            player.moveLeft(path);
+        }
+
+        // Handle right movement
+        if (input.isMovingRight() && canMoveRight(path)) {
+            player.moveRight(path);
+        }
+    }
+
+    /**
+     * Moves the player up or down.
+     *
+     * @param path the distance to move (in pixels)
+     */
+    private void handleVerticalMovement(final double path) {
+        // Handle upward movement
+        if (input.isMovingUp() && canMoveUp(path)) {
+            player.moveUp(path);
+        }
+
+        // Handle downward movement
+        if (input.isMovingDown() && canMoveDown(path)) {
+            player.moveDown(path);
+        }
+    }
+
+    /**
+     * Checks whether the player can move left.
+     *
+     * @param path the distance to move (in pixels)
+     * @return true if the tiles on the left are passable, false otherwise
+     */
+    private boolean canMoveLeft(final double path) {
+        if (player.getPositionX() - path <= 0) {
+            return false;
+        }
+
+        int tileMinX = TileMap.convertPixelToTile(player.getPositionX() - path);
+        int tileMinY = TileMap.convertPixelToTile(player.getMoveBoxMinY());
+        int tileMaxY = TileMap.convertPixelToTile(getPlayerMaxY());
+
+        return tileMap.isAreaPassable(tileMinX, tileMinY, tileMinX, tileMaxY);
+    }
+
+    /**
+     * Checks whether the player can move right.
+     *
+     * @param path the distance to move (in pixels)
+     * @return true if the tiles on the right are passable, false otherwise
+     */
+    private boolean canMoveRight(final double path) {
+        if (getPlayerMaxX() + path >= tileMap.getMapWidth()) {
+            return false;
+        }
+
+        int tileMinY = TileMap.convertPixelToTile(player.getMoveBoxMinY());
+        int tileMaxY = TileMap.convertPixelToTile(getPlayerMaxY());
+        int tileMaxX = TileMap.convertPixelToTile(getPlayerMaxX() + path);
+
+        return tileMap.isAreaPassable(tileMaxX, tileMinY, tileMaxX, tileMaxY);
+    }
+
+    /**
+     * Checks whether the player can move up.
+     *
+     * @param path the distance to move (in pixels)
+     * @return true if the tiles above are passable, false otherwise
+     */
+    private boolean canMoveUp(final double path) {
+        if (player.getPositionY() - path <= 0) {
+            return false;
+        }
+
+        int tileMinX = TileMap.convertPixelToTile(player.getPositionX());
+        int tileMinY = TileMap.convertPixelToTile(player.getMoveBoxMinY() - path);
+        int tileMaxX = TileMap.convertPixelToTile(getPlayerMaxX());
+
+        return tileMap.isAreaPassable(tileMinX, tileMinY, tileMaxX, tileMinY);
+    }
+
+    /**
+     * Checks whether the player can move down.
+     *
+     * @param path the distance to move (in pixels)
+     * @return true if the tiles below are passable, false otherwise
+     */
+    private boolean canMoveDown(final double path) {
+        if (getPlayerMaxY() + path >= tileMap.getMapHeight()) {
+            return false;
+        }
+
+        int tileMinX = TileMap.convertPixelToTile(player.getPositionX());
+        int tileMaxY = TileMap.convertPixelToTile(getPlayerMaxY() + path);
+        int tileMaxX = TileMap.convertPixelToTile(getPlayerMaxX());
+
+        return tileMap.isAreaPassable(tileMinX, tileMaxY, tileMaxX, tileMaxY);
+    }
+
+    /**
+     * Gets the right edge of the player.
+     *
+     * @return the maximum x-coordinate of the player
+     */
+    private double getPlayerMaxX() {
+        return player.getPositionX() + player.getWidth();
+    }
+
+    /**
+     * Gets the bottom edge of the player.
+     *
+     * @return the maximum y-coordinate of the player
+     */
+    private double getPlayerMaxY() {
+        return player.getPositionY() + player.getHeight();
+    }
+
+    /**
+     * Checks the intersections of the player with items, monsters and portals.
+     */
+    private void checkIntersections() {
+        handleItemIntersections();
+        handleMonsterIntersections();
+        handlePortalIntersections();
+    }
+
+    /**
+     * Lets the player take the items it touches.
+     */
+    private void handleItemIntersections() {
+        findNearbySprites(player.getPositionX(), player.getMoveBoxMinY(),
+                getPlayerMaxX(), getPlayerMaxY());
+
+        for (int i = 0; i < nearbySprites.size(); i++) {
+            // Remove Taken Items from game world
+            if (nearbySprites.get(i) instanceof AItem item
+                    && player.intersectsMoveBox(item) && item.take(player)) {
+                spriteManager.removeSprite(item);
+                items.remove(item);
+            }
+        }
+    }
+
+    /**
+     * Lets the monsters that see the player go after it.
+     */
+    private void handleMonsterIntersections() {
+        // Monsters notice the player from as far as the largest monster reach
+        double reach = spriteManager.getMaxReach();
+        findNearbySprites(player.getPositionX() - reach, player.getPositionY() - reach,
+                getPlayerMaxX() + reach, getPlayerMaxY() + reach);
+
+        for (int i = 0; i < nearbySprites.size(); i++) {
+            if (nearbySprites.get(i) instanceof Monster monster
+                    && monster.intersectsRadiusViewBox(player)) {
+                monster.setAim(player);
+            }
+        }
+    }
+
+    /**
+     * Moves the player through the portal it touches, if any.
+     */
+    private void handlePortalIntersections() {
+        findNearbySprites(player.getPositionX(), player.getMoveBoxMinY(),
+                getPlayerMaxX(), getPlayerMaxY());
+
+        for (int i = 0; i < nearbySprites.size(); i++) {
+            if (nearbySprites.get(i) instanceof Portal portal
+                    && player.intersectsMoveBox(portal)) {
+                portal.activate(model);
+                monsters.forEach(Monster::offCombat);
+                link();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a string representation of this WorldSimulation.
+     *
+     * @return the representation of the WorldSimulation as a string
+     */
+    @Override
+    public String toString() {
+        return "WorldSimulation{" + "location=" + location + ", viewWidth=" + viewWidth
+                + ", viewHeight=" + viewHeight + ", input=" + input + '}';
+    }
+}
@@ -0,0 +1,312 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * The Assets class serves the bytes of the config and image files of the game.
+ * Files are read from the content pack when one was opened and holds them, and otherwise
+ * from the loose files in the working directory, so the game still runs from the config
+ * directory during development, and files added after the pack was built are still found.
+ * Paths are relative to the working directory and separated by slashes.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class Assets {
+    /**
+     * The file of the content pack, in the working directory.
+     */
+    public static final String PACK_FILE = "content.pak";
+
+    /**
+     * Constants.
+     */
+    private static final String FILE_SCHEME = "file";
+    private static final String PARENT_DIRECTORY = "..";
+    private static final char SEPARATOR = '/';
+    private static final String CONFIG_FILE = "config.json";
+    private static final int MAX_ID_DIGITS = 9;
+
+    /**
+     * The content pack, or null if the loose files are used.
+     */
+    private static ContentPack pack;
+
+    /**
+     * An input stream reading a mapped entry without copying it first.
+     */
+    private static final class SegmentInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructs a new SegmentInputStream.
+         *
+         * @param segment the data to read
+         */
+        private SegmentInputStream(final MemorySegment segment) {
+            this.buffer = segment.asByteBuffer();
+        }
+
+        /**
+         * Reads the next byte.
+         *
+         * @return the byte, or -1 at the end of the data
+         */
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return Byte.toUnsignedInt(buffer.get());
+        }
+
+        /**
+         * Reads bytes into an array.
+         *
+         * @param bytes  the array
+         * @param offset the position of the first byte in the array
+         * @param length the largest number of bytes to read
+         * @return the number of bytes read, or -1 at the end of the data
+         */
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        /**
+         * Gets the number of bytes left.
+         *
+         * @return the number of bytes left
+         */
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private Assets() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Opens the content pack if it exists, otherwise the loose files are used.
+     *
+     * @param file the file of the content pack
+     */
+    public static void init(final String file) {
+        Path packFile = Path.of(file);
+        if (!Files.exists(packFile)) {
+            pack = null;
+            System.out.println("No content pack found, using loose files.");
+            return;
+        }
+        try {
+            pack = ContentPack.open(packFile);
+            System.out.println("Content pack opened: " + pack.getEntryCount() + " files.");
+        } catch (IOException e) {
+            pack = null;
+            System.err.println("Cannot open content pack, using loose files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the content pack, so the loose files are used.
+     * The pack stays mapped while entries read from it are still reachable.
+     */
+    public static void close() {
+        pack = null;
+    }
+
+    /**
+     * Checks whether a file or directory exists.
+     *
+     * @param path the path of the file or directory
+     * @return true if it exists, false otherwise
+     */
+    public static boolean exists(final String path) {
+        return (pack != null && pack.contains(path)) || Files.exists(Path.of(path));
+    }
+
+    /**
+     * Checks whether a file or directory is served from the content pack.
+     *
+     * @param path the path of the file or directory
+     * @return true if it is in the content pack, false otherwise
+     */
+    public static boolean isPacked(final String path) {
+        return pack != null && pack.contains(path);
+    }
+
+    /**
+     * Reads a file. Files in the content pack are slices of the mapped pack,
+     * loose files are memory-mapped on their own, so no bytes are copied.
+     *
+     * @param path the path of the file
+     * @return the read-only bytes of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static MemorySegment read(final String path) throws IOException {
+        if (pack != null) {
+            MemorySegment entry = pack.get(path);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+        }
+    }
+
+    /**
+     * Reads a UTF-8 text file.
+     *
+     * @param path the path of the file
+     * @return the text of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static String readString(final String path) throws IOException {
+        if (pack != null) {
+            MemorySegment entry = pack.get(path);
+            if (entry != null) {
+                return new String(entry.toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+            }
+        }
+        return Files.readString(Path.of(path));
+    }
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param path the path of the file
+     * @return an input stream reading the file, to be closed by the caller
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream openStream(final String path) throws IOException {
+        if (pack != null) {
+            MemorySegment entry = pack.get(path);
+            if (entry != null) {
+                return new SegmentInputStream(entry);
+            }
+        }
+        return Files.newInputStream(Path.of(path));
+    }
+
+    /**
+     * Lists the names of the files and directories directly inside a directory,
+     * both in the content pack and among the loose files.
+     *
+     * @param directory the path of the directory
+     * @return the names in name order
+     * @throws IOException if the directory exists in neither place or cannot be read
+     */
+    public static List<String> list(final String directory) throws IOException {
+        TreeSet<String> names = new TreeSet<>();
+        if (pack != null) {
+            names.addAll(pack.list(directory));
+        }
+        Path looseDirectory = Path.of(directory);
+        if (Files.isDirectory(looseDirectory) || names.isEmpty()) {
+            try (Stream<Path> entries = Files.list(looseDirectory)) {
+                entries.forEach(entry -> names.add(entry.getFileName().toString()));
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    /**
+     * Lists the IDs of the definitions in a config directory: the entries named by a number
+     * that hold a config.json. Other entries, such as stray files left by an editor or the
+     * operating system, are skipped.
+     *
+     * @param directory the path of the config directory
+     * @return the IDs in name order
+     * @throws IOException if the directory exists in neither place or cannot be read
+     */
+    public static List<Integer> listIds(final String directory) throws IOException {
+        ArrayList<Integer> ids = new ArrayList<>();
+        for (String name : list(directory)) {
+            if (isNumber(name) && exists(directory + "/" + name + "/" + CONFIG_FILE)) {
+                ids.add(Integer.parseInt(name));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Checks whether a name is a decimal number that fits an int.
+     *
+     * @param name the name
+     * @return true if it is a number, false otherwise
+     */
+    private static boolean isNumber(final String name) {
+        if (name.isEmpty() || name.length() > MAX_ID_DIGITS) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char digit = name.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the asset path of a file URI, as used to identify images.
+     *
+     * @param uri the URI of the file
+     * @return the path relative to the working directory, or null if the URI does not
+     *         name a file inside the working directory
+     */
+    public static String toPath(final String uri) {
+        URI parsed = URI.create(uri);
+        if (!FILE_SCHEME.equals(parsed.getScheme())) {
+            return null;
+        }
+        Path relative = Path.of("").toAbsolutePath().relativize(Path.of(parsed));
+        if (relative.startsWith(PARENT_DIRECTORY)) {
+            return null;
+        }
+        return relative.toString().replace(relative.getFileSystem().getSeparator().charAt(0),
+                SEPARATOR);
+    }
+
+    /**
+     * Returns a string representation of this Assets.
+     *
+     * @return the representation of the Assets as a string
+     */
+    @Override
+    public String toString() {
+        return "Assets{}";
+    }
+}
@@ -0,0 +1,302 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * The ContentPack class represents an archive holding many asset files in one file.
+ * The pack is memory-mapped when it is opened, and every entry is served as a slice
+ * of the mapping, so reading an entry neither opens a file nor copies its bytes.
+ * <p>
+ * All numbers of the format are little-endian:
+ * <pre>
+ * int    magic "WWPK"
+ * int    format version
+ * int    number of entries
+ * int    reserved
+ * table of contents, for every entry in path order:
+ *   long   position of the entry data
+ *   long   size of the entry data
+ *   int    position of the entry path
+ *   int    byte length of the entry path
+ * the UTF-8 bytes of every entry path
+ * the data of every entry, each starting at a multiple of 64 bytes
+ * </pre>
+ * Entry paths are relative to the working directory and separated by slashes,
+ * such as config/tile/A/config.json.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class ContentPack {
+    /**
+     * The alignment of the entry data in bytes, so every entry starts on its own cache line
+     * and binary assets read through the pack are aligned like in their own file.
+     */
+    public static final int ALIGNMENT = 64;
+
+    /**
+     * Format constants.
+     */
+    private static final int MAGIC = 0x4B505757;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int TOC_ENTRY_SIZE = 24;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long VERSION_OFFSET = 4;
+    private static final long COUNT_OFFSET = 8;
+    private static final long SIZE_OFFSET = 8;
+    private static final long PATH_OFFSET = 16;
+    private static final long PATH_LENGTH_OFFSET = 20;
+    private static final char SEPARATOR = '/';
+    private static final ValueLayout.OfInt INT =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The file of the pack.
+     */
+    private final Path file;
+
+    /**
+     * The data of every entry, identified by its path.
+     */
+    private final HashMap<String, MemorySegment> entries;
+
+    /**
+     * Constructs a new ContentPack.
+     *
+     * @param file    the file of the pack
+     * @param entries the data of every entry, identified by its path
+     */
+    private ContentPack(final Path file, final HashMap<String, MemorySegment> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens a pack. The file is memory-mapped for as long as the pack or one of its entries
+     * is reachable, and only the table of contents is read now.
+     *
+     * @param file the file of the pack
+     * @return the pack
+     * @throws IOException if the file cannot be read or is not a content pack
+     */
+    public static ContentPack open(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size(), Arena.ofAuto());
+            if (segment.byteSize() < HEADER_SIZE || segment.get(INT, MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Not a content pack: " + file);
+            }
+            if (segment.get(INT, VERSION_OFFSET) != VERSION) {
+                throw new IOException("Unsupported content pack version: "
+                        + segment.get(INT, VERSION_OFFSET));
+            }
+
+            int count = segment.get(INT, COUNT_OFFSET);
+            HashMap<String, MemorySegment> entries = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                long toc = HEADER_SIZE + (long) i * TOC_ENTRY_SIZE;
+                byte[] path = segment.asSlice(segment.get(INT, toc + PATH_OFFSET),
+                        segment.get(INT, toc + PATH_LENGTH_OFFSET))
+                        .toArray(ValueLayout.JAVA_BYTE);
+                MemorySegment data = segment.asSlice(segment.get(LONG, toc),
+                        segment.get(LONG, toc + SIZE_OFFSET));
+                entries.put(new String(path, StandardCharsets.UTF_8), data.asReadOnly());
+            }
+            return new ContentPack(file, entries);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt content pack: " + file, e);
+        }
+    }
+
+    /**
+     * Writes a pack holding the specified files.
+     *
+     * @param file  the file of the pack
+     * @param files the files to pack, identified by their entry paths
+     * @throws IOException if a file cannot be read or the pack cannot be written
+     */
+    public static void write(final Path file, final Map<String, Path> files) throws IOException {
+        List<String> paths = new ArrayList<>(new TreeSet<>(files.keySet()));
+        ArrayList<byte[]> encodedPaths = new ArrayList<>(paths.size());
+        long offset = HEADER_SIZE + (long) paths.size() * TOC_ENTRY_SIZE;
+        for (String path : paths) {
+            byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            encodedPaths.add(bytes);
+            offset += bytes.length;
+        }
+
+        long[] dataOffsets = new long[paths.size()];
+        long[] dataSizes = new long[paths.size()];
+        for (int i = 0; i < paths.size(); i++) {
+            dataOffsets[i] = align(offset);
+            dataSizes[i] = Files.size(files.get(paths.get(i)));
+            offset = dataOffsets[i] + dataSizes[i];
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, offset, arena);
+            segment.set(INT, MAGIC_OFFSET, MAGIC);
+            segment.set(INT, VERSION_OFFSET, VERSION);
+            segment.set(INT, COUNT_OFFSET, paths.size());
+
+            long pathOffset = HEADER_SIZE + (long) paths.size() * TOC_ENTRY_SIZE;
+            for (int i = 0; i < paths.size(); i++) {
+                long toc = HEADER_SIZE + (long) i * TOC_ENTRY_SIZE;
+                byte[] path = encodedPaths.get(i);
+                segment.set(LONG, toc, dataOffsets[i]);
+                segment.set(LONG, toc + SIZE_OFFSET, dataSizes[i]);
+                segment.set(INT, toc + PATH_OFFSET, (int) pathOffset);
+                segment.set(INT, toc + PATH_LENGTH_OFFSET, path.length);
+                MemorySegment.copy(MemorySegment.ofArray(path), 0, segment, pathOffset,
+                        path.length);
+                pathOffset += path.length;
+
+                byte[] data = Files.readAllBytes(files.get(paths.get(i)));
+                MemorySegment.copy(MemorySegment.ofArray(data), 0, segment, dataOffsets[i],
+                        data.length);
+            }
+            segment.force();
+        }
+    }
+
+    /**
+     * Rounds an offset up to the alignment of the entry data.
+     *
+     * @param offset the offset in bytes
+     * @return the aligned offset
+     */
+    private static long align(final long offset) {
+        return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Gets the data of an entry, as a read-only slice of the mapped pack.
+     *
+     * @param path the path of the entry
+     * @return the data, or null if the pack has no such entry
+     */
+    public MemorySegment get(final String path) {
+        return entries.get(path);
+    }
+
+    /**
+     * Checks whether the pack holds an entry, or a directory of entries.
+     *
+     * @param path the path of the entry or directory
+     * @return true if the pack holds it, false otherwise
+     */
+    public boolean contains(final String path) {
+        if (entries.containsKey(path)) {
+            return true;
+        }
+        String prefix = path + SEPARATOR;
+        for (String entry : entries.keySet()) {
+            if (entry.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists the names of the entries and directories directly inside a directory.
+     *
+     * @param directory the path of the directory
+     * @return the names in name order, empty if the pack holds nothing in the directory
+     */
+    public List<String> list(final String directory) {
+        String prefix = directory + SEPARATOR;
+        TreeSet<String> names = new TreeSet<>();
+        for (String entry : entries.keySet()) {
+            if (entry.startsWith(prefix)) {
+                int end = entry.indexOf(SEPARATOR, prefix.length());
+                if (end < 0) {
+                    end = entry.length();
+                }
+                names.add(entry.substring(prefix.length(), end));
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Gets the number of entries in the pack.
+     *
+     * @return the number of entries
+     */
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Compares this ContentPack with another object for equality.
+     * Two ContentPacks are considered equal if they hold the same entries.
+     *
+     * @param object the object to compare with this ContentPack
+     * @return true if the given object is equal to this ContentPack, false otherwise
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        ContentPack that = (ContentPack) object;
+        if (!entries.keySet().equals(that.entries.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, MemorySegment> entry : entries.entrySet()) {
+            if (entry.getValue().mismatch(that.entries.get(entry.getKey())) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this ContentPack.
+     *
+     * @return the hash code value of the ContentPack as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(entries.keySet());
+    }
+
+    /**
+     * Returns a string representation of this ContentPack.
+     *
+     * @return the representation of the ContentPack as a string
+     */
+    @Override
+    public String toString() {
+        return "ContentPack{"
+                + "file=" + file
+                + ", entries=" + entries.size()
+                + '}';
+    }
+}
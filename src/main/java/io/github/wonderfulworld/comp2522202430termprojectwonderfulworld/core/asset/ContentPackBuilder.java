@@ -0,0 +1,105 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The ContentPackBuilder class is a command-line tool packing the config directory
+ * into the content pack read by the game.
+ * Every regular file under the directory is packed under its path relative to the
+ * working directory. Run it from the project root, again after editing any config file,
+ * or delete the pack to go back to the loose files.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class ContentPackBuilder {
+    /**
+     * The directory packed when none is given.
+     */
+    private static final String CONFIG_DIRECTORY = "config";
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private ContentPackBuilder() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Packs the directories given as arguments, or the config directory.
+     *
+     * @param args the paths of the directories to pack
+     * @throws RuntimeException if a file cannot be read or the pack cannot be written
+     */
+    public static void main(final String[] args) {
+        String[] directories = args;
+        if (directories.length == 0) {
+            directories = new String[] {CONFIG_DIRECTORY};
+        }
+
+        Path pack = Path.of(Assets.PACK_FILE);
+        try {
+            Map<String, Path> files = collect(directories);
+            ContentPack.write(pack, files);
+            System.out.println("Packed " + files.size() + " files into " + pack + " ("
+                    + Files.size(pack) + " bytes).");
+        } catch (IOException e) {
+            System.err.println("Error while building content pack: " + e.getMessage());
+            throw new RuntimeException("Error while building content pack", e);
+        }
+    }
+
+    /**
+     * Finds every regular file under the specified directories.
+     *
+     * @param directories the paths of the directories, relative to the working directory
+     * @return the files, identified by their entry paths
+     * @throws IOException if a directory cannot be read
+     */
+    public static Map<String, Path> collect(final String... directories) throws IOException {
+        HashMap<String, Path> files = new HashMap<>();
+        for (String directory : directories) {
+            try (Stream<Path> entries = Files.walk(Path.of(directory))) {
+                for (Path file : entries.filter(Files::isRegularFile).toList()) {
+                    files.put(toEntryPath(file), file);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Gets the entry path of a file, separated by slashes whatever the platform.
+     *
+     * @param file the file, relative to the working directory
+     * @return the entry path
+     */
+    private static String toEntryPath(final Path file) {
+        StringBuilder path = new StringBuilder();
+        for (Path name : file.normalize()) {
+            if (!path.isEmpty()) {
+                path.append('/');
+            }
+            path.append(name);
+        }
+        return path.toString();
+    }
+
+    /**
+     * Returns a string representation of this ContentPackBuilder.
+     *
+     * @return the representation of the ContentPackBuilder as a string
+     */
+    @Override
+    public String toString() {
+        return "ContentPackBuilder{}";
+    }
+}
@@ -0,0 +1,370 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.balance;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameClock;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.PlayerConfig;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.SimulationLoop;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemFactory;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemPrototype;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.MonsterFactory;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.MonsterStats;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * The CombatSimulator class is a command-line tool running many player-versus-monster
+ * encounters on all cores, to balance monsters and equipment without playing.
+ * For every monster in the config directory and every loadout the items make, it reports the
+ * win rate of the player, the time to kill the monster and the damage the player takes.
+ * <p>
+ * An encounter uses the real Player and Monster combat rules, on the clock of a game session,
+ * in steps as long as those of the game. The monster notices the player standing still
+ * somewhere within its viewing radius and walks up to it. The player attacks once the monster
+ * is within reach, then again each time the cooldown ends, after a random reaction time.
+ * Only the time of the attacks is simulated, so an encounter takes microseconds.
+ * <p>
+ * Encounters are split between fork/join tasks, each with its own random generator split from
+ * the one of its parent, so the same seed gives the same results on any number of cores.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class CombatSimulator {
+    /**
+     * Constants.
+     */
+    private static final int DEFAULT_ENCOUNTERS = 100_000;
+    private static final long DEFAULT_SEED = 2024;
+    private static final String MONSTER_DIRECTORY = "config/monster";
+    private static final String ITEM_DIRECTORY = "config/item";
+    private static final double MILLIS_PER_SECOND = 1000;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double PERCENT = 100;
+    private static final double MEDIAN = 0.5;
+    private static final double HIGH_PERCENTILE = 0.9;
+
+    /**
+     * The mean time the player takes to attack again once the cooldown ends (in milliseconds).
+     */
+    private static final double REACTION_MILLIS = 150;
+
+    /**
+     * The length of the longest encounter, after which it is counted as lost.
+     */
+    private static final int MAX_ENCOUNTER_STEPS = (int) (120 / SimulationLoop.TIME_STEP);
+
+    /**
+     * The number of encounters below which a task runs them instead of splitting.
+     */
+    private static final int LEAF_ENCOUNTERS = 4096;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private CombatSimulator() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Simulates every monster against every loadout and prints the results.
+     *
+     * @param args optionally the number of encounters per monster and loadout, and the seed
+     * @throws RuntimeException if the player, monster or item configs cannot be read
+     * @throws NumberFormatException if an argument is not a number
+     */
+    public static void main(final String[] args) {
+        int encounters = DEFAULT_ENCOUNTERS;
+        long seed = DEFAULT_SEED;
+        if (args.length > 0) {
+            encounters = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            seed = Long.parseLong(args[1]);
+        }
+
+        Supplier<Player> players = createPlayers(PlayerConfig.getPlayerConfig(false));
+        List<Loadout> loadouts = Loadout.sweep(loadItems());
+        List<MonsterStats> monsters = loadMonsters();
+
+        long start = System.nanoTime();
+        for (MonsterStats monster : monsters) {
+            System.out.printf("%n%s (health %.0f, damage %.0f, cooldown %.0f ms)%n",
+                    monster.getName(), monster.getHealth(), monster.getDamage(),
+                    monster.getAttackSpeed());
+            System.out.printf("%-36s %6s %21s %21s%n", "loadout", "win %",
+                    "kill s (mean p50 p90)", "damage (mean p50 p90)");
+            for (Loadout loadout : loadouts) {
+                CombatStats stats = simulate(players, loadout, monster, encounters, seed);
+                System.out.printf("%-36s %6.1f %6.2f %6.2f %6.2f %6.0f %6.0f %6.0f%n",
+                        loadout.getName(), stats.getWinRate() * PERCENT,
+                        stats.getMeanTimeToKill(), stats.getTimeToKill(MEDIAN),
+                        stats.getTimeToKill(HIGH_PERCENTILE), stats.getMeanDamageTaken(),
+                        stats.getDamageTaken(MEDIAN), stats.getDamageTaken(HIGH_PERCENTILE));
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        long total = (long) encounters * loadouts.size() * monsters.size();
+        System.out.printf("%nSimulated %d encounters in %.1f s on %d threads.%n", total, seconds,
+                ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Simulates encounters of a player against a monster on all cores.
+     *
+     * @param players    creates the player of each encounter, without equipment
+     * @param loadout    the equipment the player fights with
+     * @param monster    the monster
+     * @param encounters the number of encounters
+     * @param seed       the seed of the random generator
+     * @return the outcome of the encounters
+     */
+    public static CombatStats simulate(final Supplier<Player> players, final Loadout loadout,
+                                       final MonsterStats monster, final int encounters,
+                                       final long seed) {
+        double maxDamage = players.get().getHealth();
+        return ForkJoinPool.commonPool().invoke(new EncounterTask(players, loadout, monster,
+                maxDamage, new SplittableRandom(seed), encounters));
+    }
+
+    /**
+     * Creates the players described by a player config, at full health.
+     *
+     * @param playerConfig the player config
+     * @return the supplier of players
+     */
+    public static Supplier<Player> createPlayers(final JSONObject playerConfig) {
+        String name = playerConfig.getString("name");
+        double health = playerConfig.getDouble("health");
+        double damage = playerConfig.getDouble("damage");
+        double armor = playerConfig.getDouble("armor");
+        double damageRadius = playerConfig.getDouble("damageRadius");
+        return () -> new Player(name, health, damage, armor, damageRadius);
+    }
+
+    /**
+     * Loads the definitions of every item in the config directory.
+     *
+     * @return the item prototypes
+     * @throws RuntimeException if the config directory or an item config cannot be read
+     */
+    private static List<ItemPrototype> loadItems() {
+        ArrayList<ItemPrototype> items = new ArrayList<>();
+        for (int id : listIds(ITEM_DIRECTORY)) {
+            ItemPrototype item = ItemFactory.getPrototype(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Loads the definitions of every monster in the config directory.
+     *
+     * @return the monster stats
+     * @throws RuntimeException if the config directory or a monster config cannot be read
+     */
+    private static List<MonsterStats> loadMonsters() {
+        ArrayList<MonsterStats> monsters = new ArrayList<>();
+        for (int id : listIds(MONSTER_DIRECTORY)) {
+            monsters.add(MonsterFactory.getStats(id));
+        }
+        return monsters;
+    }
+
+    /**
+     * Lists the IDs of the definitions in a config directory.
+     *
+     * @param directory the directory
+     * @return the IDs
+     * @throws RuntimeException if the directory cannot be read
+     */
+    private static List<Integer> listIds(final String directory) {
+        try {
+            return Assets.listIds(directory);
+        } catch (IOException e) {
+            System.err.println("Cannot read directory " + directory + ": " + e.getMessage());
+            throw new RuntimeException("Error while reading " + directory, e);
+        }
+    }
+
+    /**
+     * Simulates one encounter and records its outcome.
+     *
+     * @param players the creator of the player
+     * @param loadout the equipment of the player
+     * @param stats   the stats of the monster
+     * @param random  the random generator
+     * @param clock   the clock of the session running the encounter
+     * @param result  the stats the outcome is recorded in
+     */
+    private static void fight(final Supplier<Player> players, final Loadout loadout,
+                              final MonsterStats stats, final SplittableRandom random,
+                              final GameClock clock, final CombatStats result) {
+        clock.reset();
+        Player player = players.get();
+        loadout.equip(player);
+        Monster monster = new Monster(stats);
+        double initialHealth = player.getHealth();
+
+        // The monster walks from where it noticed the player until it is within reach
+        double gap = random.nextDouble() * stats.getViewingRadius();
+        double walkingTime = Math.max(0, gap - stats.getDamageRadius()) / stats.getSpeed();
+        int monsterInRange = toSteps(walkingTime * MILLIS_PER_SECOND);
+        double playerWaitingTime = Math.max(0, gap - player.getDamageRadius()) / stats.getSpeed();
+        int playerStep = toSteps(playerWaitingTime * MILLIS_PER_SECOND + react(random));
+        int monsterStep = monsterInRange;
+
+        int step = 0;
+        while (!player.isDead() && !monster.isDead() && step < MAX_ENCOUNTER_STEPS) {
+            int next = Math.min(playerStep, monsterStep);
+            clock.advance((next - step) * SimulationLoop.TIME_STEP);
+            step = next;
+
+            // The player's attack is handled before the monsters move, as in a game step
+            if (step == playerStep) {
+                player.attack(monster);
+                playerStep = Math.max(step + 1, toSteps(player.getLastAttack()
+                        + player.getAttackSpeed() + react(random)));
+            }
+            if (step == monsterStep && !monster.isDead()) {
+                monster.attack(player);
+            }
+
+            // A counterattack also restarts the cooldown of the monster
+            monsterStep = Math.max(Math.max(step + 1, monsterInRange),
+                    toSteps(monster.getLastAttack() + monster.getAttackSpeed()));
+        }
+
+        boolean won = monster.isDead() && !player.isDead();
+        result.record(won, step, initialHealth - player.getHealth());
+    }
+
+    /**
+     * Draws how long the player takes to attack once it can.
+     *
+     * @param random the random generator
+     * @return the reaction time (in milliseconds)
+     */
+    private static double react(final SplittableRandom random) {
+        return -REACTION_MILLIS * Math.log(1 - random.nextDouble());
+    }
+
+    /**
+     * Converts a session time to the first simulation step at or after it.
+     *
+     * @param millis the session time (in milliseconds)
+     * @return the step
+     */
+    private static int toSteps(final double millis) {
+        return (int) Math.ceil(millis / MILLIS_PER_SECOND / SimulationLoop.TIME_STEP);
+    }
+
+    /**
+     * A task simulating a number of encounters, split between subtasks when there are many.
+     */
+    private static final class EncounterTask extends RecursiveTask<CombatStats> {
+        /**
+         * The encounter settings.
+         */
+        private final Supplier<Player> players;
+        private final Loadout loadout;
+        private final MonsterStats monster;
+        private final double maxDamage;
+
+        /**
+         * The random generator of the task.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * The number of encounters to simulate.
+         */
+        private final int encounters;
+
+        /**
+         * Constructs a new EncounterTask.
+         *
+         * @param players    the creator of the player
+         * @param loadout    the equipment of the player
+         * @param monster    the stats of the monster
+         * @param maxDamage  the largest damage the player can take
+         * @param random     the random generator of the task
+         * @param encounters the number of encounters to simulate
+         */
+        private EncounterTask(final Supplier<Player> players, final Loadout loadout,
+                              final MonsterStats monster, final double maxDamage,
+                              final SplittableRandom random, final int encounters) {
+            this.players = players;
+            this.loadout = loadout;
+            this.monster = monster;
+            this.maxDamage = maxDamage;
+            this.random = random;
+            this.encounters = encounters;
+        }
+
+        /**
+         * Simulates the encounters of the task, in a game session of its own,
+         * or splits them in half between two subtasks.
+         *
+         * @return the outcome of the encounters
+         */
+        @Override
+        protected CombatStats compute() {
+            if (encounters <= LEAF_ENCOUNTERS) {
+                CombatStats stats = new CombatStats(SimulationLoop.TIME_STEP,
+                        MAX_ENCOUNTER_STEPS, maxDamage);
+                GameSession session = new GameSession();
+                session.run(() -> {
+                    for (int i = 0; i < encounters; i++) {
+                        fight(players, loadout, monster, random, session.getClock(), stats);
+                    }
+                });
+                return stats;
+            }
+
+            int half = encounters / 2;
+            EncounterTask first = new EncounterTask(players, loadout, monster, maxDamage,
+                    random.split(), half);
+            EncounterTask second = new EncounterTask(players, loadout, monster, maxDamage,
+                    random, encounters - half);
+            first.fork();
+            return second.compute().merge(first.join());
+        }
+
+        /**
+         * Returns a string representation of this EncounterTask.
+         *
+         * @return the representation of the EncounterTask as a string
+         */
+        @Override
+        public String toString() {
+            return "EncounterTask{" + "loadout=" + loadout + ", monster=" + monster
+                    + ", encounters=" + encounters + '}';
+        }
+    }
+
+    /**
+     * Returns a string representation of this CombatSimulator.
+     *
+     * @return the representation of the CombatSimulator as a string
+     */
+    @Override
+    public String toString() {
+        return "CombatSimulator{}";
+    }
+}
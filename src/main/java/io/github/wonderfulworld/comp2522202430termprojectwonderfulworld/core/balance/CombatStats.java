@@ -0,0 +1,238 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.balance;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The CombatStats class sums up the outcome of many simulated encounters.
+ * Times to kill are counted per simulation step and damage per whole hit point, so the
+ * distributions take a fixed amount of memory however many encounters are recorded,
+ * and the stats of encounters run on different threads can be merged.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class CombatStats {
+    /**
+     * The length of a simulation step (in seconds).
+     */
+    private final double timeStep;
+
+    /**
+     * The number of won encounters by their length in simulation steps.
+     * Longer encounters are counted in the last entry.
+     */
+    private final long[] killSteps;
+
+    /**
+     * The number of encounters by the damage the player took, rounded down to whole hit points.
+     * Larger damage is counted in the last entry.
+     */
+    private final long[] damageTaken;
+
+    /**
+     * -- GETTER --
+     * Gets the number of recorded encounters.
+     */
+    @Getter private long encounters;
+
+    /**
+     * -- GETTER --
+     * Gets the number of encounters the player won.
+     */
+    @Getter private long wins;
+
+    /**
+     * The sums used for the means.
+     */
+    private long totalKillSteps;
+    private double totalDamageTaken;
+
+    /**
+     * Constructs a new, empty CombatStats.
+     *
+     * @param timeStep  the length of a simulation step (in seconds)
+     * @param maxSteps  the length of the longest encounter (in simulation steps)
+     * @param maxDamage the largest damage the player can take
+     * @throws IllegalArgumentException if the time step is not positive, or a maximum negative
+     */
+    public CombatStats(final double timeStep, final int maxSteps, final double maxDamage) {
+        if (timeStep <= 0 || maxSteps < 0 || maxDamage < 0) {
+            throw new IllegalArgumentException("Invalid stats bounds: " + timeStep + ", "
+                    + maxSteps + ", " + maxDamage);
+        }
+        this.timeStep = timeStep;
+        this.killSteps = new long[maxSteps + 1];
+        this.damageTaken = new long[(int) Math.ceil(maxDamage) + 1];
+    }
+
+    /**
+     * Records the outcome of an encounter.
+     *
+     * @param won    whether the player killed the monster and survived
+     * @param steps  the length of the encounter (in simulation steps)
+     * @param damage the damage the player took
+     */
+    public void record(final boolean won, final int steps, final double damage) {
+        encounters++;
+        if (won) {
+            wins++;
+            totalKillSteps += steps;
+            killSteps[Math.min(steps, killSteps.length - 1)]++;
+        }
+        totalDamageTaken += damage;
+        damageTaken[(int) Math.min(damage, damageTaken.length - 1)]++;
+    }
+
+    /**
+     * Adds the encounters of other stats with the same bounds to these stats.
+     *
+     * @param other the other stats
+     * @return these stats
+     * @throws IllegalArgumentException if the other stats have different bounds
+     */
+    public CombatStats merge(final CombatStats other) {
+        if (timeStep != other.timeStep || killSteps.length != other.killSteps.length
+                || damageTaken.length != other.damageTaken.length) {
+            throw new IllegalArgumentException("Cannot merge stats with different bounds.");
+        }
+        encounters += other.encounters;
+        wins += other.wins;
+        totalKillSteps += other.totalKillSteps;
+        totalDamageTaken += other.totalDamageTaken;
+        for (int i = 0; i < killSteps.length; i++) {
+            killSteps[i] += other.killSteps[i];
+        }
+        for (int i = 0; i < damageTaken.length; i++) {
+            damageTaken[i] += other.damageTaken[i];
+        }
+        return this;
+    }
+
+    /**
+     * Gets the share of encounters the player won.
+     *
+     * @return the win rate from 0 to 1, or NaN if no encounter was recorded
+     */
+    public double getWinRate() {
+        return (double) wins / encounters;
+    }
+
+    /**
+     * Gets the mean time the player took to kill the monster in won encounters.
+     *
+     * @return the time (in seconds), or NaN if no encounter was won
+     */
+    public double getMeanTimeToKill() {
+        return totalKillSteps * timeStep / wins;
+    }
+
+    /**
+     * Gets a percentile of the time the player took to kill the monster in won encounters.
+     *
+     * @param percentile the percentile, from 0 to 1
+     * @return the time (in seconds), or NaN if no encounter was won
+     */
+    public double getTimeToKill(final double percentile) {
+        return findPercentile(killSteps, wins, percentile) * timeStep;
+    }
+
+    /**
+     * Gets the mean damage the player took.
+     *
+     * @return the damage, or NaN if no encounter was recorded
+     */
+    public double getMeanDamageTaken() {
+        return totalDamageTaken / encounters;
+    }
+
+    /**
+     * Gets a percentile of the damage the player took, rounded down to whole hit points.
+     *
+     * @param percentile the percentile, from 0 to 1
+     * @return the damage, or NaN if no encounter was recorded
+     */
+    public double getDamageTaken(final double percentile) {
+        return findPercentile(damageTaken, encounters, percentile);
+    }
+
+    /**
+     * Finds the smallest value that at least the given share of the counted values do not exceed.
+     *
+     * @param counts     the number of values counted for each value
+     * @param total      the number of counted values
+     * @param percentile the share, from 0 to 1
+     * @return the value, or NaN if nothing was counted
+     * @throws IllegalArgumentException if the percentile is not between 0 and 1
+     */
+    private static double findPercentile(final long[] counts, final long total,
+                                         final double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1: "
+                    + percentile);
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i;
+            }
+        }
+        return counts.length - 1;
+    }
+
+    /**
+     * Returns a string representation of this CombatStats.
+     *
+     * @return the representation of the CombatStats as a string
+     */
+    @Override
+    public String toString() {
+        return "CombatStats{" + "encounters=" + encounters + ", wins=" + wins
+                + ", meanTimeToKill=" + getMeanTimeToKill()
+                + ", meanDamageTaken=" + getMeanDamageTaken() + '}';
+    }
+
+    /**
+     * Compares this CombatStats with another object for equality.
+     * Two CombatStats are considered equal if they have the same bounds
+     * and recorded the same outcomes.
+     *
+     * @param object the object to compare with this CombatStats
+     * @return true if the given object is equal to this CombatStats, false otherwise
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        CombatStats that = (CombatStats) object;
+        return Double.compare(timeStep, that.timeStep) == 0 && encounters == that.encounters
+                && wins == that.wins && totalKillSteps == that.totalKillSteps
+                && Double.compare(totalDamageTaken, that.totalDamageTaken) == 0
+                && Arrays.equals(killSteps, that.killSteps)
+                && Arrays.equals(damageTaken, that.damageTaken);
+    }
+
+    /**
+     * Returns the hash code of this CombatStats.
+     *
+     * @return the hash code value of the CombatStats as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(timeStep, encounters, wins, totalKillSteps, totalDamageTaken,
+                Arrays.hashCode(killSteps), Arrays.hashCode(damageTaken));
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.balance;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemPrototype;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.recovery.AEquipment;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The Loadout class represents the equipment a player goes into a fight with:
+ * one weapon or none, and one armor or none.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+@Getter
+public final class Loadout {
+    /**
+     * The weapon of the loadout, or null if the player fights without one.
+     */
+    private final ItemPrototype weapon;
+
+    /**
+     * The armor of the loadout, or null if the player fights without one.
+     */
+    private final ItemPrototype armor;
+
+    /**
+     * Constructs a new Loadout.
+     *
+     * @param weapon the weapon, or null for none
+     * @param armor  the armor, or null for none
+     * @throws IllegalArgumentException if the weapon is not a weapon or the armor not an armor
+     */
+    public Loadout(final ItemPrototype weapon, final ItemPrototype armor) {
+        if (weapon != null && weapon.getType() != ItemPrototype.Type.WEAPON) {
+            throw new IllegalArgumentException("Not a weapon: " + weapon.getName());
+        }
+        if (armor != null && armor.getType() != ItemPrototype.Type.ARMOR) {
+            throw new IllegalArgumentException("Not an armor: " + armor.getName());
+        }
+        this.weapon = weapon;
+        this.armor = armor;
+    }
+
+    /**
+     * Lists every loadout the specified items make: each weapon or none,
+     * combined with each armor or none. Other items are left out.
+     *
+     * @param items the items
+     * @return the loadouts, starting with the one without any equipment
+     */
+    public static List<Loadout> sweep(final List<ItemPrototype> items) {
+        ArrayList<ItemPrototype> weapons = new ArrayList<>();
+        ArrayList<ItemPrototype> armors = new ArrayList<>();
+        weapons.add(null);
+        armors.add(null);
+        for (ItemPrototype item : items) {
+            if (item.getType() == ItemPrototype.Type.WEAPON) {
+                weapons.add(item);
+            } else if (item.getType() == ItemPrototype.Type.ARMOR) {
+                armors.add(item);
+            }
+        }
+
+        ArrayList<Loadout> loadouts = new ArrayList<>();
+        for (ItemPrototype weapon : weapons) {
+            for (ItemPrototype armor : armors) {
+                loadouts.add(new Loadout(weapon, armor));
+            }
+        }
+        return loadouts;
+    }
+
+    /**
+     * Equips a player with new items of the loadout.
+     *
+     * @param player the player
+     */
+    public void equip(final Player player) {
+        if (weapon != null) {
+            player.setEquipment((AEquipment) weapon.instantiate());
+        }
+        if (armor != null) {
+            player.setEquipment((AEquipment) armor.instantiate());
+        }
+    }
+
+    /**
+     * Gets the name of the loadout, made of the names of its items.
+     *
+     * @return the name
+     */
+    public String getName() {
+        String weaponName = "no weapon";
+        if (weapon != null) {
+            weaponName = weapon.getName();
+        }
+        String armorName = "no armor";
+        if (armor != null) {
+            armorName = armor.getName();
+        }
+        return weaponName + " + " + armorName;
+    }
+
+    /**
+     * Returns a string representation of this Loadout.
+     *
+     * @return the representation of the Loadout as a string
+     */
+    @Override
+    public String toString() {
+        return "Loadout{" + "weapon=" + weapon + ", armor=" + armor + '}';
+    }
+
+    /**
+     * Compares this Loadout with another object for equality.
+     * Two Loadouts are considered equal if they have the same weapon and armor.
+     *
+     * @param object the object to compare with this Loadout
+     * @return true if the given object is equal to this Loadout, false otherwise
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        Loadout that = (Loadout) object;
+        return Objects.equals(weapon, that.weapon) && Objects.equals(armor, that.armor);
+    }
+
+    /**
+     * Returns the hash code of this Loadout.
+     *
+     * @return the hash code value of the Loadout as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(weapon, armor);
+    }
+}
@@ -1,22 +1,35 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.recovery.HealthBottle;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Armor;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Weapon;
 import org.json.JSONObject;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The ItemFactory class represents a factory for creating items based on their IDs.
+ * Each item config is parsed once into a prototype, and items are created from the prototype.
  *
  *
  * @author Candice Wei
  * @version 2024
  */
 public final class ItemFactory {
+    /**
+     * The directory holding the item definitions.
+     */
+    private static final String ITEM_DIRECTORY = "config/item";
+
+    /**
+     * The parsed item definitions, identified by their IDs, empty if the item type is unknown,
+     * so an unknown item is not parsed again either. The map cannot hold null.
+     * Shared by all game sessions, which may parse a definition at the same time.
+     */
+    private static final ConcurrentHashMap<Integer, Optional<ItemPrototype>> PROTOTYPES =
+            new ConcurrentHashMap<>();
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      *
@@ -25,80 +38,74 @@ public final class ItemFactory {
     private ItemFactory() {
         throw new UnsupportedOperationException("Utility class should not be instantiated.");
     }
+
     /**
-     * Retrieves an item based on its ID.
+     * Parses every item definition in the config directory, so creating items
+     * later on does not read any file.
      *
-     * @param id the unique identifier of the item
-     * @return AItem corresponding to the given ID
-     * @throws RuntimeException if the item's configuration file cannot be loaded
+     * @throws RuntimeException if the config directory or an item config cannot be read
      */
-    public static AItem getItem(final int id) {
+    public static void preloadAll() {
         try {
-            // Read item configuration from the JSON file
-            String content = new String(Files.readAllBytes(Path.of("config/item/"
-                    + id + "/config.json")));
-            JSONObject config = new JSONObject(content);
-
-            // Determine the item type and create the corresponding object
-            String itemType = config.getString("type");
-            return switch (itemType) {
-                case "bottle" -> createBottle(config);
-                case "weapon" -> createWeapon(config);
-                case "armor" -> createArmor(config);
-                default -> null;
-            };
+            for (int id : Assets.listIds(ITEM_DIRECTORY)) {
+                getPrototype(id);
+            }
         } catch (IOException e) {
-            throw new RuntimeException("Error while reading item config", e);
+            throw new RuntimeException("Error while reading item configs", e);
         }
+        long known = PROTOTYPES.values().stream().filter(Optional::isPresent).count();
+        System.out.println("Items preloaded: " + known + ".");
     }
 
     /**
-     * Creates bottle.
+     * Retrieves an item based on its ID.
      *
-     * @param config the health bottle config
-     * @return a bottle
+     * @param id the unique identifier of the item
+     * @return AItem corresponding to the given ID, or null if the item type is unknown
+     * @throws RuntimeException if the item's configuration file cannot be loaded
      */
-    private static AItem createBottle(final JSONObject config) {
-        HealthBottle healthBottle = new HealthBottle(
-                config.getInt("id"),
-                config.getString("name"),
-                config.getDouble("health"));
-        healthBottle.setImage(Path.of("config/item/" + config.getInt("id")
-                + "/image.png").toUri().toString());
-        return healthBottle;
+    public static AItem getItem(final int id) {
+        ItemPrototype prototype = getPrototype(id);
+        if (prototype == null) {
+            return null;
+        }
+        return prototype.create();
     }
 
     /**
-     * Creates weapon.
+     * Gets the prototype of an item, parsing its config the first time.
+     * Sessions asking for the same item at the same time wait for one parse,
+     * so a prototype handed out is never replaced.
      *
-     * @param config the weapon config
-     * @return a weapon
+     * @param id the unique identifier of the item
+     * @return the prototype, or null if the item type is unknown
+     * @throws RuntimeException if the item's configuration file cannot be loaded
      */
-    private static AItem createWeapon(final JSONObject config) {
-        Weapon weapon = new Weapon(
-                config.getInt("id"),
-                config.getString("name"),
-                config.getDouble("damage"),
-                config.getDouble("radius"));
-        weapon.setImage(Path.of("config/item/" + config.getInt("id")
-                + "/image.png").toUri().toString());
-        return weapon;
+    public static ItemPrototype getPrototype(final int id) {
+        Optional<ItemPrototype> prototype = PROTOTYPES.get(id);
+        if (prototype == null) {
+            prototype = PROTOTYPES.computeIfAbsent(id,
+                    key -> Optional.ofNullable(readPrototype(key)));
+        }
+        return prototype.orElse(null);
     }
 
     /**
-     * Creates armor.
+     * Parses the config of an item into a prototype.
      *
-     * @param config the armor config
-     * @return an armor
+     * @param id the unique identifier of the item
+     * @return the prototype, or null if the item type is unknown
+     * @throws RuntimeException if the item's configuration file cannot be loaded
      */
-    private static AItem createArmor(final JSONObject config) {
-        Armor armor = new Armor(
-                config.getInt("id"),
-                config.getString("name"),
-                config.getDouble("armor"));
-        armor.setImage(Path.of("config/item/" + config.getInt("id")
-                + "/image.png").toUri().toString());
-        return armor;
+    private static ItemPrototype readPrototype(final int id) {
+        try {
+            // Read item configuration from the JSON file
+            String content = Assets.readString(ITEM_DIRECTORY + "/" + id + "/config.json");
+            return ItemPrototype.fromConfig(new JSONObject(content),
+                    Path.of(ITEM_DIRECTORY + "/" + id + "/image.png").toUri().toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading item config", e);
+        }
     }
 
     /**
@@ -0,0 +1,166 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Armor;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Weapon;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.recovery.HealthBottle;
+import lombok.Getter;
+import org.json.JSONObject;
+
+import java.util.Objects;
+
+/**
+ * The ItemPrototype class represents the parsed definition of an item.
+ * A prototype is immutable and creates new item instances without reading its config again.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+@Getter
+public final class ItemPrototype {
+    /**
+     * The types of items.
+     */
+    public enum Type {
+        /**
+         * A health bottle.
+         */
+        BOTTLE,
+        /**
+         * A weapon.
+         */
+        WEAPON,
+        /**
+         * An armor.
+         */
+        ARMOR
+    }
+
+    /**
+     * Item properties.
+     */
+    private final int id;
+    private final String name;
+    private final Type type;
+    private final String imagePath;
+
+    /**
+     * The value of the item: the health of a bottle, the damage of a weapon
+     * or the armor of an armor.
+     */
+    private final double value;
+
+    /**
+     * The attack radius of a weapon, 0 for other items.
+     */
+    private final double radius;
+
+    /**
+     * Constructs a new ItemPrototype.
+     *
+     * @param id        the item id
+     * @param name      the item name
+     * @param type      the item type
+     * @param imagePath the URI of the item image
+     * @param value     the health, damage or armor of the item
+     * @param radius    the attack radius of a weapon, 0 for other items
+     */
+    public ItemPrototype(final int id, final String name, final Type type, final String imagePath,
+                         final double value, final double radius) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.imagePath = imagePath;
+        this.value = value;
+        this.radius = radius;
+    }
+
+    /**
+     * Parses an item config.
+     *
+     * @param config    the item config
+     * @param imagePath the URI of the item image
+     * @return the prototype, or null if the item type is unknown
+     */
+    public static ItemPrototype fromConfig(final JSONObject config, final String imagePath) {
+        int id = config.getInt("id");
+        String name = config.getString("name");
+        return switch (config.getString("type")) {
+            case "bottle" -> new ItemPrototype(id, name, Type.BOTTLE, imagePath,
+                    config.getDouble("health"), 0);
+            case "weapon" -> new ItemPrototype(id, name, Type.WEAPON, imagePath,
+                    config.getDouble("damage"), config.getDouble("radius"));
+            case "armor" -> new ItemPrototype(id, name, Type.ARMOR, imagePath,
+                    config.getDouble("armor"), 0);
+            default -> null;
+        };
+    }
+
+    /**
+     * Creates a new item from the prototype, without its image.
+     *
+     * @return the item
+     */
+    public AItem instantiate() {
+        return switch (type) {
+            case BOTTLE -> new HealthBottle(id, name, value);
+            case WEAPON -> new Weapon(id, name, value, radius);
+            case ARMOR -> new Armor(id, name, value);
+        };
+    }
+
+    /**
+     * Creates a new item from the prototype, with its image.
+     *
+     * @return the item
+     */
+    public AItem create() {
+        AItem item = instantiate();
+        item.setImage(imagePath);
+        return item;
+    }
+
+    /**
+     * Compares this ItemPrototype with another object for equality.
+     * Two ItemPrototype objects are considered equal if they have the same values
+     * for all properties.
+     *
+     * @param o the object to compare with this ItemPrototype
+     * @return true if the given object is equal to this ItemPrototype, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ItemPrototype that = (ItemPrototype) o;
+        return id == that.id && Double.compare(value, that.value) == 0
+                && Double.compare(radius, that.radius) == 0 && Objects.equals(name, that.name)
+                && type == that.type && Objects.equals(imagePath, that.imagePath);
+    }
+
+    /**
+     * Returns the hash code of this ItemPrototype.
+     *
+     * @return the hash code value of the ItemPrototype as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, type, imagePath, value, radius);
+    }
+
+    /**
+     * Returns a string representation of this ItemPrototype.
+     *
+     * @return the representation of the ItemPrototype as a string
+     */
+    @Override
+    public String toString() {
+        return "ItemPrototype{" + "id=" + id + ", name='" + name + '\'' + ", type=" + type
+                + ", value=" + value + ", radius=" + radius + '}';
+    }
+}
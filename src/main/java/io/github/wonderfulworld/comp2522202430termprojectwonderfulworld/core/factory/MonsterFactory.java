@@ -1,19 +1,34 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.MonsterStats;
 import org.json.JSONObject;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * The TileMapManager class represents a factory for creating Monster objects based on their IDs.
+ * The MonsterFactory class represents a factory for creating Monster objects based on their IDs.
+ * Each monster config is parsed once into stats, which are shared by every monster of that kind.
  *
  *
  * @author Candice Wei
  * @version 2024
  */
 public final class MonsterFactory {
+    /**
+     * The directory holding the monster definitions.
+     */
+    private static final String MONSTER_DIRECTORY = "config/monster";
+
+    /**
+     * The parsed monster definitions, identified by their IDs.
+     * Shared by all game sessions, which may parse a definition at the same time.
+     */
+    private static final ConcurrentHashMap<Integer, MonsterStats> ARCHETYPES =
+            new ConcurrentHashMap<>();
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      *
@@ -22,6 +37,24 @@ public final class MonsterFactory {
     private MonsterFactory() {
         throw new UnsupportedOperationException("Utility class should not be instantiated.");
     }
+
+    /**
+     * Parses every monster definition in the config directory, so spawning monsters
+     * later on does not read any file.
+     *
+     * @throws RuntimeException if the config directory or a monster config cannot be read
+     */
+    public static void preloadAll() {
+        try {
+            for (int id : Assets.listIds(MONSTER_DIRECTORY)) {
+                getStats(id);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading monster configs", e);
+        }
+        System.out.println("Monsters preloaded: " + ARCHETYPES.size() + ".");
+    }
+
     /**
      * Gets monster.
      *
@@ -31,20 +64,47 @@ public final class MonsterFactory {
      *
      */
     public static Monster getMonster(final int id) {
-        try {
-            String content = new String(Files.readAllBytes(Path.of("config/monster/"
-                    + id + "/config.json")));
-            Monster monster = getMonster(content);
-            monster.setImage(Path.of("config/monster/"
-                    + id + "/image.png").toUri().toString());
+        MonsterStats stats = getStats(id);
+        Monster monster = new Monster(stats);
+        monster.setImage(stats.getImagePath());
+        return monster;
+    }
 
-            return monster;
+    /**
+     * Gets the stats shared by the monsters of a kind, parsing their config the first time.
+     * Sessions asking for the same kind at the same time wait for one parse,
+     * so every monster of a kind shares the same stats.
+     *
+     * @param id the monster id
+     * @return the stats
+     * @throws RuntimeException if the monster's configuration file cannot be loaded
+     */
+    public static MonsterStats getStats(final int id) {
+        MonsterStats stats = ARCHETYPES.get(id);
+        if (stats != null) {
+            return stats;
+        }
+        return ARCHETYPES.computeIfAbsent(id, MonsterFactory::readStats);
+    }
+
+    /**
+     * Parses the config of a monster kind into its stats.
+     *
+     * @param id the monster id
+     * @return the stats
+     * @throws RuntimeException if the monster's configuration file cannot be loaded
+     */
+    private static MonsterStats readStats(final int id) {
+        try {
+            String content = Assets.readString(MONSTER_DIRECTORY + "/" + id + "/config.json");
+            return getStats(content, Path.of(MONSTER_DIRECTORY
+                    + "/" + id + "/image.png").toUri().toString());
         } catch (IOException e) {
             throw new RuntimeException("Error while reading monster config", e);
         }
     }
 
-    private static Monster getMonster(final String content) {
+    private static MonsterStats getStats(final String content, final String imagePath) {
         JSONObject config = new JSONObject(content);
         String name = config.getString("name");
         double health = config.getDouble("health");
@@ -53,8 +113,8 @@ public final class MonsterFactory {
         double viewingRadius = config.getDouble("viewingRadius");
         double speed = config.getDouble("speed");
         double attackSpeed = config.getDouble("attackSpeed");
-        return new Monster(name, health, damage, damageRadius,
-                viewingRadius, speed, attackSpeed);
+        return new MonsterStats(name, health, damage, damageRadius,
+                viewingRadius, speed, attackSpeed, imagePath);
     }
 
     /**
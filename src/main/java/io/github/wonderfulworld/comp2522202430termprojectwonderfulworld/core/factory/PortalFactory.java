@@ -1,9 +1,9 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Portal;
 import org.json.JSONObject;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -31,8 +31,7 @@ public final class PortalFactory {
      */
     public static Portal getPortal(final int id) {
         try {
-            String content = new String(Files.readAllBytes(Path.of("config/portal/"
-                    + id + "/config.json")));
+            String content = Assets.readString("config/portal/" + id + "/config.json");
             JSONObject config = new JSONObject(content);
 
             // Creating Portal
@@ -1,9 +1,11 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.location;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemFactory;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.MonsterFactory;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.PortalFactory;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteManager;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.MapConverter;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMapManager;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
@@ -13,7 +15,6 @@ import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.en
 import lombok.Getter;
 import org.json.JSONObject;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Objects;
@@ -82,8 +83,8 @@ public class Location {
         this.locationId = locationId;
 
         try {
-            String content = new String(Files.readAllBytes(Path.of("config/location/"
-                    + locationId + "/config.json")));
+            String content = Assets.readString("config/location/"
+                    + locationId + "/config.json");
             config = new JSONObject(content);
         } catch (IOException e) {
             System.err.println("Error while reading location config: " + e.getMessage());
@@ -95,15 +96,18 @@ public class Location {
     }
 
     /**
-     * Initializes the location.
+     * Initializes the location, or loads the images of its sprites again
+     * if it was initialized and unloaded before.
      */
     public void init() {
         if (wasInitialized) {
+            for (int i = 0; i < spriteManager.getSize(); i++) {
+                spriteManager.getSprite(i).reloadImage();
+            }
             return;
         }
         spriteManager = new SpriteManager();
-        tileMap = TileMapManager.createTileMap("config/location/" + locationId
-                + "/map.txt", TILE_SIZE);
+        tileMap = TileMapManager.createTileMap(getMapFile(), TILE_SIZE);
 
         initializeMonsters();
         initializeItems();
@@ -113,6 +117,28 @@ public class Location {
         System.out.println("Location \"" + name + "\" was initialized.");
     }
 
+    /**
+     * Gets the map file of the location, preferring the binary map made by MapConverter.
+     * A loose binary map older than the loose text map is left out, since the text map
+     * was edited after the conversion. Maps in the content pack are always used.
+     *
+     * @return the path of the map file
+     */
+    private String getMapFile() {
+        String binaryMap = "config/location/" + locationId + "/map.bin";
+        String textMap = "config/location/" + locationId + "/map.txt";
+        if (!Assets.exists(binaryMap)) {
+            return textMap;
+        }
+        if (!Assets.isPacked(binaryMap) && !Assets.isPacked(textMap)
+                && MapConverter.isOutdated(Path.of(binaryMap), Path.of(textMap))) {
+            System.err.println("Binary map " + binaryMap + " is older than " + textMap
+                    + ", loading the text map. Run MapConverter again to update it.");
+            return textMap;
+        }
+        return binaryMap;
+    }
+
     /**
      * Initializes monsters from config and adds them to the sprite manager.
      */
@@ -177,6 +203,32 @@ public class Location {
         this.player = null;
     }
 
+    /**
+     * Releases the images of the sprites of the location while the player is elsewhere.
+     * The sprites keep their state, and init loads the images again.
+     */
+    public void unload() {
+        if (!wasInitialized) {
+            return;
+        }
+        for (int i = 0; i < spriteManager.getSize(); i++) {
+            spriteManager.getSprite(i).unloadImage();
+        }
+    }
+
+    /**
+     * Releases the images of the sprites of the location for good.
+     * Called when the location is discarded with the game it belongs to.
+     */
+    public void release() {
+        if (!wasInitialized) {
+            return;
+        }
+        for (int i = 0; i < spriteManager.getSize(); i++) {
+            spriteManager.getSprite(i).releaseImage();
+        }
+    }
+
     /**
      * Compares this Location with another object for equality.
      * Two Location objects are considered equal if they have the same values for all properties,
@@ -31,6 +31,15 @@ public class LocationManager {
         return locations.get(locationId);
     }
 
+    /**
+     * Releases the images of the sprites of all locations, when the game they belong to ends.
+     */
+    public void release() {
+        for (Location location : locations.values()) {
+            location.release();
+        }
+    }
+
     /**
      * Compares this LocationManager with another object for equality.
      * Two LocationManager objects are considered equal
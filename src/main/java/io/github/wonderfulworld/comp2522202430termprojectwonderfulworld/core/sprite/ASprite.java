@@ -1,8 +1,6 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import javafx.geometry.Rectangle2D;
+import lombok.AccessLevel;
 import lombok.Getter;
 import java.util.Objects;
 
@@ -11,6 +9,8 @@ import java.util.Objects;
  * It provides basic properties such as position, dimensions, status, and speed for sprite objects.
  * Each sprite has attributes like position, width, height,
  * and status indicators for health and attacks.
+ * Sprites do not draw themselves, so they can be simulated without a display;
+ * SpriteRenderer draws them when the game is shown on screen.
  *
  *
  * @author Melissa Shao
@@ -29,6 +29,18 @@ public abstract class ASprite {
      */
     protected double positionY;
 
+    /**
+     * The position of the sprite at the previous simulation step.
+     */
+    @Getter(AccessLevel.NONE) protected double previousX;
+    @Getter(AccessLevel.NONE) protected double previousY;
+
+    /**
+     * The position the sprite is drawn at, between its previous and its current position.
+     */
+    protected double renderX;
+    protected double renderY;
+
     /**
      * The width of the sprite.
      */
@@ -59,9 +71,27 @@ public abstract class ASprite {
      */
     protected double attackSpeed;
     /**
-     * The image of the sprite.
+     * The image of the sprite, an atlas region when the game is shown on screen.
      */
-    protected Image image;
+    protected ISpriteImage region;
+
+    /**
+     * The URI of the image loaded through SpriteImages, or null if the image was set directly.
+     */
+    @Getter(AccessLevel.NONE) private String imagePath;
+
+    /**
+     * The cells of the spatial hash the sprite is stored in, kept up to date by the spatial hash.
+     */
+    @Getter(AccessLevel.NONE) int cellMinX;
+    @Getter(AccessLevel.NONE) int cellMinY;
+    @Getter(AccessLevel.NONE) int cellMaxX;
+    @Getter(AccessLevel.NONE) int cellMaxY;
+
+    /**
+     * The number of the last spatial hash query that found the sprite.
+     */
+    @Getter(AccessLevel.NONE) int lastQuery;
 
     /**
      * Constructs a new ASprite object with initial position set to (0, 0) and alive status.
@@ -74,7 +104,8 @@ public abstract class ASprite {
     }
 
     /**
-     * Sets the position of the sprite.
+     * Sets the position of the sprite. The sprite is drawn there right away,
+     * without moving from its previous position.
      *
      * @param x the X coordinate to set
      * @param y the Y coordinate to set
@@ -82,27 +113,85 @@ public abstract class ASprite {
     public void setPosition(final double x, final double y) {
         this.positionX = x;
         this.positionY = y;
+        this.previousX = x;
+        this.previousY = y;
+        this.renderX = x;
+        this.renderY = y;
+    }
+
+    /**
+     * Remembers the current position as the previous one, before a simulation step moves it.
+     */
+    public void savePosition() {
+        previousX = positionX;
+        previousY = positionY;
     }
 
     /**
-     * Sets image.
+     * Places the sprite for drawing between its previous and its current position.
      *
-     * @param image The image.
+     * @param alpha how far the time of the frame is between the two simulation steps,
+     *              from 0 at the previous step to 1 at the current one
      */
-    public void setImage(final Image image) {
-        this.image = image;
-        width = image.getWidth();
-        height = image.getHeight();
+    public void interpolate(final double alpha) {
+        renderX = previousX + (positionX - previousX) * alpha;
+        renderY = previousY + (positionY - previousY) * alpha;
     }
 
     /**
-     * Sets image.
+     * Sets image, loading it through the current sprite image loader.
      *
      * @param filename The filename.
      */
     public void setImage(final String filename) {
-        Image newImage = new Image(filename);
-        setImage(newImage);
+        releaseImage();
+        setRegion(SpriteImages.load(filename));
+        imagePath = filename;
+    }
+
+    /**
+     * Releases the image this sprite loaded, so the loader can drop it.
+     * Called when the sprite leaves the game for good.
+     */
+    public void releaseImage() {
+        if (imagePath != null) {
+            if (region != null) {
+                SpriteImages.release(imagePath);
+            }
+            imagePath = null;
+        }
+    }
+
+    /**
+     * Releases the image this sprite loaded while the sprite is not shown, keeping its size.
+     * Called when the player leaves the location of the sprite.
+     */
+    public void unloadImage() {
+        if (imagePath != null && region != null) {
+            SpriteImages.release(imagePath);
+            region = null;
+        }
+    }
+
+    /**
+     * Loads the image released by unloadImage again.
+     * Called when the player comes back to the location of the sprite.
+     */
+    public void reloadImage() {
+        if (imagePath != null && region == null) {
+            region = SpriteImages.load(imagePath);
+        }
+    }
+
+    /**
+     * Sets the image of the sprite, which also gives the sprite its size.
+     *
+     * @param newRegion The image.
+     */
+    public void setRegion(final ISpriteImage newRegion) {
+        this.region = newRegion;
+        width = newRegion.getWidth();
+        height = newRegion.getHeight();
     }
 
     /**
@@ -114,6 +203,16 @@ public abstract class ASprite {
     public void update(final double delta) {
     }
 
+    /**
+     * Gets how far beyond its bounds the sprite can notice or reach other sprites.
+     * Sprites that only interact through their own bounds have no reach.
+     *
+     * @return the reach in pixels
+     */
+    public double getReach() {
+        return 0;
+    }
+
     /**
      * Checks if this sprite intersects with another sprite's collision box.
      *
@@ -122,16 +221,23 @@ public abstract class ASprite {
      */
     @SuppressWarnings("unused") // Method intended for collision detection in subclasses
     public boolean intersectsCollisionBox(final ASprite s) {
-        return s.getCollisionBox().intersects(this.getCollisionBox());
+        return s.intersects(positionX, positionY, positionX + width, positionY + height);
     }
 
     /**
-     * Returns the collision box of the sprite as a Rectangle2D object.
+     * Checks if the collision box of the sprite intersects an area.
+     * The check works on the coordinates directly, so no boxes are created in collision passes.
      *
-     * @return A Rectangle2D object representing the collision box of the sprite.
+     * @param minX the minimum x-coordinate of the area
+     * @param minY the minimum y-coordinate of the area
+     * @param maxX the maximum x-coordinate of the area
+     * @param maxY the maximum y-coordinate of the area
+     * @return True if the collision box intersects the area, false otherwise.
      */
-    public Rectangle2D getCollisionBox() {
-        return new Rectangle2D(positionX, positionY, width, height);
+    public boolean intersects(final double minX, final double minY,
+                              final double maxX, final double maxY) {
+        return positionX < maxX && positionX + width > minX
+                && positionY < maxY && positionY + height > minY;
     }
 
     /**
@@ -150,7 +256,7 @@ public abstract class ASprite {
                 + ", lastAttack=" + lastAttack
                 + ", speed=" + speed
                 + ", attackSpeed=" + attackSpeed
-                + "image=" + image
+                + ", region=" + region
                 + '}';
     }
 
@@ -178,7 +284,7 @@ public abstract class ASprite {
                 && isDead == aSprite.isDead && Double.compare(lastAttack, aSprite.lastAttack) == 0
                 && Double.compare(speed, aSprite.speed) == 0
                 && Double.compare(attackSpeed, aSprite.attackSpeed) == 0
-                && Objects.equals(image, aSprite.image);
+                && Objects.equals(region, aSprite.region);
     }
 
     /**
@@ -189,17 +295,6 @@ public abstract class ASprite {
     @Override
     public int hashCode() {
         return Objects.hash(positionX, positionY, width,
-                height, isDead, lastAttack, speed, attackSpeed, image);
-    }
-
-    /**
-     * Render.
-     * <p>
-     * The render method is called every frame. Serves for drawing sprites.
-     *
-     * @param gc The graphics context of the canvas.
-     */
-    public void render(final GraphicsContext gc) {
-        gc.drawImage(image, positionX, positionY);
+                height, isDead, lastAttack, speed, attackSpeed, region);
     }
 }
@@ -0,0 +1,53 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+/**
+ * The AtlasImageLoader class loads sprite images for drawing on screen.
+ * Images packed into the texture atlas are regions of its pages,
+ * other images are taken from the image cache and released back to it.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public final class AtlasImageLoader implements ISpriteImageLoader {
+    /**
+     * Loads an image from the texture atlas, or from the image cache if it was not packed.
+     *
+     * @param uri the URI of the image
+     * @return the region of the image
+     */
+    @Override
+    public ISpriteImage load(final String uri) {
+        return TextureAtlas.getRegion(uri);
+    }
+
+    /**
+     * Releases the reference held in the image cache, if the image was not packed.
+     *
+     * @param uri the URI of the image
+     */
+    @Override
+    public void release(final String uri) {
+        if (TextureAtlas.findRegion(uri) == null) {
+            ImageCache.release(uri);
+        }
+    }
+
+    /**
+     * Removes the images the garbage collector dropped from the image cache.
+     */
+    @Override
+    public void purge() {
+        ImageCache.purge();
+    }
+
+    /**
+     * Returns a string representation of this AtlasImageLoader.
+     *
+     * @return the representation of the AtlasImageLoader as a string
+     */
+    @Override
+    public String toString() {
+        return "AtlasImageLoader{}";
+    }
+}
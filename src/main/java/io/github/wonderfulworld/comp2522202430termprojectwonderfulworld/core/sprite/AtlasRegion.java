@@ -0,0 +1,127 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * The AtlasRegion class represents a rectangular part of an image, usually a texture atlas page.
+ * Sprites and tiles are drawn through regions, so many of them can share the same texture.
+ * Regions are the sprite images loaded when the game is shown on screen.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+@Getter
+public class AtlasRegion implements ISpriteImage {
+    /**
+     * The image containing the region.
+     */
+    private final Image image;
+
+    /**
+     * The position of the region in the image.
+     */
+    private final double x;
+    private final double y;
+
+    /**
+     * The size of the region.
+     */
+    private final double width;
+    private final double height;
+
+    /**
+     * Constructs a new AtlasRegion covering a part of an image.
+     *
+     * @param image  the image containing the region
+     * @param x      the x-coordinate of the region in the image
+     * @param y      the y-coordinate of the region in the image
+     * @param width  the width of the region
+     * @param height the height of the region
+     */
+    public AtlasRegion(final Image image, final double x, final double y,
+                       final double width, final double height) {
+        this.image = image;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Constructs a new AtlasRegion covering a whole image.
+     *
+     * @param image the image
+     */
+    public AtlasRegion(final Image image) {
+        this(image, 0, 0, image.getWidth(), image.getHeight());
+    }
+
+    /**
+     * Draws the region at the specified position.
+     *
+     * @param gc the graphics context used for rendering
+     * @param dx the x-coordinate to draw at
+     * @param dy the y-coordinate to draw at
+     */
+    public void draw(final GraphicsContext gc, final double dx, final double dy) {
+        gc.drawImage(image, x, y, width, height, dx, dy, width, height);
+    }
+
+    /**
+     * Gets the region as a viewport rectangle, used by image views.
+     *
+     * @return the viewport of the region in the image
+     */
+    public Rectangle2D getViewport() {
+        return new Rectangle2D(x, y, width, height);
+    }
+
+    /**
+     * Compares this AtlasRegion with another object for equality.
+     * Two AtlasRegion objects are considered equal if they cover the same part of the same image.
+     *
+     * @param o the object to compare with this AtlasRegion
+     * @return true if the given object is equal to this AtlasRegion, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AtlasRegion that = (AtlasRegion) o;
+        return Double.compare(x, that.x) == 0 && Double.compare(y, that.y) == 0
+                && Double.compare(width, that.width) == 0
+                && Double.compare(height, that.height) == 0
+                && Objects.equals(image, that.image);
+    }
+
+    /**
+     * Returns the hash code of this AtlasRegion.
+     *
+     * @return the hash code value of the AtlasRegion as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(image, x, y, width, height);
+    }
+
+    /**
+     * Returns a string representation of this AtlasRegion.
+     *
+     * @return the representation of the AtlasRegion as a string
+     */
+    @Override
+    public String toString() {
+        return "AtlasRegion{" + "image=" + image + ", x=" + x + ", y=" + y
+                + ", width=" + width + ", height=" + height + '}';
+    }
+}
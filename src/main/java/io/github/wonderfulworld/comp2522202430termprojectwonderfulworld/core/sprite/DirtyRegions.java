@@ -0,0 +1,224 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The DirtyRegions class tracks the areas of the game world that changed since the last frame.
+ * It remembers the bounds of every sprite, and when a sprite moves, changes its image,
+ * appears or disappears, both its previous and its current bounds become dirty.
+ * Overlapping dirty areas are merged, so each area is repainted only once.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public class DirtyRegions {
+    /**
+     * Extra pixels added around each dirty area to cover anti-aliased edges.
+     */
+    private static final double PADDING = 1.0;
+
+    /**
+     * The bounds of each sprite in the last frame.
+     */
+    private final IdentityHashMap<ASprite, SpriteBounds> bounds = new IdentityHashMap<>();
+
+    /**
+     * The merged dirty areas of the current frame, as {minX, minY, maxX, maxY} arrays.
+     */
+    private final ArrayList<double[]> regions = new ArrayList<>();
+
+    /**
+     * The number of the current frame, used to find sprites that disappeared.
+     */
+    private long frame;
+
+    /**
+     * The bounds of a sprite in the last frame.
+     */
+    private static final class SpriteBounds {
+        private double minX;
+        private double minY;
+        private double maxX;
+        private double maxY;
+        private ISpriteImage region;
+        private long frame;
+
+        /**
+         * Checks whether the sprite changed since these bounds were recorded.
+         *
+         * @param sprite the sprite
+         * @return true if the position, size or region of the sprite changed, false otherwise
+         */
+        private boolean changed(final ASprite sprite) {
+            return minX != sprite.getRenderX() || minY != sprite.getRenderY()
+                    || maxX != sprite.getRenderX() + sprite.getWidth()
+                    || maxY != sprite.getRenderY() + sprite.getHeight()
+                    || region != sprite.getRegion();
+        }
+
+        /**
+         * Records the current bounds of the sprite.
+         *
+         * @param sprite       the sprite
+         * @param currentFrame the number of the current frame
+         */
+        private void record(final ASprite sprite, final long currentFrame) {
+            minX = sprite.getRenderX();
+            minY = sprite.getRenderY();
+            maxX = minX + sprite.getWidth();
+            maxY = minY + sprite.getHeight();
+            region = sprite.getRegion();
+            frame = currentFrame;
+        }
+    }
+
+    /**
+     * Starts a new frame and clears the dirty areas of the previous one.
+     */
+    public void beginFrame() {
+        frame++;
+        regions.clear();
+    }
+
+    /**
+     * Compares a sprite with its bounds in the last frame and marks the changed areas dirty.
+     *
+     * @param sprite the sprite
+     */
+    public void track(final ASprite sprite) {
+        SpriteBounds previous = bounds.get(sprite);
+        if (previous == null) {
+            previous = new SpriteBounds();
+            bounds.put(sprite, previous);
+        } else if (previous.changed(sprite)) {
+            add(previous.minX, previous.minY, previous.maxX, previous.maxY);
+        } else {
+            previous.frame = frame;
+            return;
+        }
+
+        previous.record(sprite, frame);
+        add(previous.minX, previous.minY, previous.maxX, previous.maxY);
+    }
+
+    /**
+     * Finishes the frame, marking the last bounds of sprites that were not tracked dirty.
+     */
+    public void endFrame() {
+        Iterator<Map.Entry<ASprite, SpriteBounds>> iterator = bounds.entrySet().iterator();
+        while (iterator.hasNext()) {
+            SpriteBounds previous = iterator.next().getValue();
+            if (previous.frame != frame) {
+                add(previous.minX, previous.minY, previous.maxX, previous.maxY);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forgets all tracked sprites, used after the whole frame was repainted.
+     */
+    public void clear() {
+        bounds.clear();
+        regions.clear();
+    }
+
+    /**
+     * Adds a dirty area, merging it with every overlapping area.
+     *
+     * @param minX the minimum x-coordinate of the area
+     * @param minY the minimum y-coordinate of the area
+     * @param maxX the maximum x-coordinate of the area
+     * @param maxY the maximum y-coordinate of the area
+     */
+    public void add(final double minX, final double minY, final double maxX, final double maxY) {
+        double[] region = {Math.floor(minX - PADDING), Math.floor(minY - PADDING),
+            Math.ceil(maxX + PADDING), Math.ceil(maxY + PADDING)};
+
+        // Merging can make the region overlap areas it did not overlap before, so repeat
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            Iterator<double[]> iterator = regions.iterator();
+            while (iterator.hasNext()) {
+                double[] other = iterator.next();
+                if (overlaps(region, other)) {
+                    region[0] = Math.min(region[0], other[0]);
+                    region[1] = Math.min(region[1], other[1]);
+                    region[2] = Math.max(region[2], other[2]);
+                    region[3] = Math.max(region[3], other[3]);
+                    iterator.remove();
+                    merged = true;
+                }
+            }
+        }
+        regions.add(region);
+    }
+
+    /**
+     * Checks whether two areas overlap.
+     *
+     * @param a the first area
+     * @param b the second area
+     * @return true if the areas overlap, false otherwise
+     */
+    private static boolean overlaps(final double[] a, final double[] b) {
+        return a[0] < b[2] && b[0] < a[2] && a[1] < b[3] && b[1] < a[3];
+    }
+
+    /**
+     * Gets the merged dirty areas of the current frame as {minX, minY, maxX, maxY} arrays.
+     *
+     * @return the dirty areas
+     */
+    public List<double[]> getRegions() {
+        return regions;
+    }
+
+    /**
+     * Compares this DirtyRegions with another object for equality.
+     * Two DirtyRegions objects are considered equal if they are in the same frame
+     * and track the same sprites.
+     *
+     * @param o the object to compare with this DirtyRegions
+     * @return true if the given object is equal to this DirtyRegions, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DirtyRegions that = (DirtyRegions) o;
+        return frame == that.frame && Objects.equals(bounds.keySet(), that.bounds.keySet());
+    }
+
+    /**
+     * Returns the hash code of this DirtyRegions.
+     *
+     * @return the hash code value of the DirtyRegions as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(frame, bounds.size());
+    }
+
+    /**
+     * Returns a string representation of this DirtyRegions.
+     *
+     * @return the representation of the DirtyRegions as a string
+     */
+    @Override
+    public String toString() {
+        return "DirtyRegions{" + "frame=" + frame + ", sprites=" + bounds.size()
+                + ", regions=" + regions.size() + '}';
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+/**
+ * The ISpriteImage interface is the image of a sprite or a tile as seen by the game world.
+ * The simulation only needs the size of an image, how it is drawn is left to the renderer,
+ * so the world runs the same with or without a display.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public interface ISpriteImage {
+    /**
+     * Gets the width of the image.
+     *
+     * @return the width in pixels
+     */
+    double getWidth();
+
+    /**
+     * Gets the height of the image.
+     *
+     * @return the height in pixels
+     */
+    double getHeight();
+}
@@ -0,0 +1,34 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+/**
+ * The ISpriteImageLoader interface loads the images of sprites and tiles.
+ * A loader backed by the texture atlas is used when the game is shown on screen,
+ * otherwise only the sizes of the images are read.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public interface ISpriteImageLoader {
+    /**
+     * Loads an image. Every call is matched by a call to release when the image is not needed.
+     *
+     * @param uri the URI of the image
+     * @return the image
+     */
+    ISpriteImage load(String uri);
+
+    /**
+     * Releases an image loaded before. Does nothing by default.
+     *
+     * @param uri the URI of the image
+     */
+    default void release(final String uri) {
+    }
+
+    /**
+     * Forgets the released images that were dropped to free memory. Does nothing by default.
+     */
+    default void purge() {
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+
+/**
+ * The ImageCache class shares decoded images between all sprites, keyed by their resource path.
+ * Every user of an image holds a reference to it. While an image is referenced it is kept
+ * in memory; once the last reference is released it is only softly reachable, so it is
+ * reused if it is needed again and dropped only when memory runs low.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public final class ImageCache {
+    /**
+     * The cached images, identified by their resource path.
+     */
+    private static final HashMap<String, Entry> ENTRIES = new HashMap<>();
+
+    /**
+     * Cache statistics.
+     */
+    private static long hits;
+    private static long misses;
+
+    /**
+     * A cached image and the number of its references.
+     */
+    private static final class Entry {
+        private Image image;
+        private SoftReference<Image> softImage;
+        private int references;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private ImageCache() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Gets an image and adds a reference to it, decoding it only if it is not cached.
+     * Every call must be matched by a call to release once the image is no longer used.
+     *
+     * @param path the resource path of the image
+     * @return the shared image
+     */
+    public static synchronized Image acquire(final String path) {
+        Entry entry = ENTRIES.computeIfAbsent(path, key -> new Entry());
+        if (entry.image == null && entry.softImage != null) {
+            entry.image = entry.softImage.get();
+            entry.softImage = null;
+        }
+
+        if (entry.image == null) {
+            misses++;
+            entry.image = load(path);
+        } else {
+            hits++;
+        }
+
+        entry.references++;
+        return entry.image;
+    }
+
+    /**
+     * Decodes an image, from the content pack if the pack holds it.
+     *
+     * @param path the resource path of the image
+     * @return the image
+     */
+    private static Image load(final String path) {
+        String assetPath = Assets.toPath(path);
+        if (assetPath == null || !Assets.isPacked(assetPath)) {
+            return new Image(path);
+        }
+        try (InputStream stream = Assets.openStream(assetPath)) {
+            return new Image(stream);
+        } catch (IOException e) {
+            System.err.println("Error while reading image " + path + ": " + e.getMessage());
+            return new Image(path);
+        }
+    }
+
+    /**
+     * Releases a reference to an image. When no references are left,
+     * the image is kept only softly, so the garbage collector can drop it.
+     *
+     * @param path the resource path of the image
+     */
+    public static synchronized void release(final String path) {
+        Entry entry = ENTRIES.get(path);
+        if (entry == null || entry.references == 0) {
+            return;
+        }
+
+        entry.references--;
+        if (entry.references == 0) {
+            entry.softImage = new SoftReference<>(entry.image);
+            entry.image = null;
+        }
+    }
+
+    /**
+     * Removes the entries whose images were dropped by the garbage collector.
+     */
+    public static synchronized void purge() {
+        ENTRIES.values().removeIf(entry -> entry.image == null
+                && (entry.softImage == null || entry.softImage.get() == null));
+    }
+
+    /**
+     * Gets the number of references to an image.
+     *
+     * @param path the resource path of the image
+     * @return the number of references
+     */
+    public static synchronized int getReferences(final String path) {
+        Entry entry = ENTRIES.get(path);
+        if (entry == null) {
+            return 0;
+        }
+        return entry.references;
+    }
+
+    /**
+     * Gets the number of times a cached image was reused.
+     *
+     * @return the number of hits
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of times an image had to be decoded.
+     *
+     * @return the number of misses
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns a string representation of this ImageCache.
+     *
+     * @return the representation of the ImageCache as a string
+     */
+    @Override
+    public String toString() {
+        return "ImageCache{}";
+    }
+}
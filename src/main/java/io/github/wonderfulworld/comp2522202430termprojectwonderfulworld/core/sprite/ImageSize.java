@@ -0,0 +1,132 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
+import lombok.Getter;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ImageSize class is the size of an image without its pixels, used when the game world
+ * is simulated without a display. The size is read from the header of the PNG file,
+ * so sprites collide exactly as they do when the images are loaded.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+@Getter
+public final class ImageSize implements ISpriteImage {
+    /**
+     * Constants.
+     */
+    private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+    private static final int HEADER_CHUNK_TYPE = 0x49484452;
+
+    /**
+     * The sizes read so far, identified by the URI of their image.
+     */
+    private static final ConcurrentHashMap<String, ImageSize> SIZES = new ConcurrentHashMap<>();
+
+    /**
+     * The width of the image.
+     */
+    private final double width;
+
+    /**
+     * The height of the image.
+     */
+    private final double height;
+
+    /**
+     * Constructs a new ImageSize.
+     *
+     * @param width  the width in pixels
+     * @param height the height in pixels
+     */
+    public ImageSize(final double width, final double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Reads the size of a PNG image, once per image.
+     *
+     * @param uri the URI of the image
+     * @return the size, or an empty size if the image cannot be read
+     */
+    public static ImageSize read(final String uri) {
+        return SIZES.computeIfAbsent(uri, ImageSize::readHeader);
+    }
+
+    /**
+     * Reads the size from the header chunk at the start of a PNG file.
+     *
+     * @param uri the URI of the image
+     * @return the size, or an empty size if the image cannot be read
+     */
+    private static ImageSize readHeader(final String uri) {
+        String path = Assets.toPath(uri);
+        if (path == null) {
+            System.err.println("Cannot read image outside the assets: " + uri);
+            return new ImageSize(0, 0);
+        }
+
+        try (InputStream stream = Assets.openStream(path);
+             DataInputStream data = new DataInputStream(stream)) {
+            long signature = data.readLong();
+            data.readInt(); // Length of the header chunk
+            int chunkType = data.readInt();
+            if (signature != PNG_SIGNATURE || chunkType != HEADER_CHUNK_TYPE) {
+                System.err.println("Not a PNG image: " + path);
+                return new ImageSize(0, 0);
+            }
+            return new ImageSize(data.readInt(), data.readInt());
+        } catch (IOException e) {
+            System.err.println("Cannot read image " + path + ": " + e.getMessage());
+            return new ImageSize(0, 0);
+        }
+    }
+
+    /**
+     * Compares this ImageSize with another object for equality.
+     * Two ImageSize objects are considered equal if they have the same width and height.
+     *
+     * @param o the object to compare with this ImageSize
+     * @return true if the given object is equal to this ImageSize, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ImageSize that = (ImageSize) o;
+        return Double.compare(width, that.width) == 0 && Double.compare(height, that.height) == 0;
+    }
+
+    /**
+     * Returns the hash code of this ImageSize.
+     *
+     * @return the hash code value of the ImageSize as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(width, height);
+    }
+
+    /**
+     * Returns a string representation of this ImageSize.
+     *
+     * @return the representation of the ImageSize as a string
+     */
+    @Override
+    public String toString() {
+        return "ImageSize{" + "width=" + width + ", height=" + height + '}';
+    }
+}
@@ -0,0 +1,214 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
+import javafx.scene.canvas.GraphicsContext;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * The RenderSnapshot class holds everything needed to draw one simulation step:
+ * the tile map, and the region and the previous and current position of every sprite,
+ * in depth order. Snapshots are captured by the simulation thread and drawn by the
+ * JavaFX thread, so drawing never reads the sprites while they are updated.
+ * A snapshot is reused once it was drawn, and is not changed while it is drawn.
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public class RenderSnapshot {
+    /**
+     * Constants.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int VALUES_PER_SPRITE = 4;
+    private static final int PREVIOUS_X = 0;
+    private static final int PREVIOUS_Y = 1;
+    private static final int CURRENT_X = 2;
+    private static final int CURRENT_Y = 3;
+    private static final double NANOSECONDS_TO_SECONDS = 1000000000.0;
+
+    /**
+     * The region of every sprite.
+     */
+    private AtlasRegion[] regions = new AtlasRegion[INITIAL_CAPACITY];
+
+    /**
+     * The previous and current position of every sprite, four values per sprite.
+     */
+    private double[] positions = new double[INITIAL_CAPACITY * VALUES_PER_SPRITE];
+
+    /**
+     * The number of sprites in the snapshot.
+     * -- GETTER --
+     * Gets the number of sprites in the snapshot.
+     */
+    @Getter private int size;
+
+    /**
+     * The previous and current position, and the size, of the sprite the camera follows.
+     */
+    private final double[] focus = new double[VALUES_PER_SPRITE];
+    private double focusWidth;
+    private double focusHeight;
+
+    /**
+     * The tile map the sprites are on, or null if nothing was captured yet.
+     * -- GETTER --
+     * Gets the tile map the sprites are on.
+     */
+    @Getter private TileMap tileMap;
+
+    /**
+     * The time the snapshot was captured, in nanoseconds.
+     */
+    private long time;
+
+    /**
+     * Captures the sprites of a sprite manager, after a simulation step.
+     *
+     * @param spriteManager the sprite manager, sorted by depth
+     * @param focusSprite   the sprite the camera follows
+     * @param map           the tile map the sprites are on
+     * @param now           the current time in nanoseconds
+     */
+    public void capture(final SpriteManager spriteManager, final ASprite focusSprite,
+                        final TileMap map, final long now) {
+        size = spriteManager.getSize();
+        if (regions.length < size) {
+            regions = new AtlasRegion[Math.max(size, regions.length * 2)];
+            positions = new double[regions.length * VALUES_PER_SPRITE];
+        }
+
+        for (int i = 0; i < size; i++) {
+            ASprite sprite = spriteManager.getSprite(i);
+            regions[i] = (AtlasRegion) sprite.getRegion();
+            store(positions, i * VALUES_PER_SPRITE, sprite);
+        }
+        // Drop the regions of sprites that are gone, so they can be collected
+        Arrays.fill(regions, size, regions.length, null);
+
+        store(focus, 0, focusSprite);
+        focusWidth = focusSprite.getWidth();
+        focusHeight = focusSprite.getHeight();
+        tileMap = map;
+        time = now;
+    }
+
+    /**
+     * Stores the previous and current position of a sprite.
+     *
+     * @param target the array to store into
+     * @param offset the position of the first value in the array
+     * @param sprite the sprite
+     */
+    private static void store(final double[] target, final int offset, final ASprite sprite) {
+        target[offset + PREVIOUS_X] = sprite.previousX;
+        target[offset + PREVIOUS_Y] = sprite.previousY;
+        target[offset + CURRENT_X] = sprite.getPositionX();
+        target[offset + CURRENT_Y] = sprite.getPositionY();
+    }
+
+    /**
+     * Gets how far a frame drawn now is between the previous and the current step,
+     * assuming the next step is captured one time step after this one.
+     *
+     * @param now      the current time in nanoseconds
+     * @param timeStep the length of a simulation step in seconds
+     * @return the interpolation factor, from 0 to 1
+     */
+    public double getAlpha(final long now, final double timeStep) {
+        double alpha = (now - time) / NANOSECONDS_TO_SECONDS / timeStep;
+        return Math.max(0, Math.min(alpha, 1));
+    }
+
+    /**
+     * Gets where the sprite the camera follows is drawn.
+     *
+     * @param alpha the interpolation factor between the previous and the current step
+     * @return the x-coordinate of the sprite
+     */
+    public double getFocusX(final double alpha) {
+        return interpolate(focus, 0, PREVIOUS_X, CURRENT_X, alpha);
+    }
+
+    /**
+     * Gets where the sprite the camera follows is drawn.
+     *
+     * @param alpha the interpolation factor between the previous and the current step
+     * @return the y-coordinate of the sprite
+     */
+    public double getFocusY(final double alpha) {
+        return interpolate(focus, 0, PREVIOUS_Y, CURRENT_Y, alpha);
+    }
+
+    /**
+     * Gets the width of the sprite the camera follows.
+     *
+     * @return the width
+     */
+    public double getFocusWidth() {
+        return focusWidth;
+    }
+
+    /**
+     * Gets the height of the sprite the camera follows.
+     *
+     * @return the height
+     */
+    public double getFocusHeight() {
+        return focusHeight;
+    }
+
+    /**
+     * Draws the sprites inside the given area between their previous and current position,
+     * on whole pixels like SpriteRenderer.
+     *
+     * @param gc    the graphics context
+     * @param alpha the interpolation factor between the previous and the current step
+     * @param minX  the minimum x-coordinate of the area
+     * @param minY  the minimum y-coordinate of the area
+     * @param maxX  the maximum x-coordinate of the area
+     * @param maxY  the maximum y-coordinate of the area
+     */
+    public void render(final GraphicsContext gc, final double alpha, final double minX,
+                       final double minY, final double maxX, final double maxY) {
+        for (int i = 0; i < size; i++) {
+            AtlasRegion region = regions[i];
+            int offset = i * VALUES_PER_SPRITE;
+            double x = interpolate(positions, offset, PREVIOUS_X, CURRENT_X, alpha);
+            double y = interpolate(positions, offset, PREVIOUS_Y, CURRENT_Y, alpha);
+            if (x < maxX && x + region.getWidth() > minX
+                    && y < maxY && y + region.getHeight() > minY) {
+                region.draw(gc, Math.round(x), Math.round(y));
+            }
+        }
+    }
+
+    /**
+     * Interpolates a coordinate between its previous and current value.
+     *
+     * @param values   the stored values
+     * @param offset   the position of the first value of the sprite
+     * @param previous the index of the previous value
+     * @param current  the index of the current value
+     * @param alpha    the interpolation factor
+     * @return the interpolated coordinate
+     */
+    private static double interpolate(final double[] values, final int offset, final int previous,
+                                      final int current, final double alpha) {
+        double from = values[offset + previous];
+        return from + (values[offset + current] - from) * alpha;
+    }
+
+    /**
+     * Returns a string representation of this RenderSnapshot.
+     *
+     * @return the representation of the RenderSnapshot as a string
+     */
+    @Override
+    public String toString() {
+        return "RenderSnapshot{" + "size=" + size + ", tileMap=" + tileMap + ", time=" + time
+                + '}';
+    }
+}
@@ -0,0 +1,265 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SpatialHash class is a uniform grid over the game world used to find sprites near an area.
+ * Every sprite is stored in the buckets of the grid cells its bounds cover, and a query only looks
+ * at the buckets of the cells covering the queried area. Cells are hashed into a fixed number of
+ * buckets, so the grid has no bounds and sprites outside the map are still found.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public class SpatialHash {
+    /**
+     * Constants.
+     */
+    private static final int BUCKET_COUNT = 4096;
+    private static final int BUCKET_MASK = BUCKET_COUNT - 1;
+    private static final int HASH_PRIME_X = 73856093;
+    private static final int HASH_PRIME_Y = 19349663;
+
+    /**
+     * Numbers the queries of all spatial hashes of a session, so a sprite moved
+     * to another location is never taken as already found by a query there.
+     * Each session has its own, so sessions on different threads never share one.
+     */
+    public static final class QueryCounter {
+        /**
+         * The number of the last query.
+         */
+        private int lastQuery;
+
+        /**
+         * Gets the number of the next query.
+         *
+         * @return the query number
+         */
+        int next() {
+            return ++lastQuery;
+        }
+
+        /**
+         * Returns a string representation of this QueryCounter.
+         *
+         * @return the representation of the QueryCounter as a string
+         */
+        @Override
+        public String toString() {
+            return "QueryCounter{" + "lastQuery=" + lastQuery + '}';
+        }
+    }
+
+    /**
+     * The counter numbering the queries.
+     */
+    private final QueryCounter queryCounter;
+
+    /**
+     * The size of a grid cell in pixels.
+     */
+    private final double cellSize;
+
+    /**
+     * The sprites in each bucket, created when the first sprite is stored in the bucket.
+     */
+    private final ArrayList<?>[] buckets = new ArrayList<?>[BUCKET_COUNT];
+
+    /**
+     * Constructs a new SpatialHash with the specified cell size,
+     * numbering its queries with the counter of the current session.
+     *
+     * @param cellSize the size of a grid cell in pixels
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public SpatialHash(final double cellSize) {
+        this(cellSize, GameSession.current().getQueryCounter());
+    }
+
+    /**
+     * Constructs a new SpatialHash with the specified cell size and query counter.
+     *
+     * @param cellSize     the size of a grid cell in pixels
+     * @param queryCounter the counter numbering the queries
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public SpatialHash(final double cellSize, final QueryCounter queryCounter) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.queryCounter = queryCounter;
+    }
+
+    /**
+     * Stores a sprite in the cells covered by its bounds.
+     *
+     * @param sprite the sprite
+     */
+    public void insert(final ASprite sprite) {
+        sprite.cellMinX = toCell(sprite.getPositionX());
+        sprite.cellMinY = toCell(sprite.getPositionY());
+        sprite.cellMaxX = toCell(sprite.getPositionX() + sprite.getWidth());
+        sprite.cellMaxY = toCell(sprite.getPositionY() + sprite.getHeight());
+
+        for (int cellX = sprite.cellMinX; cellX <= sprite.cellMaxX; cellX++) {
+            for (int cellY = sprite.cellMinY; cellY <= sprite.cellMaxY; cellY++) {
+                bucketOf(cellX, cellY, true).add(sprite);
+            }
+        }
+    }
+
+    /**
+     * Removes a sprite from the cells it was stored in.
+     *
+     * @param sprite the sprite
+     */
+    public void remove(final ASprite sprite) {
+        for (int cellX = sprite.cellMinX; cellX <= sprite.cellMaxX; cellX++) {
+            for (int cellY = sprite.cellMinY; cellY <= sprite.cellMaxY; cellY++) {
+                ArrayList<ASprite> bucket = bucketOf(cellX, cellY, false);
+                if (bucket != null) {
+                    removeFromBucket(bucket, sprite);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a sprite to the cells covered by its current bounds.
+     * Nothing is done while the sprite stays in the same cells, which is the case most frames.
+     *
+     * @param sprite the sprite
+     */
+    public void update(final ASprite sprite) {
+        if (sprite.cellMinX == toCell(sprite.getPositionX())
+                && sprite.cellMinY == toCell(sprite.getPositionY())
+                && sprite.cellMaxX == toCell(sprite.getPositionX() + sprite.getWidth())
+                && sprite.cellMaxY == toCell(sprite.getPositionY() + sprite.getHeight())) {
+            return;
+        }
+        remove(sprite);
+        insert(sprite);
+    }
+
+    /**
+     * Finds the sprites whose bounds overlap the given area.
+     * Each sprite is added to the result once, and the result is not cleared first,
+     * so the caller can reuse the same list every frame.
+     *
+     * @param minX   the minimum x-coordinate of the area
+     * @param minY   the minimum y-coordinate of the area
+     * @param maxX   the maximum x-coordinate of the area
+     * @param maxY   the maximum y-coordinate of the area
+     * @param result the list the found sprites are added to
+     */
+    public void query(final double minX, final double minY, final double maxX, final double maxY,
+                      final List<ASprite> result) {
+        int query = queryCounter.next();
+        int cellMaxX = toCell(maxX);
+        int cellMaxY = toCell(maxY);
+
+        for (int cellX = toCell(minX); cellX <= cellMaxX; cellX++) {
+            for (int cellY = toCell(minY); cellY <= cellMaxY; cellY++) {
+                ArrayList<ASprite> bucket = bucketOf(cellX, cellY, false);
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size(); i++) {
+                    ASprite sprite = bucket.get(i);
+                    if (sprite.lastQuery != query && overlaps(sprite, minX, minY, maxX, maxY)) {
+                        sprite.lastQuery = query;
+                        result.add(sprite);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all sprites.
+     */
+    public void clear() {
+        for (ArrayList<?> bucket : buckets) {
+            if (bucket != null) {
+                bucket.clear();
+            }
+        }
+    }
+
+    /**
+     * Converts a world coordinate to a cell coordinate.
+     *
+     * @param coordinate the coordinate in pixels
+     * @return the cell coordinate
+     */
+    private int toCell(final double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * Gets the bucket a cell is hashed into.
+     *
+     * @param cellX  the x-coordinate of the cell
+     * @param cellY  the y-coordinate of the cell
+     * @param create whether to create the bucket if it does not exist yet
+     * @return the bucket, or null if it does not exist and was not created
+     */
+    @SuppressWarnings("unchecked")
+    private ArrayList<ASprite> bucketOf(final int cellX, final int cellY, final boolean create) {
+        int index = (cellX * HASH_PRIME_X ^ cellY * HASH_PRIME_Y) & BUCKET_MASK;
+        if (buckets[index] == null && create) {
+            buckets[index] = new ArrayList<ASprite>();
+        }
+        return (ArrayList<ASprite>) buckets[index];
+    }
+
+    /**
+     * Removes one occurrence of a sprite from a bucket, without keeping the bucket order.
+     *
+     * @param bucket the bucket
+     * @param sprite the sprite
+     */
+    private static void removeFromBucket(final ArrayList<ASprite> bucket, final ASprite sprite) {
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == sprite) {
+                int last = bucket.size() - 1;
+                bucket.set(i, bucket.get(last));
+                bucket.remove(last);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bounds of a sprite overlap an area.
+     *
+     * @param sprite the sprite
+     * @param minX   the minimum x-coordinate of the area
+     * @param minY   the minimum y-coordinate of the area
+     * @param maxX   the maximum x-coordinate of the area
+     * @param maxY   the maximum y-coordinate of the area
+     * @return true if the sprite overlaps the area, false otherwise
+     */
+    private static boolean overlaps(final ASprite sprite, final double minX, final double minY,
+                                    final double maxX, final double maxY) {
+        return sprite.getPositionX() < maxX && sprite.getPositionX() + sprite.getWidth() > minX
+                && sprite.getPositionY() < maxY
+                && sprite.getPositionY() + sprite.getHeight() > minY;
+    }
+
+    /**
+     * Returns a string representation of this SpatialHash.
+     *
+     * @return the representation of the SpatialHash as a string
+     */
+    @Override
+    public String toString() {
+        return "SpatialHash{" + "cellSize=" + cellSize + '}';
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+/**
+ * The SpriteImages class holds the loader used for the images of sprites and tiles.
+ * Until another loader is set, only the sizes of the images are read, so the game world
+ * can be simulated without JavaFX. The game sets a loader backed by the texture atlas.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public final class SpriteImages {
+    /**
+     * The loader that only reads the sizes of the images.
+     */
+    public static final ISpriteImageLoader HEADLESS = ImageSize::read;
+
+    /**
+     * The current loader.
+     */
+    private static volatile ISpriteImageLoader loader = HEADLESS;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private SpriteImages() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Sets the loader used for the images loaded from now on.
+     *
+     * @param newLoader the loader
+     * @throws IllegalArgumentException if the loader is null
+     */
+    public static void setLoader(final ISpriteImageLoader newLoader) {
+        if (newLoader == null) {
+            throw new IllegalArgumentException("Sprite image loader must not be null.");
+        }
+        loader = newLoader;
+    }
+
+    /**
+     * Gets the current loader.
+     *
+     * @return the loader
+     */
+    public static ISpriteImageLoader getLoader() {
+        return loader;
+    }
+
+    /**
+     * Loads an image with the current loader.
+     *
+     * @param uri the URI of the image
+     * @return the image
+     */
+    public static ISpriteImage load(final String uri) {
+        return loader.load(uri);
+    }
+
+    /**
+     * Releases an image with the current loader.
+     *
+     * @param uri the URI of the image
+     */
+    public static void release(final String uri) {
+        loader.release(uri);
+    }
+
+    /**
+     * Forgets the released images that were dropped, with the current loader.
+     */
+    public static void purge() {
+        loader.purge();
+    }
+
+    /**
+     * Returns a string representation of this SpriteImages.
+     *
+     * @return the representation of the SpriteImages as a string
+     */
+    @Override
+    public String toString() {
+        return "SpriteImages{" + "loader=" + loader + '}';
+    }
+}
@@ -1,10 +1,10 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
 
-import javafx.scene.canvas.GraphicsContext;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
+import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Manages all sprites in a location, including updating their state.
@@ -16,17 +16,52 @@ import java.util.Objects;
  * @version 2024
  */
 public class SpriteManager {
+    /**
+     * The initial capacity of the sprite arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The sprites managed by this class, kept in depth order.
+     */
+    private ASprite[] sprites;
+
+    /**
+     * The Y-coordinate of each sprite at the last sort, parallel to the sprites array.
+     */
+    private double[] depths;
 
     /**
-     * The list of sprites managed by this class.
+     * The number of sprites managed by this class.
      */
-    private final ArrayList<ASprite> sprites;
+    private int size;
 
     /**
-     * Constructs a new SpriteManager.
+     * The spatial hash used to find the sprites near an area.
+     */
+    private final SpatialHash spatialHash;
+
+    /**
+     * The largest reach of all sprites added to the manager.
+     */
+    @Getter private double maxReach;
+
+    /**
+     * Constructs a new SpriteManager, with spatial hash cells the size of a tile.
      */
     public SpriteManager() {
-        sprites = new ArrayList<>();
+        this(Config.getTileSize());
+    }
+
+    /**
+     * Constructs a new SpriteManager with the specified spatial hash cell size.
+     *
+     * @param cellSize the size of a spatial hash cell in pixels
+     */
+    public SpriteManager(final double cellSize) {
+        sprites = new ASprite[INITIAL_CAPACITY];
+        depths = new double[INITIAL_CAPACITY];
+        spatialHash = new SpatialHash(cellSize);
     }
 
     /**
@@ -38,22 +73,88 @@ public class SpriteManager {
      */
     public void update(final double delta) {
         // Sort sprites to manage those with higher Y-coordinates on top
-        sprites.sort(Comparator.comparing(ASprite::getPositionY));
+        sortByDepth();
 
         // Updated each sprite with the given time delta
-        for (ASprite sprite : sprites) {
-            sprite.update(delta);
+        for (int i = 0; i < size; i++) {
+            sprites[i].update(delta);
+        }
+
+        // Move the sprites that changed cells in the spatial hash
+        for (int i = 0; i < size; i++) {
+            spatialHash.update(sprites[i]);
+        }
+    }
+
+    /**
+     * Remembers the position of every sprite, before a simulation step moves them.
+     */
+    public void savePositions() {
+        for (int i = 0; i < size; i++) {
+            sprites[i].savePosition();
         }
     }
 
     /**
-     * Render.
+     * Places every sprite for drawing between its previous and its current position.
      *
-     * @param gc The graphics context.
+     * @param alpha how far the time of the frame is between the last two simulation steps
      */
-    public void render(final GraphicsContext gc) {
-        for (ASprite sprite : sprites) {
-            sprite.render(gc);
+    public void interpolate(final double alpha) {
+        for (int i = 0; i < size; i++) {
+            sprites[i].interpolate(alpha);
+        }
+    }
+
+    /**
+     * Finds the sprites whose bounds overlap the given area.
+     * Sprite positions are taken as of the last update, or when the sprite was added.
+     * Each sprite is added to the result once, and the result is not cleared first.
+     *
+     * @param minX   the minimum x-coordinate of the area
+     * @param minY   the minimum y-coordinate of the area
+     * @param maxX   the maximum x-coordinate of the area
+     * @param maxY   the maximum y-coordinate of the area
+     * @param result the list the found sprites are added to
+     */
+    public void query(final double minX, final double minY, final double maxX, final double maxY,
+                      final List<ASprite> result) {
+        spatialHash.query(minX, minY, maxX, maxY, result);
+    }
+
+    /**
+     * Restores the depth order after sprites moved.
+     * Sprites only move a few pixels per frame, so the order is almost sorted already
+     * and an insertion sort on the primitive depths runs in close to linear time.
+     * The sort is stable and does not allocate.
+     */
+    private void sortByDepth() {
+        for (int i = 0; i < size; i++) {
+            depths[i] = sprites[i].getPositionY();
+        }
+
+        for (int i = 1; i < size; i++) {
+            ASprite sprite = sprites[i];
+            double depth = depths[i];
+            int j = i - 1;
+            while (j >= 0 && depths[j] > depth) {
+                sprites[j + 1] = sprites[j];
+                depths[j + 1] = depths[j];
+                j--;
+            }
+            sprites[j + 1] = sprite;
+            depths[j + 1] = depth;
+        }
+    }
+
+    /**
+     * Marks the areas of all sprites that changed since the last frame as dirty.
+     *
+     * @param dirtyRegions the dirty regions of the current frame
+     */
+    public void trackDirtyRegions(final DirtyRegions dirtyRegions) {
+        for (int i = 0; i < size; i++) {
+            dirtyRegions.track(sprites[i]);
         }
     }
 
@@ -63,7 +164,15 @@ public class SpriteManager {
      * @param sprite the sprite to be added
      */
     public void addSprite(final ASprite sprite) {
-        sprites.add(sprite);
+        if (size == sprites.length) {
+            sprites = Arrays.copyOf(sprites, size * 2);
+            depths = Arrays.copyOf(depths, size * 2);
+        }
+        sprites[size] = sprite;
+        depths[size] = sprite.getPositionY();
+        size++;
+        spatialHash.insert(sprite);
+        maxReach = Math.max(maxReach, sprite.getReach());
     }
 
     /**
@@ -72,7 +181,39 @@ public class SpriteManager {
      * @param sprite the sprite to be removed
      */
     public void removeSprite(final ASprite sprite) {
-        sprites.remove(sprite);
+        for (int i = 0; i < size; i++) {
+            if (sprites[i] == sprite) {
+                System.arraycopy(sprites, i + 1, sprites, i, size - i - 1);
+                System.arraycopy(depths, i + 1, depths, i, size - i - 1);
+                size--;
+                sprites[size] = null;
+                spatialHash.remove(sprite);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of sprites in the manager.
+     *
+     * @return the number of sprites
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets a sprite by its position in the depth order. The first sprite is drawn first.
+     *
+     * @param index the position of the sprite
+     * @return the sprite
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+     */
+    public ASprite getSprite(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Sprite index out of bounds: " + index);
+        }
+        return sprites[index];
     }
 
     /**
@@ -82,7 +223,7 @@ public class SpriteManager {
      */
     @Override
     public String toString() {
-        return "SpriteManager{" + "sprites=" + sprites + '}';
+        return "SpriteManager{" + "sprites=" + Arrays.toString(Arrays.copyOf(sprites, size)) + '}';
     }
 
     /**
@@ -101,7 +242,7 @@ public class SpriteManager {
             return false;
         }
         SpriteManager that = (SpriteManager) object;
-        return Objects.equals(sprites, that.sprites);
+        return Arrays.equals(sprites, 0, size, that.sprites, 0, that.size);
     }
 
     /**
@@ -111,6 +252,6 @@ public class SpriteManager {
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(sprites);
+        return Arrays.hashCode(Arrays.copyOf(sprites, size));
     }
 }
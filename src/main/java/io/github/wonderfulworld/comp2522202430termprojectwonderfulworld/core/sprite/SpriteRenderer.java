@@ -0,0 +1,79 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * The SpriteRenderer class draws the sprites of a sprite manager on a canvas.
+ * Drawing is kept out of the sprites, so the game world does not depend on JavaFX;
+ * the sprite images are atlas regions, as loaded by AtlasImageLoader.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public final class SpriteRenderer {
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private SpriteRenderer() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Draws a sprite at its interpolated position, on whole pixels.
+     *
+     * @param gc     The graphics context of the canvas.
+     * @param sprite the sprite
+     */
+    public static void render(final GraphicsContext gc, final ASprite sprite) {
+        ((AtlasRegion) sprite.getRegion()).draw(gc, Math.round(sprite.getRenderX()),
+                Math.round(sprite.getRenderY()));
+    }
+
+    /**
+     * Draws all sprites of a sprite manager in depth order.
+     *
+     * @param gc            The graphics context.
+     * @param spriteManager the sprite manager
+     */
+    public static void render(final GraphicsContext gc, final SpriteManager spriteManager) {
+        for (int i = 0; i < spriteManager.getSize(); i++) {
+            render(gc, spriteManager.getSprite(i));
+        }
+    }
+
+    /**
+     * Draws only the sprites inside the given area, in the same order as the whole manager.
+     *
+     * @param gc            The graphics context.
+     * @param spriteManager the sprite manager
+     * @param minX          the minimum x-coordinate of the area
+     * @param minY          the minimum y-coordinate of the area
+     * @param maxX          the maximum x-coordinate of the area
+     * @param maxY          the maximum y-coordinate of the area
+     */
+    public static void render(final GraphicsContext gc, final SpriteManager spriteManager,
+                              final double minX, final double minY,
+                              final double maxX, final double maxY) {
+        for (int i = 0; i < spriteManager.getSize(); i++) {
+            ASprite sprite = spriteManager.getSprite(i);
+            if (sprite.getRenderX() < maxX && sprite.getRenderX() + sprite.getWidth() > minX
+                    && sprite.getRenderY() < maxY
+                    && sprite.getRenderY() + sprite.getHeight() > minY) {
+                render(gc, sprite);
+            }
+        }
+    }
+
+    /**
+     * Returns a string representation of this SpriteRenderer.
+     *
+     * @return the representation of the SpriteRenderer as a string
+     */
+    @Override
+    public String toString() {
+        return "SpriteRenderer{}";
+    }
+}
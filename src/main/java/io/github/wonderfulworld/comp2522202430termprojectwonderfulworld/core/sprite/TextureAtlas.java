@@ -0,0 +1,249 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The TextureAtlas class packs the images of tiles, items, monsters, portals and the player
+ * into a few large textures at startup.
+ * Everything is then drawn from the same pages through source rectangles, so each image file
+ * is opened once and drawing does not switch between many small textures.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public final class TextureAtlas {
+    /**
+     * Constants.
+     */
+    private static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 1;
+    private static final String[] SPRITE_DIRECTORIES = {
+        "config/tile", "config/item", "config/monster", "config/portal"
+    };
+    private static final String SPRITE_IMAGE = "image.png";
+    private static final String PLAYER_DIRECTORY = "config/player";
+
+    /**
+     * The packed regions, identified by the URI of their source image.
+     */
+    private static final HashMap<String, AtlasRegion> REGIONS = new HashMap<>();
+
+    /**
+     * The atlas pages.
+     */
+    private static final ArrayList<WritableImage> PAGES = new ArrayList<>();
+
+    /**
+     * An image waiting to be copied into a page.
+     */
+    private static final class Placement {
+        private final String uri;
+        private final Image image;
+        private int page;
+        private int x;
+        private int y;
+
+        /**
+         * Constructs a new Placement.
+         *
+         * @param uri   the URI of the image
+         * @param image the image
+         */
+        private Placement(final String uri, final Image image) {
+            this.uri = uri;
+            this.image = image;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private TextureAtlas() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Builds the atlas from every sprite image found in the config directory.
+     */
+    public static void buildFromConfig() {
+        ArrayList<String> uris = new ArrayList<>();
+        for (String directory : SPRITE_DIRECTORIES) {
+            for (String entry : listDirectory(directory)) {
+                String image = directory + "/" + entry + "/" + SPRITE_IMAGE;
+                if (Assets.exists(image)) {
+                    uris.add(Path.of(image).toUri().toString());
+                }
+            }
+        }
+        for (String image : listDirectory(PLAYER_DIRECTORY)) {
+            uris.add(Path.of(PLAYER_DIRECTORY, image).toUri().toString());
+        }
+
+        build(uris);
+    }
+
+    /**
+     * Lists the names of the entries of a directory in name order.
+     *
+     * @param directory the directory
+     * @return the names, or an empty list if the directory cannot be read
+     */
+    private static List<String> listDirectory(final String directory) {
+        try {
+            return Assets.list(directory);
+        } catch (IOException e) {
+            System.err.println("Cannot read directory " + directory + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Builds the atlas from the specified images, replacing the previous atlas.
+     * Images larger than a page are left out and loaded on their own.
+     *
+     * @param uris the URIs of the images to pack
+     */
+    public static void build(final List<String> uris) {
+        REGIONS.clear();
+        PAGES.clear();
+
+        ArrayList<Placement> placements = new ArrayList<>();
+        for (String uri : uris) {
+            Image image = ImageCache.acquire(uri);
+            if (!image.isError() && image.getWidth() <= PAGE_SIZE
+                    && image.getHeight() <= PAGE_SIZE) {
+                placements.add(new Placement(uri, image));
+            }
+        }
+
+        // Tallest images first keeps the shelves tight
+        placements.sort(Comparator.comparingDouble(
+                (Placement placement) -> placement.image.getHeight()).reversed());
+        List<Integer> pageHeights = pack(placements);
+
+        for (int height : pageHeights) {
+            PAGES.add(new WritableImage(PAGE_SIZE, height));
+        }
+        for (Placement placement : placements) {
+            copy(placement);
+        }
+
+        // The source images are only needed again if the atlas is rebuilt
+        for (String uri : uris) {
+            ImageCache.release(uri);
+        }
+
+        System.out.println("Texture atlas built: " + REGIONS.size() + " images in "
+                + PAGES.size() + " page(s).");
+    }
+
+    /**
+     * Assigns a page and a position to every placement, filling pages shelf by shelf.
+     *
+     * @param placements the images to place, tallest first
+     * @return the used height of every page
+     */
+    private static List<Integer> pack(final List<Placement> placements) {
+        ArrayList<Integer> pageHeights = new ArrayList<>();
+        int page = 0;
+        int shelfX = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+
+        for (Placement placement : placements) {
+            int width = (int) Math.ceil(placement.image.getWidth());
+            int height = (int) Math.ceil(placement.image.getHeight());
+            if (shelfX + width > PAGE_SIZE) {
+                shelfY += shelfHeight + PADDING;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+            if (shelfY + height > PAGE_SIZE) {
+                pageHeights.add(shelfY);
+                page++;
+                shelfY = 0;
+            }
+            placement.page = page;
+            placement.x = shelfX;
+            placement.y = shelfY;
+            shelfX += width + PADDING;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+
+        if (!placements.isEmpty()) {
+            pageHeights.add(shelfY + shelfHeight);
+        }
+        return pageHeights;
+    }
+
+    /**
+     * Copies the pixels of a placed image into its page and registers its region.
+     *
+     * @param placement the placed image
+     */
+    private static void copy(final Placement placement) {
+        WritableImage page = PAGES.get(placement.page);
+        int width = (int) placement.image.getWidth();
+        int height = (int) placement.image.getHeight();
+        page.getPixelWriter().setPixels(placement.x, placement.y, width, height,
+                placement.image.getPixelReader(), 0, 0);
+        REGIONS.put(placement.uri,
+                new AtlasRegion(page, placement.x, placement.y, width, height));
+    }
+
+    /**
+     * Gets the region of an image packed into the atlas.
+     *
+     * @param uri the URI of the image
+     * @return the region of the image, or null if the image is not in the atlas
+     */
+    public static AtlasRegion findRegion(final String uri) {
+        return REGIONS.get(uri);
+    }
+
+    /**
+     * Gets the region of an image. Images that are not in the atlas are taken
+     * from the image cache, and the caller keeps the reference for as long as it lives.
+     *
+     * @param uri the URI of the image
+     * @return the region of the image
+     */
+    public static AtlasRegion getRegion(final String uri) {
+        AtlasRegion region = REGIONS.get(uri);
+        if (region != null) {
+            return region;
+        }
+        return new AtlasRegion(ImageCache.acquire(uri));
+    }
+
+    /**
+     * Gets the number of atlas pages.
+     *
+     * @return the number of pages
+     */
+    public static int getPageCount() {
+        return PAGES.size();
+    }
+
+    /**
+     * Returns a string representation of this TextureAtlas.
+     *
+     * @return the representation of the TextureAtlas as a string
+     */
+    @Override
+    public String toString() {
+        return "TextureAtlas{}";
+    }
+}
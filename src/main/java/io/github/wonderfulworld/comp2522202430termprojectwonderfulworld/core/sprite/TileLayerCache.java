@@ -0,0 +1,311 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.Tile;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The TileLayerCache class keeps pre-rendered images of a tile map.
+ * The map is split into square chunks of tiles. Each chunk is rendered into its own
+ * offscreen image the first time it becomes visible, and the least recently used chunks
+ * are evicted once the cached images exceed the memory budget.
+ * All chunks are dropped when the tile map or its version changes.
+ * Chunks of a streamed map that are not completely loaded yet are drawn without being cached.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public class TileLayerCache {
+    /**
+     * Constants.
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final int CHUNK_KEY_SHIFT = 32;
+    private static final long CHUNK_KEY_MASK = 0xFFFFFFFFL;
+    private static final int BYTES_IN_MEGABYTE = 1024 * 1024;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Chunk properties.
+     */
+    private final int chunkSize;
+    private final long budgetBytes;
+
+    /**
+     * The cached chunk images in access order, the eldest entry is the least recently used.
+     */
+    private final LinkedHashMap<Long, WritableImage> chunks = new LinkedHashMap<>(
+            INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+    /**
+     * The number of bytes used by the cached chunk images.
+     * -- GETTER --
+     * Gets the number of bytes used by the cached chunk images.
+     */
+    @Getter private long usedBytes;
+
+    /**
+     * Cache statistics.
+     */
+    @Getter private long hits;
+    @Getter private long misses;
+    @Getter private long evictions;
+
+    /**
+     * The tile map the cached images were rendered from.
+     */
+    private TileMap tileMap;
+
+    /**
+     * The version of the tile map the cached images were rendered from.
+     */
+    private int tileMapVersion;
+
+    /**
+     * Constructs a new TileLayerCache.
+     *
+     * @param chunkSize the width and height of a chunk in tiles
+     * @param budgetMb  the maximum memory used by the cached images in megabytes
+     */
+    public TileLayerCache(final int chunkSize, final int budgetMb) {
+        this.chunkSize = chunkSize;
+        this.budgetBytes = (long) budgetMb * BYTES_IN_MEGABYTE;
+    }
+
+    /**
+     * Drops the cached chunks if they were rendered from another tile map or map version.
+     *
+     * @param map the tile map to cache
+     */
+    public void prepare(final TileMap map) {
+        if (tileMap == map && tileMapVersion == map.getVersion()) {
+            return;
+        }
+        invalidate();
+        tileMap = map;
+        tileMapVersion = map.getVersion();
+    }
+
+    /**
+     * Draws the chunks intersecting the visible area, rendering the missing ones.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param gc         the graphics context used for rendering
+     * @param map        the tile map to render
+     * @param viewX      the x-coordinate of the visible area in pixels
+     * @param viewY      the y-coordinate of the visible area in pixels
+     * @param viewWidth  the width of the visible area in pixels
+     * @param viewHeight the height of the visible area in pixels
+     */
+    public void render(final GraphicsContext gc, final TileMap map, final double viewX,
+                       final double viewY, final double viewWidth, final double viewHeight) {
+        prepare(map);
+
+        int chunkPixels = TileMap.convertTileToPixel(chunkSize);
+        int chunksX = Math.ceilDiv(map.getWidth(), chunkSize);
+        int chunksY = Math.ceilDiv(map.getHeight(), chunkSize);
+        int minX = Math.max(0, (int) Math.floor(viewX / chunkPixels));
+        int minY = Math.max(0, (int) Math.floor(viewY / chunkPixels));
+        int maxX = Math.min(chunksX - 1, (int) Math.floor((viewX + viewWidth) / chunkPixels));
+        int maxY = Math.min(chunksY - 1, (int) Math.floor((viewY + viewHeight) / chunkPixels));
+
+        for (int chunkY = minY; chunkY <= maxY; chunkY++) {
+            for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+                WritableImage chunk = getChunk(map, chunkX, chunkY);
+                gc.drawImage(chunk, (double) chunkX * chunkPixels, (double) chunkY * chunkPixels);
+            }
+        }
+    }
+
+    /**
+     * Gets the image of a chunk from the cache, or renders it on a miss.
+     *
+     * @param map    the tile map to render
+     * @param chunkX the x-coordinate of the chunk
+     * @param chunkY the y-coordinate of the chunk
+     * @return the image of the chunk
+     */
+    private WritableImage getChunk(final TileMap map, final int chunkX, final int chunkY) {
+        long key = ((long) chunkX << CHUNK_KEY_SHIFT) | (chunkY & CHUNK_KEY_MASK);
+        WritableImage chunk = chunks.get(key);
+        if (chunk != null) {
+            hits++;
+            return chunk;
+        }
+
+        misses++;
+        chunk = renderChunk(map, chunkX, chunkY);
+        if (!map.isAreaLoaded(chunkX * chunkSize, chunkY * chunkSize,
+                (chunkX + 1) * chunkSize - 1, (chunkY + 1) * chunkSize - 1)) {
+            return chunk;
+        }
+        long chunkBytes = getImageBytes(chunk);
+        evict(chunkBytes);
+        chunks.put(key, chunk);
+        usedBytes += chunkBytes;
+        return chunk;
+    }
+
+    /**
+     * Renders the tiles of a chunk into a new offscreen image.
+     *
+     * @param map    the tile map to render
+     * @param chunkX the x-coordinate of the chunk
+     * @param chunkY the y-coordinate of the chunk
+     * @return the image of the chunk
+     */
+    private WritableImage renderChunk(final TileMap map, final int chunkX, final int chunkY) {
+        int firstX = chunkX * chunkSize;
+        int firstY = chunkY * chunkSize;
+        int tilesX = Math.min(chunkSize, map.getWidth() - firstX);
+        int tilesY = Math.min(chunkSize, map.getHeight() - firstY);
+        double originX = TileMap.convertTileToPixel(firstX);
+        double originY = TileMap.convertTileToPixel(firstY);
+        double width = TileMap.convertTileToPixel(tilesX);
+        double height = TileMap.convertTileToPixel(tilesY);
+
+        Canvas canvas = new Canvas(width, height);
+        GraphicsContext chunkGc = canvas.getGraphicsContext2D();
+        chunkGc.translate(-originX, -originY);
+        renderTiles(chunkGc, map, firstX, firstY, firstX + tilesX - 1, firstY + tilesY - 1);
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(parameters, null);
+    }
+
+    /**
+     * Draws the tiles of an area, row by row in the order they are stored.
+     *
+     * @param gc   the graphics context used for rendering the tiles
+     * @param map  the tile map to render
+     * @param minX the minimum x-coordinate of the area in tiles
+     * @param minY the minimum y-coordinate of the area in tiles
+     * @param maxX the maximum x-coordinate of the area in tiles, inclusive
+     * @param maxY the maximum y-coordinate of the area in tiles, inclusive
+     */
+    private static void renderTiles(final GraphicsContext gc, final TileMap map, final int minX,
+                                    final int minY, final int maxX, final int maxY) {
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                Tile tile = map.getTile(x, y);
+                if (tile != null) {
+                    ((AtlasRegion) tile.getRegion()).draw(gc, TileMap.convertTileToPixel(x),
+                            TileMap.convertTileToPixel(y));
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used chunks until a new chunk fits into the budget.
+     *
+     * @param requiredBytes the size of the new chunk in bytes
+     */
+    private void evict(final long requiredBytes) {
+        Iterator<Map.Entry<Long, WritableImage>> iterator = chunks.entrySet().iterator();
+        while (usedBytes + requiredBytes > budgetBytes && iterator.hasNext()) {
+            usedBytes -= getImageBytes(iterator.next().getValue());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Gets the memory used by an image in bytes.
+     *
+     * @param image the image
+     * @return the number of bytes
+     */
+    private static long getImageBytes(final WritableImage image) {
+        return (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Gets the number of chunks currently cached.
+     *
+     * @return the number of cached chunks
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Drops all cached chunks, so they are rendered again when they become visible.
+     */
+    public void invalidate() {
+        chunks.clear();
+        usedBytes = 0;
+        tileMap = null;
+    }
+
+    /**
+     * Compares this TileLayerCache with another object for equality.
+     * Two TileLayerCache objects are considered equal if they have the same settings
+     * and cache the same tile map version.
+     *
+     * @param o the object to compare with this TileLayerCache
+     * @return true if the given object is equal to this TileLayerCache, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TileLayerCache that = (TileLayerCache) o;
+        return chunkSize == that.chunkSize && budgetBytes == that.budgetBytes
+                && tileMapVersion == that.tileMapVersion && Objects.equals(tileMap, that.tileMap);
+    }
+
+    /**
+     * Returns the hash code of this TileLayerCache.
+     *
+     * @return the hash code value of the TileLayerCache as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(chunkSize, budgetBytes, tileMap, tileMapVersion);
+    }
+
+    /**
+     * Returns a string representation of this TileLayerCache.
+     *
+     * @return the representation of the TileLayerCache as a string
+     */
+    @Override
+    public String toString() {
+        return "TileLayerCache{"
+                + "chunkSize=" + chunkSize
+                + ", budgetBytes=" + budgetBytes
+                + ", usedBytes=" + usedBytes
+                + ", chunks=" + chunks.size()
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", evictions=" + evictions
+                + '}';
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * The HeapTileLayer class keeps the layers of a tile map in Java arrays.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public class HeapTileLayer implements ITileLayer {
+    /**
+     * The palette index of every cell.
+     */
+    private final short[] tiles;
+
+    /**
+     * The passability bitset.
+     */
+    private final long[] passable;
+
+    /**
+     * Constructs a new empty HeapTileLayer.
+     *
+     * @param cellCount the number of cells
+     */
+    public HeapTileLayer(final int cellCount) {
+        this(new short[cellCount]);
+    }
+
+    /**
+     * Constructs a new HeapTileLayer around existing palette indices.
+     *
+     * @param tiles the palette index of every cell, used without copying
+     */
+    public HeapTileLayer(final short[] tiles) {
+        this.tiles = tiles;
+        this.passable = new long[ITileLayer.getWordCount(tiles.length)];
+    }
+
+    /**
+     * Gets the number of cells in the layer.
+     *
+     * @return the number of cells
+     */
+    @Override
+    public int getCellCount() {
+        return tiles.length;
+    }
+
+    /**
+     * Gets the palette index of a cell.
+     *
+     * @param cell the row-major index of the cell
+     * @return the palette index
+     */
+    @Override
+    public short getTile(final int cell) {
+        return tiles[cell];
+    }
+
+    /**
+     * Sets the palette index of a cell.
+     *
+     * @param cell  the row-major index of the cell
+     * @param index the palette index
+     */
+    @Override
+    public void setTile(final int cell, final short index) {
+        tiles[cell] = index;
+    }
+
+    /**
+     * Sets the palette index of a run of cells.
+     *
+     * @param fromCell the row-major index of the first cell, inclusive
+     * @param toCell   the row-major index of the last cell, exclusive
+     * @param index    the palette index
+     */
+    @Override
+    public void fill(final int fromCell, final int toCell, final short index) {
+        Arrays.fill(tiles, fromCell, toCell, index);
+    }
+
+    /**
+     * Copies the palette index of every cell from a memory segment in one bulk copy.
+     *
+     * @param source the segment to copy from
+     * @param layout the layout of the indices in the segment, including their byte order
+     * @param offset the position of the first index in the segment, in bytes
+     */
+    @Override
+    public void copyFrom(final MemorySegment source, final ValueLayout.OfShort layout,
+                         final long offset) {
+        MemorySegment.copy(source, layout, offset, tiles, 0, tiles.length);
+    }
+
+    /**
+     * Gets a word of the passability bitset.
+     *
+     * @param word the index of the word
+     * @return the bits of the word
+     */
+    @Override
+    public long getPassableWord(final int word) {
+        return passable[word];
+    }
+
+    /**
+     * Sets a word of the passability bitset.
+     *
+     * @param word the index of the word
+     * @param bits the bits of the word
+     */
+    @Override
+    public void setPassableWord(final int word, final long bits) {
+        passable[word] = bits;
+    }
+
+    /**
+     * Returns a string representation of this HeapTileLayer.
+     *
+     * @return the representation of the HeapTileLayer as a string
+     */
+    @Override
+    public String toString() {
+        return "HeapTileLayer{" + "cells=" + tiles.length + '}';
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * The ITileLayer interface represents the storage behind a tile map: the palette index
+ * of every cell, and the passability bitset of the cells packed into longs.
+ * Cells are numbered in row-major order.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public interface ITileLayer {
+    /**
+     * Where the layers of a tile map are kept.
+     */
+    enum Mode {
+        /**
+         * Java arrays on the heap.
+         */
+        HEAP,
+        /**
+         * Native memory outside the heap.
+         */
+        OFF_HEAP,
+        /**
+         * A memory-mapped temporary file.
+         */
+        MAPPED
+    }
+
+    /**
+     * Creates an empty layer for the specified number of cells.
+     *
+     * @param mode      where the layer is kept
+     * @param cellCount the number of cells
+     * @return the layer
+     */
+    static ITileLayer create(final Mode mode, final int cellCount) {
+        return switch (mode) {
+            case HEAP -> new HeapTileLayer(cellCount);
+            case OFF_HEAP -> SegmentTileLayer.allocate(cellCount);
+            case MAPPED -> SegmentTileLayer.mapTemporaryFile(cellCount);
+        };
+    }
+
+    /**
+     * Gets the number of cells in the layer.
+     *
+     * @return the number of cells
+     */
+    int getCellCount();
+
+    /**
+     * Gets the palette index of a cell.
+     *
+     * @param cell the row-major index of the cell
+     * @return the palette index
+     */
+    short getTile(int cell);
+
+    /**
+     * Sets the palette index of a cell.
+     *
+     * @param cell  the row-major index of the cell
+     * @param index the palette index
+     */
+    void setTile(int cell, short index);
+
+    /**
+     * Sets the palette index of a run of cells.
+     *
+     * @param fromCell the row-major index of the first cell, inclusive
+     * @param toCell   the row-major index of the last cell, exclusive
+     * @param index    the palette index
+     */
+    default void fill(final int fromCell, final int toCell, final short index) {
+        for (int i = fromCell; i < toCell; i++) {
+            setTile(i, index);
+        }
+    }
+
+    /**
+     * Copies the palette index of every cell from a memory segment, such as a mapped map file.
+     *
+     * @param source the segment to copy from
+     * @param layout the layout of the indices in the segment, including their byte order
+     * @param offset the position of the first index in the segment, in bytes
+     */
+    default void copyFrom(final MemorySegment source, final ValueLayout.OfShort layout,
+                          final long offset) {
+        for (int i = 0; i < getCellCount(); i++) {
+            setTile(i, source.get(layout, offset + (long) i * Short.BYTES));
+        }
+    }
+
+    /**
+     * Gets a word of the passability bitset, holding the bits of 64 cells.
+     *
+     * @param word the index of the word
+     * @return the bits of the word
+     */
+    long getPassableWord(int word);
+
+    /**
+     * Sets a word of the passability bitset.
+     *
+     * @param word the index of the word
+     * @param bits the bits of the word
+     */
+    void setPassableWord(int word, long bits);
+
+    /**
+     * Gets the number of words needed for the passability bits of a number of cells.
+     *
+     * @param cellCount the number of cells
+     * @return the number of words
+     */
+    static int getWordCount(final int cellCount) {
+        return Math.ceilDiv(cellCount, Long.SIZE);
+    }
+}
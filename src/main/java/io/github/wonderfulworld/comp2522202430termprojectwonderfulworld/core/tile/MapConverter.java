@@ -0,0 +1,170 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The MapConverter class is a command-line tool converting text maps to the binary map format.
+ * Each map.txt is written as a map.bin next to it, which locations load instead of the text map.
+ * Without arguments, the maps of all locations in config/location are converted.
+ * Cells are run-length encoded unless the --raw option is given, and split into chunks
+ * streamed while playing if the --chunked option is given.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public final class MapConverter {
+    /**
+     * Constants.
+     */
+    private static final String LOCATION_DIRECTORY = "config/location";
+    private static final String TEXT_MAP = "map.txt";
+    private static final String TEXT_MAP_EXTENSION = ".txt";
+    private static final String RAW_OPTION = "--raw";
+    private static final String CHUNKED_OPTION = "--chunked";
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private MapConverter() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Converts the text maps given as arguments, or the maps of all locations.
+     *
+     * @param args the paths of the text maps to convert, and optionally --raw and --chunked
+     */
+    public static void main(final String[] args) {
+        boolean compressed = true;
+        int chunkSize = 0;
+        List<Path> maps = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals(RAW_OPTION)) {
+                compressed = false;
+            } else if (arg.equals(CHUNKED_OPTION)) {
+                chunkSize = MapFile.DEFAULT_CHUNK_SIZE;
+            } else {
+                maps.add(Path.of(arg));
+            }
+        }
+        if (maps.isEmpty()) {
+            maps = findLocationMaps();
+        }
+
+        for (Path map : maps) {
+            Path binaryMap = convert(map, compressed, chunkSize);
+            System.out.println("Converted " + map + " to " + binaryMap + " ("
+                    + size(map) + " to " + size(binaryMap) + " bytes).");
+        }
+    }
+
+    /**
+     * Converts a text map to the binary map format, with run-length encoded cells.
+     *
+     * @param textMap the path of the text map
+     * @return the path of the written binary map
+     */
+    public static Path convert(final Path textMap) {
+        return convert(textMap, true);
+    }
+
+    /**
+     * Converts a text map to the binary map format.
+     *
+     * @param textMap    the path of the text map
+     * @param compressed whether to run-length encode the cells
+     * @return the path of the written binary map
+     */
+    public static Path convert(final Path textMap, final boolean compressed) {
+        return convert(textMap, compressed, 0);
+    }
+
+    /**
+     * Converts a text map to the binary map format, optionally split into chunks.
+     *
+     * @param textMap    the path of the text map
+     * @param compressed whether to run-length encode the cells
+     * @param chunkSize  the width and height of a chunk in tiles, or 0 to write no chunks
+     * @return the path of the written binary map
+     */
+    public static Path convert(final Path textMap, final boolean compressed,
+                               final int chunkSize) {
+        String name = textMap.getFileName().toString();
+        if (name.endsWith(TEXT_MAP_EXTENSION)) {
+            name = name.substring(0, name.length() - TEXT_MAP_EXTENSION.length());
+        }
+        Path binaryMap = textMap.resolveSibling(name + TileMapManager.BINARY_MAP_EXTENSION);
+
+        MapFile.readText(textMap, ITileLayer.Mode.HEAP).writeBinary(binaryMap, compressed,
+                chunkSize);
+        return binaryMap;
+    }
+
+    /**
+     * Checks whether a binary map is older than the text map it was converted from,
+     * so the text map was edited since and the binary map must not be used.
+     *
+     * @param binaryMap the path of the binary map
+     * @param textMap   the path of the text map
+     * @return true if the text map was changed after the binary map was written,
+     *         false otherwise or if either file cannot be read
+     */
+    public static boolean isOutdated(final Path binaryMap, final Path textMap) {
+        try {
+            return Files.getLastModifiedTime(binaryMap)
+                    .compareTo(Files.getLastModifiedTime(textMap)) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the size of a file.
+     *
+     * @param file the file
+     * @return the size in bytes
+     * @throws RuntimeException if the size cannot be read
+     */
+    private static long size(final Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read the size of " + file, e);
+        }
+    }
+
+    /**
+     * Finds the text maps of all locations.
+     *
+     * @return the paths of the text maps
+     * @throws RuntimeException if the location directory cannot be read
+     */
+    private static List<Path> findLocationMaps() {
+        try (Stream<Path> locations = Files.list(Path.of(LOCATION_DIRECTORY))) {
+            return locations.map(location -> location.resolve(TEXT_MAP))
+                    .filter(Files::exists)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read " + LOCATION_DIRECTORY, e);
+        }
+    }
+
+    /**
+     * Returns a string representation of this MapConverter.
+     *
+     * @return the representation of the MapConverter as a string
+     */
+    @Override
+    public String toString() {
+        return "MapConverter{}";
+    }
+}
@@ -0,0 +1,579 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
+
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The MapFile class represents the contents of a map file: the ids of the tiles used by the map,
+ * and the palette index of every cell, before the tiles themselves are loaded.
+ * <p>
+ * Maps are written as text, one character per cell, or in a binary format read through a
+ * memory-mapped file. All numbers of the binary format are little-endian:
+ * <pre>
+ * int    magic "WWMP"
+ * int    format version
+ * int    width in tiles
+ * int    height in tiles
+ * int    palette size
+ * int    flags, bit 0 set if the cells are run-length encoded, bit 1 if they are chunked
+ * palette entries, each a short byte length and the UTF-8 bytes of the tile id
+ * padding to a multiple of 8 bytes
+ * short  palette index of every cell in row-major order, 0 for an empty cell
+ * </pre>
+ * Run-length encoded cells are stored instead as runs of one palette index, each an unsigned
+ * short length and the short index. Runs never continue past the end of a row, so a map made
+ * of long rows of the same tile shrinks to a few runs per row.
+ * <p>
+ * Chunked maps split the cells into square chunks, stored one after the other in row-major
+ * chunk order, each with its cells or runs in row-major order within the chunk. The cells are
+ * preceded by an int chunk size, an int reserved for padding, and a long table holding the
+ * position of every chunk followed by the end of the last chunk, so any chunk can be read
+ * without reading the others.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public class MapFile {
+    /**
+     * The chunk size used when none is given, in tiles.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    /**
+     * The largest chunk size, so a row of a chunk fits into a long of passability bits.
+     */
+    public static final int MAX_CHUNK_SIZE = Long.SIZE;
+
+    /**
+     * Binary format constants.
+     */
+    private static final int MAGIC = 0x504D5757;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int ALIGNMENT = 8;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long VERSION_OFFSET = 4;
+    private static final long WIDTH_OFFSET = 8;
+    private static final long HEIGHT_OFFSET = 12;
+    private static final long PALETTE_SIZE_OFFSET = 16;
+    private static final long FLAGS_OFFSET = 20;
+    private static final int FLAG_RUN_LENGTH = 1;
+    private static final int FLAG_CHUNKED = 2;
+    private static final int CHUNK_HEADER_SIZE = 8;
+    private static final int MAX_RUN_LENGTH = 0xFFFF;
+    private static final int RUN_SIZE = 2 * Short.BYTES;
+    private static final int INITIAL_RUN_CAPACITY = 64;
+    private static final ValueLayout.OfInt INT =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT =
+            ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The size of the map in tiles.
+     */
+    @Getter private final int width;
+    @Getter private final int height;
+
+    /**
+     * The ids of the tiles used by the map. Palette index 1 is the first id.
+     */
+    @Getter private final List<String> tileIds;
+
+    /**
+     * The palette index of every cell.
+     */
+    @Getter private final ITileLayer layer;
+
+    /**
+     * Constructs a new MapFile.
+     *
+     * @param width   the number of tiles in the width of the map
+     * @param height  the number of tiles in the height of the map
+     * @param tileIds the ids of the tiles used by the map
+     * @param layer   the palette index of every cell
+     */
+    public MapFile(final int width, final int height, final List<String> tileIds,
+                   final ITileLayer layer) {
+        this.width = width;
+        this.height = height;
+        this.tileIds = tileIds;
+        this.layer = layer;
+    }
+
+    /**
+     * Reads a text map, where every character is the id of the tile of a cell.
+     * Rows shorter than the longest row are padded with empty cells.
+     *
+     * @param file the map file
+     * @param mode where the layer of the map is kept
+     * @return the contents of the map
+     * @throws RuntimeException if the map file cannot be read
+     */
+    public static MapFile readText(final Path file, final ITileLayer.Mode mode) {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return readText(reader, mode);
+        } catch (IOException e) {
+            System.err.println("Error while reading map file: " + e.getMessage());
+            throw new RuntimeException("Error while reading map file: " + file, e);
+        }
+    }
+
+    /**
+     * Reads a text map, where every character is the id of the tile of a cell.
+     * Rows shorter than the longest row are padded with empty cells.
+     *
+     * @param reader the reader of the map, left open
+     * @param mode   where the layer of the map is kept
+     * @return the contents of the map
+     * @throws IOException if the map cannot be read
+     */
+    public static MapFile readText(final BufferedReader reader, final ITileLayer.Mode mode)
+            throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        int width = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            width = Math.max(width, line.length());
+            lines.add(line);
+        }
+
+        ArrayList<String> tileIds = new ArrayList<>();
+        HashMap<Character, Short> paletteIndices = new HashMap<>();
+        ITileLayer layer = ITileLayer.create(mode, width * lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String row = lines.get(i);
+            for (int j = 0; j < row.length(); j++) {
+                char c = row.charAt(j);
+                Short index = paletteIndices.get(c);
+                if (index == null) {
+                    tileIds.add(String.valueOf(c));
+                    index = (short) tileIds.size();
+                    paletteIndices.put(c, index);
+                }
+                layer.setTile(i * width + j, index);
+            }
+        }
+
+        return new MapFile(width, lines.size(), tileIds, layer);
+    }
+
+    /**
+     * Reads a binary map. The file is memory-mapped and the cells are copied into the layer
+     * in one bulk copy, or decoded run by run straight into the layer if they are run-length
+     * encoded, so no objects are created per cell.
+     * Chunked maps are not read at once: their layer is a StreamingTileLayer reading chunks
+     * from the mapped file as they are needed, whatever the mode.
+     *
+     * @param file the map file
+     * @param mode where the layer of the map is kept
+     * @return the contents of the map
+     * @throws RuntimeException if the map file cannot be read or is not a binary map
+     */
+    public static MapFile readBinary(final Path file, final ITileLayer.Mode mode) {
+        MemorySegment segment;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping outlives the method for chunked maps, and is unmapped by the GC
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(),
+                    Arena.ofAuto());
+        } catch (IOException e) {
+            System.err.println("Error while reading map file: " + e.getMessage());
+            throw new RuntimeException("Error while reading map file: " + file, e);
+        }
+        return readBinary(segment, file.toString(), mode);
+    }
+
+    /**
+     * Reads a binary map from memory, such as a map file mapped by readBinary
+     * or an entry of the content pack. Chunked maps keep reading from the segment.
+     *
+     * @param segment the bytes of the map file
+     * @param name    the name of the map file, for error messages
+     * @param mode    where the layer of the map is kept
+     * @return the contents of the map
+     * @throws IllegalArgumentException if the segment is not a binary map, or its header
+     *                                  or cells are invalid
+     */
+    public static MapFile readBinary(final MemorySegment segment, final String name,
+                                     final ITileLayer.Mode mode) {
+        try {
+            if (segment.byteSize() < HEADER_SIZE || segment.get(INT, MAGIC_OFFSET) != MAGIC) {
+                throw new IllegalArgumentException("Not a binary map file: " + name);
+            }
+            if (segment.get(INT, VERSION_OFFSET) != VERSION) {
+                throw new IllegalArgumentException("Unsupported map file version: "
+                        + segment.get(INT, VERSION_OFFSET));
+            }
+
+            int width = segment.get(INT, WIDTH_OFFSET);
+            int height = segment.get(INT, HEIGHT_OFFSET);
+            int paletteSize = segment.get(INT, PALETTE_SIZE_OFFSET);
+            int flags = segment.get(INT, FLAGS_OFFSET);
+            if ((flags & ~(FLAG_RUN_LENGTH | FLAG_CHUNKED)) != 0) {
+                throw new IllegalArgumentException("Unsupported map file flags: " + flags);
+            }
+            if (width < 0 || height < 0) {
+                throw new IllegalArgumentException("Invalid map size " + width + "x" + height
+                        + " in " + name);
+            }
+            if (paletteSize < 0
+                    || paletteSize > (segment.byteSize() - HEADER_SIZE) / Short.BYTES) {
+                throw new IllegalArgumentException("Invalid palette size " + paletteSize
+                        + " in " + name);
+            }
+            int cellCount = Math.multiplyExact(width, height);
+            boolean compressed = (flags & FLAG_RUN_LENGTH) != 0;
+
+            ArrayList<String> tileIds = new ArrayList<>(paletteSize);
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < paletteSize; i++) {
+                int length = Short.toUnsignedInt(segment.get(SHORT, offset));
+                byte[] bytes = segment.asSlice(offset + Short.BYTES, length)
+                        .toArray(ValueLayout.JAVA_BYTE);
+                tileIds.add(new String(bytes, StandardCharsets.UTF_8));
+                offset += Short.BYTES + length;
+            }
+
+            ITileLayer layer;
+            if ((flags & FLAG_CHUNKED) != 0) {
+                int chunkSize = segment.get(INT, align(offset));
+                if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+                    throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+                }
+                layer = new StreamingTileLayer(segment, align(offset) + CHUNK_HEADER_SIZE,
+                        compressed, width, height, chunkSize);
+            } else {
+                layer = ITileLayer.create(mode, cellCount);
+                if (compressed) {
+                    decodeBlock(segment, align(offset), true, width, height, layer, 0, width);
+                } else {
+                    layer.copyFrom(segment, SHORT, align(offset));
+                }
+            }
+            return new MapFile(width, height, tileIds, layer);
+        } catch (ArithmeticException e) {
+            System.err.println("Error while reading map file: " + e.getMessage());
+            throw new IllegalArgumentException("Map too large in " + name, e);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Error while reading map file: " + e.getMessage());
+            throw new IllegalArgumentException("Error while reading map file: " + name, e);
+        }
+    }
+
+    /**
+     * Decodes a chunk of a chunked map, as stored by writeBinary.
+     *
+     * @param segment     the mapped file
+     * @param tableOffset the position of the chunk table in the file, in bytes
+     * @param chunk       the index of the chunk in row-major chunk order
+     * @param compressed  whether the cells are run-length encoded
+     * @param chunkWidth  the number of tiles in the width of the chunk
+     * @param chunkHeight the number of tiles in the height of the chunk
+     * @param target      the layer to decode into
+     * @param stride      the number of cells in a row of the target layer
+     * @throws IllegalArgumentException if the chunk is corrupt
+     */
+    static void decodeChunk(final MemorySegment segment, final long tableOffset, final int chunk,
+                            final boolean compressed, final int chunkWidth, final int chunkHeight,
+                            final ITileLayer target, final int stride) {
+        long start = segment.get(LONG, tableOffset + (long) chunk * Long.BYTES);
+        long end = segment.get(LONG, tableOffset + (long) (chunk + 1) * Long.BYTES);
+        long decodedEnd = decodeBlock(segment, start, compressed, chunkWidth, chunkHeight,
+                target, 0, stride);
+        if (decodedEnd != end) {
+            throw new IllegalArgumentException("Invalid size of chunk " + chunk);
+        }
+    }
+
+    /**
+     * Decodes the cells of a rectangular block of the map into a layer.
+     *
+     * @param segment     the mapped file
+     * @param offset      the position of the block in the file, in bytes
+     * @param compressed  whether the cells are run-length encoded
+     * @param blockWidth  the number of tiles in the width of the block
+     * @param blockHeight the number of tiles in the height of the block
+     * @param target      the layer to decode into
+     * @param firstCell   the cell of the target layer the block starts at
+     * @param stride      the number of cells in a row of the target layer
+     * @return the position after the block in the file, in bytes
+     * @throws IllegalArgumentException if a run continues past the end of its row
+     */
+    private static long decodeBlock(final MemorySegment segment, final long offset,
+                                    final boolean compressed, final int blockWidth,
+                                    final int blockHeight, final ITileLayer target,
+                                    final int firstCell, final int stride) {
+        long position = offset;
+        for (int y = 0; y < blockHeight; y++) {
+            int cell = firstCell + y * stride;
+            int rowEnd = cell + blockWidth;
+            if (!compressed) {
+                for (; cell < rowEnd; cell++) {
+                    target.setTile(cell, segment.get(SHORT, position));
+                    position += Short.BYTES;
+                }
+                continue;
+            }
+            while (cell < rowEnd) {
+                int length = Short.toUnsignedInt(segment.get(SHORT, position));
+                short index = segment.get(SHORT, position + Short.BYTES);
+                if (length == 0 || cell + length > rowEnd) {
+                    throw new IllegalArgumentException("Invalid run at byte " + position);
+                }
+                target.fill(cell, cell + length, index);
+                cell += length;
+                position += RUN_SIZE;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Encodes the cells of a rectangular block of the map, row by row.
+     * Run-length encoded runs stop at the end of each row of the block.
+     *
+     * @param minX        the x-coordinate of the block in tiles
+     * @param minY        the y-coordinate of the block in tiles
+     * @param blockWidth  the number of tiles in the width of the block
+     * @param blockHeight the number of tiles in the height of the block
+     * @param compressed  whether to run-length encode the cells
+     * @return the palette index of every cell, or the length and index of every run
+     */
+    private short[] encodeBlock(final int minX, final int minY, final int blockWidth,
+                                final int blockHeight, final boolean compressed) {
+        if (!compressed) {
+            short[] cells = new short[blockWidth * blockHeight];
+            for (int y = 0; y < blockHeight; y++) {
+                for (int x = 0; x < blockWidth; x++) {
+                    cells[y * blockWidth + x] = layer.getTile((minY + y) * width + minX + x);
+                }
+            }
+            return cells;
+        }
+
+        short[] runs = new short[INITIAL_RUN_CAPACITY];
+        int size = 0;
+        for (int y = minY; y < minY + blockHeight; y++) {
+            int cell = y * width + minX;
+            int rowEnd = cell + blockWidth;
+            while (cell < rowEnd) {
+                short index = layer.getTile(cell);
+                int length = 1;
+                while (cell + length < rowEnd && length < MAX_RUN_LENGTH
+                        && layer.getTile(cell + length) == index) {
+                    length++;
+                }
+                if (size == runs.length) {
+                    runs = Arrays.copyOf(runs, size * 2);
+                }
+                runs[size++] = (short) length;
+                runs[size++] = index;
+                cell += length;
+            }
+        }
+        return Arrays.copyOf(runs, size);
+    }
+
+    /**
+     * Writes the map in the binary format, with every cell stored as is.
+     *
+     * @param file the file to write
+     * @throws RuntimeException if the file cannot be written
+     */
+    public void writeBinary(final Path file) {
+        writeBinary(file, false);
+    }
+
+    /**
+     * Writes the map in the binary format, without chunks.
+     *
+     * @param file       the file to write
+     * @param compressed whether to run-length encode the cells
+     * @throws RuntimeException if the file cannot be written
+     */
+    public void writeBinary(final Path file, final boolean compressed) {
+        writeBinary(file, compressed, 0);
+    }
+
+    /**
+     * Writes the map in the binary format.
+     *
+     * @param file       the file to write
+     * @param compressed whether to run-length encode the cells
+     * @param chunkSize  the width and height of a chunk in tiles, or 0 to write no chunks
+     * @throws IllegalArgumentException if the chunk size is negative or too large
+     * @throws RuntimeException if the file cannot be written
+     */
+    public void writeBinary(final Path file, final boolean compressed, final int chunkSize) {
+        if (chunkSize < 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+
+        ArrayList<byte[]> encodedIds = new ArrayList<>(tileIds.size());
+        long offset = HEADER_SIZE;
+        for (String tileId : tileIds) {
+            byte[] bytes = tileId.getBytes(StandardCharsets.UTF_8);
+            encodedIds.add(bytes);
+            offset += Short.BYTES + bytes.length;
+        }
+        long cellsOffset = align(offset);
+
+        ArrayList<short[]> blocks = new ArrayList<>();
+        long blocksOffset = cellsOffset;
+        if (chunkSize > 0) {
+            for (int y = 0; y < height; y += chunkSize) {
+                for (int x = 0; x < width; x += chunkSize) {
+                    blocks.add(encodeBlock(x, y, Math.min(chunkSize, width - x),
+                            Math.min(chunkSize, height - y), compressed));
+                }
+            }
+            blocksOffset += CHUNK_HEADER_SIZE + (long) (blocks.size() + 1) * Long.BYTES;
+        } else {
+            blocks.add(encodeBlock(0, 0, width, height, compressed));
+        }
+        long size = blocksOffset;
+        for (short[] block : blocks) {
+            size += (long) block.length * Short.BYTES;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+            writeHeader(segment, compressed, chunkSize > 0);
+
+            offset = HEADER_SIZE;
+            for (byte[] bytes : encodedIds) {
+                segment.set(SHORT, offset, (short) bytes.length);
+                MemorySegment.copy(MemorySegment.ofArray(bytes), 0, segment,
+                        offset + Short.BYTES, bytes.length);
+                offset += Short.BYTES + bytes.length;
+            }
+
+            if (chunkSize > 0) {
+                segment.set(INT, cellsOffset, chunkSize);
+                segment.set(INT, cellsOffset + Integer.BYTES, 0);
+            }
+            long tableOffset = cellsOffset + CHUNK_HEADER_SIZE;
+            offset = blocksOffset;
+            for (int i = 0; i < blocks.size(); i++) {
+                if (chunkSize > 0) {
+                    segment.set(LONG, tableOffset + (long) i * Long.BYTES, offset);
+                }
+                short[] block = blocks.get(i);
+                MemorySegment.copy(block, 0, segment, SHORT, offset, block.length);
+                offset += (long) block.length * Short.BYTES;
+            }
+            if (chunkSize > 0) {
+                segment.set(LONG, tableOffset + (long) blocks.size() * Long.BYTES, offset);
+            }
+            segment.force();
+        } catch (IOException e) {
+            System.err.println("Error while writing map file: " + e.getMessage());
+            throw new RuntimeException("Error while writing map file: " + file, e);
+        }
+    }
+
+    /**
+     * Writes the header of the binary format.
+     *
+     * @param segment    the mapped file
+     * @param compressed whether the cells are run-length encoded
+     * @param chunked    whether the cells are split into chunks
+     */
+    private void writeHeader(final MemorySegment segment, final boolean compressed,
+                             final boolean chunked) {
+        int flags = 0;
+        if (compressed) {
+            flags |= FLAG_RUN_LENGTH;
+        }
+        if (chunked) {
+            flags |= FLAG_CHUNKED;
+        }
+        segment.set(INT, MAGIC_OFFSET, MAGIC);
+        segment.set(INT, VERSION_OFFSET, VERSION);
+        segment.set(INT, WIDTH_OFFSET, width);
+        segment.set(INT, HEIGHT_OFFSET, height);
+        segment.set(INT, PALETTE_SIZE_OFFSET, tileIds.size());
+        segment.set(INT, FLAGS_OFFSET, flags);
+    }
+
+    /**
+     * Rounds a position in the binary format up to the alignment of the cells.
+     *
+     * @param offset the position in bytes
+     * @return the aligned position
+     */
+    private static long align(final long offset) {
+        return Math.ceilDiv(offset, ALIGNMENT) * ALIGNMENT;
+    }
+
+    /**
+     * Compares this MapFile with another object for equality.
+     * Two MapFile objects are considered equal if they have the same size,
+     * the same tile ids and the same palette index in every cell.
+     *
+     * @param o the object to compare with this MapFile
+     * @return true if the given object is equal to this MapFile, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MapFile mapFile = (MapFile) o;
+        if (width != mapFile.width || height != mapFile.height
+                || !Objects.equals(tileIds, mapFile.tileIds)) {
+            return false;
+        }
+        for (int i = 0; i < layer.getCellCount(); i++) {
+            if (layer.getTile(i) != mapFile.layer.getTile(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this MapFile.
+     *
+     * @return the hash code value of the MapFile as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(width, height, tileIds);
+    }
+
+    /**
+     * Returns a string representation of this MapFile.
+     *
+     * @return the representation of the MapFile as a string
+     */
+    @Override
+    public String toString() {
+        return "MapFile{" + "width=" + width + ", height=" + height + ", tileIds=" + tileIds
+                + ", layer=" + layer + '}';
+    }
+}
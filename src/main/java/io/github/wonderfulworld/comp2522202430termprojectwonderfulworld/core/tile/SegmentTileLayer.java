@@ -0,0 +1,209 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The SegmentTileLayer class keeps the layers of a tile map in a memory segment outside the heap,
+ * either in native memory or in a memory-mapped file.
+ * Large maps then add nothing to the heap the garbage collector has to scan, and a mapped layer
+ * is paged in by the operating system as the player explores the map.
+ * The palette indices come first in the segment, followed by the passability bitset.
+ * The memory is released when the layer is no longer reachable.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public class SegmentTileLayer implements ITileLayer {
+    /**
+     * The memory holding the layers.
+     */
+    private final MemorySegment segment;
+
+    /**
+     * The number of cells.
+     */
+    private final int cellCount;
+
+    /**
+     * The position of the passability bitset in the segment, in bytes.
+     */
+    private final long passableOffset;
+
+    /**
+     * Constructs a new SegmentTileLayer over a segment large enough for the cells.
+     *
+     * @param segment   the memory holding the layers
+     * @param cellCount the number of cells
+     */
+    private SegmentTileLayer(final MemorySegment segment, final int cellCount) {
+        this.segment = segment;
+        this.cellCount = cellCount;
+        this.passableOffset = getPassableOffset(cellCount);
+    }
+
+    /**
+     * Creates an empty layer in native memory.
+     *
+     * @param cellCount the number of cells
+     * @return the layer
+     */
+    public static SegmentTileLayer allocate(final int cellCount) {
+        MemorySegment segment = Arena.ofAuto().allocate(getByteSize(cellCount), Long.BYTES);
+        return new SegmentTileLayer(segment, cellCount);
+    }
+
+    /**
+     * Creates a layer mapped from a file, which is created or grown as needed.
+     * The palette indices already in the file are kept.
+     *
+     * @param file      the file backing the layer
+     * @param cellCount the number of cells
+     * @return the layer
+     * @throws RuntimeException if the file cannot be mapped
+     */
+    public static SegmentTileLayer map(final Path file, final int cellCount) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    getByteSize(cellCount), Arena.ofAuto());
+            return new SegmentTileLayer(segment, cellCount);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot map tile layer file: " + file, e);
+        }
+    }
+
+    /**
+     * Creates an empty layer mapped from a temporary file.
+     * The file is deleted right after it was mapped, and the mapping keeps its pages until
+     * the layer is no longer reachable, so loading many maps does not fill the disk.
+     * Where a mapped file cannot be deleted, as on Windows, it is deleted when the game exits.
+     *
+     * @param cellCount the number of cells
+     * @return the layer
+     * @throws RuntimeException if the file cannot be created
+     */
+    public static SegmentTileLayer mapTemporaryFile(final int cellCount) {
+        Path file;
+        try {
+            file = Files.createTempFile("tilemap", ".layer");
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot create tile layer file", e);
+        }
+        file.toFile().deleteOnExit();
+
+        SegmentTileLayer layer = map(file, cellCount);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Still mapped on this system, deleted on exit instead
+        }
+        return layer;
+    }
+
+    /**
+     * Gets the position of the passability bitset, after the palette indices aligned to a word.
+     *
+     * @param cellCount the number of cells
+     * @return the position in bytes
+     */
+    private static long getPassableOffset(final int cellCount) {
+        return Math.ceilDiv((long) cellCount * Short.BYTES, Long.BYTES) * Long.BYTES;
+    }
+
+    /**
+     * Gets the size of the segment needed for a number of cells.
+     *
+     * @param cellCount the number of cells
+     * @return the size in bytes
+     */
+    private static long getByteSize(final int cellCount) {
+        long wordCount = ITileLayer.getWordCount(cellCount);
+        return getPassableOffset(cellCount) + wordCount * Long.BYTES;
+    }
+
+    /**
+     * Gets the number of cells in the layer.
+     *
+     * @return the number of cells
+     */
+    @Override
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Gets the palette index of a cell.
+     *
+     * @param cell the row-major index of the cell
+     * @return the palette index
+     */
+    @Override
+    public short getTile(final int cell) {
+        return segment.getAtIndex(ValueLayout.JAVA_SHORT, cell);
+    }
+
+    /**
+     * Sets the palette index of a cell.
+     *
+     * @param cell  the row-major index of the cell
+     * @param index the palette index
+     */
+    @Override
+    public void setTile(final int cell, final short index) {
+        segment.setAtIndex(ValueLayout.JAVA_SHORT, cell, index);
+    }
+
+    /**
+     * Copies the palette index of every cell from a memory segment in one bulk copy.
+     *
+     * @param source the segment to copy from
+     * @param layout the layout of the indices in the segment, including their byte order
+     * @param offset the position of the first index in the segment, in bytes
+     */
+    @Override
+    public void copyFrom(final MemorySegment source, final ValueLayout.OfShort layout,
+                         final long offset) {
+        MemorySegment.copy(source, layout, offset, segment, ValueLayout.JAVA_SHORT, 0, cellCount);
+    }
+
+    /**
+     * Gets a word of the passability bitset.
+     *
+     * @param word the index of the word
+     * @return the bits of the word
+     */
+    @Override
+    public long getPassableWord(final int word) {
+        return segment.get(ValueLayout.JAVA_LONG, passableOffset + (long) word * Long.BYTES);
+    }
+
+    /**
+     * Sets a word of the passability bitset.
+     *
+     * @param word the index of the word
+     * @param bits the bits of the word
+     */
+    @Override
+    public void setPassableWord(final int word, final long bits) {
+        segment.set(ValueLayout.JAVA_LONG, passableOffset + (long) word * Long.BYTES, bits);
+    }
+
+    /**
+     * Returns a string representation of this SegmentTileLayer.
+     *
+     * @return the representation of the SegmentTileLayer as a string
+     */
+    @Override
+    public String toString() {
+        return "SegmentTileLayer{" + "cells=" + cellCount + ", bytes=" + segment.byteSize()
+                + ", mapped=" + segment.isMapped() + '}';
+    }
+}
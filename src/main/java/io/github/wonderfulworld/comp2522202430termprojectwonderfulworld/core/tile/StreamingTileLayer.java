@@ -0,0 +1,531 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The StreamingTileLayer class keeps only the chunks of a chunked map file near the camera
+ * in memory, so maps larger than memory can be played.
+ * Chunks are decoded from the mapped file on a background thread as the camera comes near them,
+ * further ahead in the direction the camera moves, and dropped once the camera is far away.
+ * Cells of chunks that are not loaded are empty and not passable, so nothing is drawn there
+ * and nothing walks into them. The layer is read-only.
+ *
+ *
+ * @author Candice Wei
+ * @version 2024
+ */
+public class StreamingTileLayer implements ITileLayer {
+    /**
+     * Streaming distances, in chunks.
+     */
+    private static final int LOAD_MARGIN = 1;
+    private static final int PREFETCH_DISTANCE = 2;
+    private static final int UNLOAD_MARGIN = 2;
+
+    /**
+     * The palette index of a cell that is not loaded.
+     */
+    private static final short EMPTY = 0;
+
+    /**
+     * How long the loader thread of a layer waits for more requests before it ends (in seconds).
+     */
+    private static final long LOADER_KEEP_ALIVE = 5;
+
+    /**
+     * A decoded chunk.
+     */
+    private static final class Chunk {
+        private final short[] tiles;
+        private final long[] passableRows;
+
+        /**
+         * Constructs a new Chunk.
+         *
+         * @param tiles        the palette index of every cell, in rows of the chunk size
+         * @param passableRows the passability bits of every row of the chunk
+         */
+        private Chunk(final short[] tiles, final long[] passableRows) {
+            this.tiles = tiles;
+            this.passableRows = passableRows;
+        }
+    }
+
+    /**
+     * The mapped map file.
+     */
+    private final MemorySegment segment;
+
+    /**
+     * The position of the chunk table in the file, in bytes.
+     */
+    private final long tableOffset;
+
+    /**
+     * Whether the cells are run-length encoded.
+     */
+    private final boolean compressed;
+
+    /**
+     * The size of the map in tiles.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * Chunk properties.
+     */
+    private final int chunkSize;
+    private final int chunksX;
+    private final int chunksY;
+
+    /**
+     * The loaded chunks at their index in row-major chunk order, null where not loaded.
+     * Looking up a chunk is a plain array read, since it is done for every collision check.
+     */
+    private final AtomicReferenceArray<Chunk> chunks;
+
+    /**
+     * The chunks that are loaded or waiting for the loader. Every loaded chunk is in here.
+     */
+    private final Set<Integer> requested = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The thread decoding the requested chunks of this layer, one chunk at a time.
+     * Every layer has its own, so the layers of different game sessions do not wait for
+     * each other. The thread is only started for requests and ends when it has none left.
+     */
+    private final ExecutorService loader = new ThreadPoolExecutor(0, 1, LOADER_KEEP_ALIVE,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "map-chunk-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Whether the tile of each palette index is passable, set by the tile map.
+     */
+    private volatile boolean[] passableTiles;
+
+    /**
+     * The visible area at the last update, in chunks, and the last visible tile.
+     */
+    private int lastMinChunkX = -1;
+    private int lastMinChunkY = -1;
+    private int lastMaxChunkX = -1;
+    private int lastMaxChunkY = -1;
+    private int lastViewX = -1;
+    private int lastViewY = -1;
+    private int lastDirectionX;
+    private int lastDirectionY;
+
+    /**
+     * Constructs a new StreamingTileLayer over a mapped chunked map file.
+     *
+     * @param segment     the mapped map file
+     * @param tableOffset the position of the chunk table in the file, in bytes
+     * @param compressed  whether the cells are run-length encoded
+     * @param width       the number of tiles in the width of the map
+     * @param height      the number of tiles in the height of the map
+     * @param chunkSize   the width and height of a chunk in tiles
+     */
+    StreamingTileLayer(final MemorySegment segment, final long tableOffset,
+                       final boolean compressed, final int width, final int height,
+                       final int chunkSize) {
+        this.segment = segment;
+        this.tableOffset = tableOffset;
+        this.compressed = compressed;
+        this.width = width;
+        this.height = height;
+        this.chunkSize = chunkSize;
+        this.chunksX = Math.ceilDiv(width, chunkSize);
+        this.chunksY = Math.ceilDiv(height, chunkSize);
+        this.chunks = new AtomicReferenceArray<>(chunksX * chunksY);
+    }
+
+    /**
+     * Sets which palette indices are passable, and drops the chunks loaded before.
+     *
+     * @param passable whether the tile of each palette index is passable
+     */
+    public void setPassableTiles(final boolean[] passable) {
+        passableTiles = passable.clone();
+        for (Iterator<Integer> iterator = requested.iterator(); iterator.hasNext();) {
+            drop(iterator, iterator.next());
+        }
+        lastMinChunkX = -1;
+    }
+
+    /**
+     * Streams chunks for the visible area. Visible chunks that are still missing are loaded
+     * right away, the chunks around them and ahead in the direction the view moved are
+     * requested from the loader, and the chunks far from the view are dropped.
+     *
+     * @param minX the minimum x-coordinate of the visible area in tiles
+     * @param minY the minimum y-coordinate of the visible area in tiles
+     * @param maxX the maximum x-coordinate of the visible area in tiles, inclusive
+     * @param maxY the maximum y-coordinate of the visible area in tiles, inclusive
+     */
+    public void update(final int minX, final int minY, final int maxX, final int maxY) {
+        int directionX = 0;
+        int directionY = 0;
+        if (lastViewX >= 0) {
+            directionX = Integer.signum(minX - lastViewX);
+            directionY = Integer.signum(minY - lastViewY);
+        }
+        lastViewX = minX;
+        lastViewY = minY;
+
+        int minChunkX = clampChunkX(minX / chunkSize);
+        int minChunkY = clampChunkY(minY / chunkSize);
+        int maxChunkX = clampChunkX(maxX / chunkSize);
+        int maxChunkY = clampChunkY(maxY / chunkSize);
+        if (minChunkX == lastMinChunkX && minChunkY == lastMinChunkY
+                && maxChunkX == lastMaxChunkX && maxChunkY == lastMaxChunkY
+                && directionX == lastDirectionX && directionY == lastDirectionY) {
+            return;
+        }
+        lastDirectionX = directionX;
+        lastDirectionY = directionY;
+        lastMinChunkX = minChunkX;
+        lastMinChunkY = minChunkY;
+        lastMaxChunkX = maxChunkX;
+        lastMaxChunkY = maxChunkY;
+
+        // Wait for the visible chunks, which are only missing after a jump
+        loadVisible(minX, minY, maxX, maxY);
+
+        int loadMinX = minChunkX - LOAD_MARGIN + Math.min(directionX, 0) * PREFETCH_DISTANCE;
+        int loadMinY = minChunkY - LOAD_MARGIN + Math.min(directionY, 0) * PREFETCH_DISTANCE;
+        int loadMaxX = maxChunkX + LOAD_MARGIN + Math.max(directionX, 0) * PREFETCH_DISTANCE;
+        int loadMaxY = maxChunkY + LOAD_MARGIN + Math.max(directionY, 0) * PREFETCH_DISTANCE;
+        for (int chunkY = clampChunkY(loadMinY); chunkY <= clampChunkY(loadMaxY); chunkY++) {
+            for (int chunkX = clampChunkX(loadMinX); chunkX <= clampChunkX(loadMaxX); chunkX++) {
+                request(chunkY * chunksX + chunkX);
+            }
+        }
+
+        int keepMinX = minChunkX - LOAD_MARGIN - PREFETCH_DISTANCE - UNLOAD_MARGIN;
+        int keepMinY = minChunkY - LOAD_MARGIN - PREFETCH_DISTANCE - UNLOAD_MARGIN;
+        int keepMaxX = maxChunkX + LOAD_MARGIN + PREFETCH_DISTANCE + UNLOAD_MARGIN;
+        int keepMaxY = maxChunkY + LOAD_MARGIN + PREFETCH_DISTANCE + UNLOAD_MARGIN;
+        for (Iterator<Integer> iterator = requested.iterator(); iterator.hasNext();) {
+            int chunk = iterator.next();
+            if (isOutside(chunk, keepMinX, keepMinY, keepMaxX, keepMaxY)) {
+                drop(iterator, chunk);
+            }
+        }
+    }
+
+    /**
+     * Drops a chunk, which is no longer requested before it is unloaded, so the loader
+     * takes back out a chunk it sets in between.
+     *
+     * @param iterator the iterator over the requested chunks, at the chunk to drop
+     * @param chunk    the index of the chunk
+     */
+    private void drop(final Iterator<Integer> iterator, final int chunk) {
+        iterator.remove();
+        chunks.set(chunk, null);
+    }
+
+    /**
+     * Loads the chunks covering an area on the calling thread, if they are not loaded yet.
+     *
+     * @param minX the minimum x-coordinate of the area in tiles
+     * @param minY the minimum y-coordinate of the area in tiles
+     * @param maxX the maximum x-coordinate of the area in tiles, inclusive
+     * @param maxY the maximum y-coordinate of the area in tiles, inclusive
+     * @throws IllegalArgumentException if a chunk is corrupt
+     */
+    public void load(final int minX, final int minY, final int maxX, final int maxY) {
+        for (int chunkY = clampChunkY(minY / chunkSize);
+             chunkY <= clampChunkY(maxY / chunkSize); chunkY++) {
+            for (int chunkX = clampChunkX(minX / chunkSize);
+                 chunkX <= clampChunkX(maxX / chunkSize); chunkX++) {
+                loadChunk(chunkY * chunksX + chunkX);
+            }
+        }
+    }
+
+    /**
+     * Loads the visible chunks on the calling thread, like load, but reports a corrupt chunk
+     * instead of throwing into the game loop. The cells of a corrupt chunk stay empty.
+     *
+     * @param minX the minimum x-coordinate of the area in tiles
+     * @param minY the minimum y-coordinate of the area in tiles
+     * @param maxX the maximum x-coordinate of the area in tiles, inclusive
+     * @param maxY the maximum y-coordinate of the area in tiles, inclusive
+     */
+    private void loadVisible(final int minX, final int minY, final int maxX, final int maxY) {
+        for (int chunkY = clampChunkY(minY / chunkSize);
+             chunkY <= clampChunkY(maxY / chunkSize); chunkY++) {
+            for (int chunkX = clampChunkX(minX / chunkSize);
+                 chunkX <= clampChunkX(maxX / chunkSize); chunkX++) {
+                int chunk = chunkY * chunksX + chunkX;
+                try {
+                    loadChunk(chunk);
+                } catch (RuntimeException e) {
+                    System.err.println("Error while loading map chunk " + chunk + ": "
+                            + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a chunk on the calling thread, if it is not loaded yet.
+     * If the loader puts the chunk first, the chunk it decoded is kept.
+     *
+     * @param chunk the index of the chunk
+     * @throws IllegalArgumentException if the chunk is corrupt
+     */
+    private void loadChunk(final int chunk) {
+        requested.add(chunk);
+        if (chunks.get(chunk) == null) {
+            chunks.compareAndSet(chunk, null, decode(chunk));
+        }
+    }
+
+    /**
+     * Checks whether all chunks covering an area are loaded.
+     *
+     * @param minX the minimum x-coordinate of the area in tiles
+     * @param minY the minimum y-coordinate of the area in tiles
+     * @param maxX the maximum x-coordinate of the area in tiles, inclusive
+     * @param maxY the maximum y-coordinate of the area in tiles, inclusive
+     * @return true if all chunks are loaded, false otherwise
+     */
+    public boolean isAreaLoaded(final int minX, final int minY, final int maxX, final int maxY) {
+        for (int chunkY = clampChunkY(minY / chunkSize);
+             chunkY <= clampChunkY(maxY / chunkSize); chunkY++) {
+            for (int chunkX = clampChunkX(minX / chunkSize);
+                 chunkX <= clampChunkX(maxX / chunkSize); chunkX++) {
+                if (chunks.get(chunkY * chunksX + chunkX) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of loaded chunks.
+     *
+     * @return the number of chunks in memory
+     */
+    public int getLoadedChunkCount() {
+        int count = 0;
+        for (int chunk : requested) {
+            if (chunks.get(chunk) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Asks the loader to load a chunk, unless it is loaded or already requested.
+     *
+     * @param chunk the index of the chunk
+     */
+    private void request(final int chunk) {
+        if (chunks.get(chunk) == null && requested.add(chunk)) {
+            loader.execute(() -> loadRequested(chunk));
+        }
+    }
+
+    /**
+     * Loads a requested chunk on the loader thread, unless it was dropped in the meantime.
+     * The update can drop the chunk at any time, even right after it was set, so the chunk
+     * is set first and taken back out if it turns out to have been dropped.
+     *
+     * @param chunk the index of the chunk
+     */
+    private void loadRequested(final int chunk) {
+        if (!requested.contains(chunk) || chunks.get(chunk) != null) {
+            return;
+        }
+        try {
+            Chunk decoded = decode(chunk);
+            if (chunks.compareAndSet(chunk, null, decoded) && !requested.contains(chunk)) {
+                chunks.compareAndSet(chunk, decoded, null);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error while loading map chunk " + chunk + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes a chunk from the map file and computes its passability bits.
+     *
+     * @param chunk the index of the chunk
+     * @return the decoded chunk
+     * @throws IllegalArgumentException if the chunk is corrupt or refers to an unknown tile
+     */
+    private Chunk decode(final int chunk) {
+        int firstX = chunk % chunksX * chunkSize;
+        int firstY = chunk / chunksX * chunkSize;
+        int chunkWidth = Math.min(chunkSize, width - firstX);
+        int chunkHeight = Math.min(chunkSize, height - firstY);
+        short[] tiles = new short[chunkSize * chunkSize];
+        MapFile.decodeChunk(segment, tableOffset, chunk, compressed, chunkWidth, chunkHeight,
+                new HeapTileLayer(tiles), chunkSize);
+
+        long[] passableRows = new long[chunkSize];
+        boolean[] passable = passableTiles;
+        if (passable != null) {
+            for (int y = 0; y < chunkHeight; y++) {
+                for (int x = 0; x < chunkWidth; x++) {
+                    short index = tiles[y * chunkSize + x];
+                    if (index < 0 || index >= passable.length) {
+                        throw new IllegalArgumentException("Unknown tile index " + index
+                                + " in chunk " + chunk);
+                    }
+                    if (passable[index]) {
+                        passableRows[y] |= 1L << x;
+                    }
+                }
+            }
+        }
+        return new Chunk(tiles, passableRows);
+    }
+
+    /**
+     * Checks whether a chunk is outside an area.
+     *
+     * @param chunk the index of the chunk
+     * @param minX  the minimum x-coordinate of the area in chunks
+     * @param minY  the minimum y-coordinate of the area in chunks
+     * @param maxX  the maximum x-coordinate of the area in chunks, inclusive
+     * @param maxY  the maximum y-coordinate of the area in chunks, inclusive
+     * @return true if the chunk is outside the area, false otherwise
+     */
+    private boolean isOutside(final int chunk, final int minX, final int minY,
+                              final int maxX, final int maxY) {
+        int chunkX = chunk % chunksX;
+        int chunkY = chunk / chunksX;
+        return chunkX < minX || chunkX > maxX || chunkY < minY || chunkY > maxY;
+    }
+
+    /**
+     * Clamps an x-coordinate in chunks to the map.
+     *
+     * @param chunkX the x-coordinate in chunks
+     * @return the clamped coordinate
+     */
+    private int clampChunkX(final int chunkX) {
+        return Math.clamp(chunkX, 0, chunksX - 1);
+    }
+
+    /**
+     * Clamps a y-coordinate in chunks to the map.
+     *
+     * @param chunkY the y-coordinate in chunks
+     * @return the clamped coordinate
+     */
+    private int clampChunkY(final int chunkY) {
+        return Math.clamp(chunkY, 0, chunksY - 1);
+    }
+
+    /**
+     * Gets the number of cells in the layer.
+     *
+     * @return the number of cells
+     */
+    @Override
+    public int getCellCount() {
+        return width * height;
+    }
+
+    /**
+     * Gets the palette index of a cell.
+     *
+     * @param cell the row-major index of the cell
+     * @return the palette index, or 0 if the chunk of the cell is not loaded
+     */
+    @Override
+    public short getTile(final int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        Chunk chunk = chunks.get(y / chunkSize * chunksX + x / chunkSize);
+        if (chunk == null) {
+            return EMPTY;
+        }
+        return chunk.tiles[y % chunkSize * chunkSize + x % chunkSize];
+    }
+
+    /**
+     * Streamed maps cannot be changed.
+     *
+     * @param cell  the row-major index of the cell
+     * @param index the palette index
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setTile(final int cell, final short index) {
+        throw new UnsupportedOperationException("Streamed maps are read-only.");
+    }
+
+    /**
+     * Gets a word of the passability bitset, assembled from the rows of the loaded chunks.
+     * The bits of cells whose chunk is not loaded are not set.
+     *
+     * @param word the index of the word
+     * @return the bits of the word
+     */
+    @Override
+    public long getPassableWord(final int word) {
+        int first = word * Long.SIZE;
+        int end = Math.min(first + Long.SIZE, getCellCount());
+        long bits = 0;
+        int cell = first;
+        while (cell < end) {
+            int x = cell % width;
+            int y = cell / width;
+            int localX = x % chunkSize;
+            int length = Math.min(end - cell, Math.min(chunkSize - localX, width - x));
+            Chunk chunk = chunks.get(y / chunkSize * chunksX + x / chunkSize);
+            if (chunk != null) {
+                long rowBits = chunk.passableRows[y % chunkSize] >>> localX;
+                if (length < Long.SIZE) {
+                    rowBits &= (1L << length) - 1;
+                }
+                bits |= rowBits << (cell - first);
+            }
+            cell += length;
+        }
+        return bits;
+    }
+
+    /**
+     * Streamed maps cannot be changed.
+     *
+     * @param word the index of the word
+     * @param bits the bits of the word
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setPassableWord(final int word, final long bits) {
+        throw new UnsupportedOperationException("Streamed maps are read-only.");
+    }
+
+    /**
+     * Returns a string representation of this StreamingTileLayer.
+     *
+     * @return the representation of the StreamingTileLayer as a string
+     */
+    @Override
+    public String toString() {
+        return "StreamingTileLayer{" + "width=" + width + ", height=" + height
+                + ", chunkSize=" + chunkSize + ", loadedChunks=" + getLoadedChunkCount() + '}';
+    }
+}
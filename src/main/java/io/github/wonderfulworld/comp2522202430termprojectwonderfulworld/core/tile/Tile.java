@@ -1,7 +1,7 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ISpriteImage;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteImages;
 import lombok.Getter;
 
 import java.util.Objects;
@@ -16,8 +16,11 @@ import java.util.Objects;
 public class Tile {
     /**
      * Tile properties.
+     * -- GETTER --
+     * Gets the image of the tile, an atlas region when the game is shown on screen.
      */
-    private final Image image;
+    @Getter
+    private final ISpriteImage region;
     /**
      * -- GETTER --
      * Checks whether the tile is passable.
@@ -32,19 +35,18 @@ public class Tile {
      * @param passable  true if the tile is passable; false otherwise
      */
     public Tile(final String imagePath, final boolean passable) {
-        this.passable = passable;
-        this.image = new Image(imagePath);
+        this(SpriteImages.load(imagePath), passable);
     }
 
     /**
-     * Renders the tile on the screen at the specified coordinates.
+     * Constructs a new Tile drawn from the specified image and whether it is passable.
      *
-     * @param gc the graphics context used for rending
-     * @param x  x-coordinate of the tile
-     * @param y  y-coordinate of the tile
+     * @param region   the image to represent the tile
+     * @param passable true if the tile is passable; false otherwise
      */
-    public void render(final GraphicsContext gc, final double x, final double y) {
-        gc.drawImage(image, x, y);
+    public Tile(final ISpriteImage region, final boolean passable) {
+        this.passable = passable;
+        this.region = region;
     }
 
     /**
@@ -64,7 +66,7 @@ public class Tile {
             return false;
         }
         Tile tile = (Tile) o;
-        return passable == tile.passable && Objects.equals(image, tile.image);
+        return passable == tile.passable && Objects.equals(region, tile.region);
     }
 
     /**
@@ -74,7 +76,7 @@ public class Tile {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(image, passable);
+        return Objects.hash(region, passable);
     }
 
     /**
@@ -84,6 +86,6 @@ public class Tile {
      */
     @Override
     public String toString() {
-        return "Tile{" + "image=" + image + ", passable=" + passable + '}';
+        return "Tile{" + "region=" + region + ", passable=" + passable + '}';
     }
 }
@@ -1,14 +1,16 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
 
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
-import javafx.scene.canvas.GraphicsContext;
 import lombok.Getter;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * The TileMap class represents the tile map of the game.
+ * Cells store the index of their tile in a palette of tile definitions,
+ * in a flat row-major array matching the order the map is drawn in.
  *
  *
  * @author Candice Wei
@@ -16,9 +18,34 @@ import java.util.Objects;
  */
 public class TileMap {
     /**
-     * Tile properties.
+     * Bitset constants, a long holds the bits of 64 tiles.
      */
-    private final Tile[][] tiles;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = Long.SIZE - 1;
+    private static final long ALL_BITS = -1L;
+
+    /**
+     * The palette index of a cell without a tile.
+     */
+    private static final short EMPTY = 0;
+
+    /**
+     * The palette index and the passability of every cell, in row-major order.
+     * A passability bit is set if the tile exists and is passable, so collision checks
+     * read one packed bitset instead of the tile objects.
+     */
+    private final ITileLayer layer;
+
+    /**
+     * The tile definitions used by the map. The first entry is always null, for empty cells.
+     */
+    private final ArrayList<Tile> palette;
+
+    /**
+     * The size of the map in tiles.
+     */
+    private final int width;
+    private final int height;
 
     /**
      * Map properties.
@@ -26,6 +53,13 @@ public class TileMap {
     @Getter private final int mapWidth;
     @Getter  private final int mapHeight;
 
+    /**
+     * Modification counter, incremented every time a tile changes.
+     * -- GETTER --
+     * Gets the version of the map, used by caches to detect changes.
+     */
+    @Getter private int version;
+
     /**
      * Constructs a new TileMap with the specified dimensions and tile size.
      *
@@ -34,9 +68,66 @@ public class TileMap {
      * @param tileSize the size of each tile in pixels
      */
     public TileMap(final int width, final int height, final int tileSize) {
-        this.tiles = new Tile[width][height];
-        this.mapWidth = getWidth() * tileSize;
-        this.mapHeight = getHeight() * tileSize;
+        this(width, height, tileSize, new ArrayList<>(), new short[width * height]);
+    }
+
+    /**
+     * Constructs a new TileMap from a palette of tiles and the palette index of every cell.
+     * Index 0 stands for an empty cell, index 1 for the first tile of the palette, and so on.
+     *
+     * @param width    the number of tiles in the width of the map
+     * @param height   the number of tiles in the height of the map
+     * @param tileSize the size of each tile in pixels
+     * @param palette  the tiles used by the map
+     * @param tiles    the palette index of every cell, in row-major order
+     * @throws IllegalArgumentException if the cell count does not match the size of the map,
+     *                                  or a cell refers to a tile missing from the palette
+     */
+    public TileMap(final int width, final int height, final int tileSize,
+                   final List<Tile> palette, final short[] tiles) {
+        this(width, height, tileSize, palette, new HeapTileLayer(tiles));
+    }
+
+    /**
+     * Constructs a new TileMap from a palette of tiles and a layer holding the palette index
+     * of every cell. The passability bits of the layer are computed from the palette.
+     *
+     * @param width    the number of tiles in the width of the map
+     * @param height   the number of tiles in the height of the map
+     * @param tileSize the size of each tile in pixels
+     * @param palette  the tiles used by the map
+     * @param layer    the layer holding the palette index of every cell
+     * @throws IllegalArgumentException if the cell count does not match the size of the map,
+     *                                  or a cell refers to a tile missing from the palette
+     */
+    public TileMap(final int width, final int height, final int tileSize,
+                   final List<Tile> palette, final ITileLayer layer) {
+        if (layer.getCellCount() != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " cells, got "
+                    + layer.getCellCount());
+        }
+        this.width = width;
+        this.height = height;
+        this.layer = layer;
+        this.palette = new ArrayList<>(palette.size() + 1);
+        this.palette.add(null);
+        this.palette.addAll(palette);
+        this.mapWidth = width * tileSize;
+        this.mapHeight = height * tileSize;
+
+        if (layer instanceof StreamingTileLayer streamingLayer) {
+            // Chunks are checked and get their passability bits as they are loaded
+            streamingLayer.setPassableTiles(getPassableTiles());
+            return;
+        }
+        for (int i = 0; i < layer.getCellCount(); i++) {
+            short index = layer.getTile(i);
+            if (index < 0 || index >= this.palette.size()) {
+                throw new IllegalArgumentException("Unknown tile index " + index
+                        + " in cell " + i);
+            }
+            updatePassable(i);
+        }
     }
 
     /**
@@ -45,7 +136,7 @@ public class TileMap {
      * @return the number of tiles in the width of the map
      */
     public int getWidth() {
-        return tiles.length;
+        return width;
     }
 
     /**
@@ -54,7 +145,7 @@ public class TileMap {
      * @return the number of tiles in the height of the map
      */
     public int getHeight() {
-        return tiles[0].length;
+        return height;
     }
 
     /**
@@ -69,7 +160,7 @@ public class TileMap {
                 || y < 0 || y >= getHeight()) {
             return null;
         } else {
-            return tiles[x][y];
+            return palette.get(layer.getTile(y * width + x));
         }
     }
 
@@ -79,25 +170,179 @@ public class TileMap {
      * @param x    the x-coordinate where the tile is to be placed
      * @param y    the y-coordinate where the tile is to be placed
      * @param tile the tile to set at the specified coordinates
+     * @throws IndexOutOfBoundsException if the coordinates are outside the map
      */
     public void setTile(final int x, final int y, final Tile tile) {
-        tiles[x][y] = tile;
+        if (x < 0 || x >= getWidth()
+                || y < 0 || y >= getHeight()) {
+            throw new IndexOutOfBoundsException("Tile " + x + ", " + y
+                    + " is outside the map of " + width + " x " + height + " tiles.");
+        }
+        int cell = y * width + x;
+        layer.setTile(cell, paletteIndexOf(tile));
+        updatePassable(cell);
+        version++;
     }
 
     /**
-     * Renders the entire tile map on the screen.
+     * Gets the palette index of a tile, adding the tile to the palette if it is new.
      *
-     * @param gc the graphics context used for rendering the tiles
+     * @param tile the tile, or null for an empty cell
+     * @return the palette index of the tile
+     * @throws IllegalStateException if the palette is full
      */
-    public void render(final GraphicsContext gc) {
-        for (int i = 0; i < getHeight(); i++) {
-            for (int j = 0; j < getWidth(); j++) {
-                Tile tile = getTile(j, i);
-                if (tile != null) {
-                    tile.render(gc, convertTileToPixel(j), convertTileToPixel(i));
-                }
+    private short paletteIndexOf(final Tile tile) {
+        if (tile == null) {
+            return EMPTY;
+        }
+        int index = palette.indexOf(tile);
+        if (index < 0) {
+            if (palette.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many different tiles in the map.");
             }
+            index = palette.size();
+            palette.add(tile);
         }
+        return (short) index;
+    }
+
+    /**
+     * Updates the passability bit of a cell from its tile.
+     *
+     * @param cell the row-major index of the cell
+     */
+    private void updatePassable(final int cell) {
+        Tile tile = palette.get(layer.getTile(cell));
+        int word = cell >>> WORD_SHIFT;
+        if (tile != null && tile.isPassable()) {
+            layer.setPassableWord(word, layer.getPassableWord(word) | 1L << cell);
+        } else {
+            layer.setPassableWord(word, layer.getPassableWord(word) & ~(1L << cell));
+        }
+    }
+
+    /**
+     * Gets whether the tile of each palette index is passable.
+     *
+     * @return the passability of every palette entry, false for empty cells
+     */
+    private boolean[] getPassableTiles() {
+        boolean[] passable = new boolean[palette.size()];
+        for (int i = 0; i < palette.size(); i++) {
+            Tile tile = palette.get(i);
+            passable[i] = tile != null && tile.isPassable();
+        }
+        return passable;
+    }
+
+    /**
+     * Streams the chunks of a streamed map for the visible area, see StreamingTileLayer.
+     * Nothing is done for maps held in memory as a whole.
+     *
+     * @param viewX      the x-coordinate of the visible area in pixels
+     * @param viewY      the y-coordinate of the visible area in pixels
+     * @param viewWidth  the width of the visible area in pixels
+     * @param viewHeight the height of the visible area in pixels
+     */
+    public void updateStreaming(final double viewX, final double viewY, final double viewWidth,
+                                final double viewHeight) {
+        if (layer instanceof StreamingTileLayer streamingLayer) {
+            streamingLayer.update(convertPixelToTile(viewX), convertPixelToTile(viewY),
+                    convertPixelToTile(viewX + viewWidth), convertPixelToTile(viewY + viewHeight));
+        }
+    }
+
+    /**
+     * Checks whether the tiles of an area are in memory. Only streamed maps have tiles
+     * that are not, which are drawn as empty and are not passable until they are loaded.
+     *
+     * @param minX the minimum x-coordinate of the area in tiles
+     * @param minY the minimum y-coordinate of the area in tiles
+     * @param maxX the maximum x-coordinate of the area in tiles, inclusive
+     * @param maxY the maximum y-coordinate of the area in tiles, inclusive
+     * @return true if all tiles of the area are loaded, false otherwise
+     */
+    public boolean isAreaLoaded(final int minX, final int minY, final int maxX, final int maxY) {
+        if (layer instanceof StreamingTileLayer streamingLayer) {
+            return streamingLayer.isAreaLoaded(minX, minY, maxX, maxY);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of different tiles used by the map.
+     *
+     * @return the size of the palette, without the empty cell entry
+     */
+    public int getPaletteSize() {
+        return palette.size() - 1;
+    }
+
+    /**
+     * Checks whether a tile can be walked on.
+     *
+     * @param x the x-coordinate of the tile
+     * @param y the y-coordinate of the tile
+     * @return true if the tile exists and is passable, false if it is not or is out of bounds
+     */
+    public boolean isPassable(final int x, final int y) {
+        if (x < 0 || x >= getWidth() || y < 0 || y >= getHeight()) {
+            return false;
+        }
+        int bit = y * width + x;
+        return (layer.getPassableWord(bit >>> WORD_SHIFT) & (1L << bit)) != 0;
+    }
+
+    /**
+     * Checks whether every tile of an area can be walked on.
+     * Each row of the area is checked a whole word of the bitset at a time.
+     *
+     * @param minX the minimum x-coordinate of the area in tiles
+     * @param minY the minimum y-coordinate of the area in tiles
+     * @param maxX the maximum x-coordinate of the area in tiles, inclusive
+     * @param maxY the maximum y-coordinate of the area in tiles, inclusive
+     * @return true if all tiles exist and are passable, false if any is not or is out of bounds
+     */
+    public boolean isAreaPassable(final int minX, final int minY, final int maxX, final int maxY) {
+        if (minX < 0 || maxX >= getWidth() || minY < 0 || maxY >= getHeight()
+                || minX > maxX || minY > maxY) {
+            return false;
+        }
+        for (int y = minY; y <= maxY; y++) {
+            int rowStart = y * width;
+            if (!areBitsSet(rowStart + minX, rowStart + maxX)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether all bits of a range of the passability bitset are set.
+     *
+     * @param from the first bit of the range
+     * @param to   the last bit of the range, inclusive
+     * @return true if all bits are set, false otherwise
+     */
+    private boolean areBitsSet(final int from, final int to) {
+        int fromWord = from >>> WORD_SHIFT;
+        int toWord = to >>> WORD_SHIFT;
+        long fromMask = ALL_BITS << from;
+        long toMask = ALL_BITS >>> (WORD_MASK - (to & WORD_MASK));
+
+        if (fromWord == toWord) {
+            long mask = fromMask & toMask;
+            return (layer.getPassableWord(fromWord) & mask) == mask;
+        }
+        if ((layer.getPassableWord(fromWord) & fromMask) != fromMask) {
+            return false;
+        }
+        for (int word = fromWord + 1; word < toWord; word++) {
+            if (layer.getPassableWord(word) != ALL_BITS) {
+                return false;
+            }
+        }
+        return (layer.getPassableWord(toWord) & toMask) == toMask;
     }
 
     /**
@@ -120,6 +365,30 @@ public class TileMap {
         return (int) (coordinate / Config.getTileSize());
     }
 
+    /**
+     * Checks whether another map of the same size has the same palette index in every cell.
+     *
+     * @param other the other map
+     * @return true if all cells are the same, false otherwise
+     */
+    private boolean hasSameCells(final TileMap other) {
+        for (int i = 0; i < layer.getCellCount(); i++) {
+            if (layer.getTile(i) != other.layer.getTile(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the layer holding the cells of the map.
+     *
+     * @return the layer
+     */
+    public ITileLayer getLayer() {
+        return layer;
+    }
+
     /**
      * Compares this TileMap with another object for equality.
      * Two TileMap objects are considered equal if they have the same values
@@ -138,7 +407,8 @@ public class TileMap {
         }
         TileMap tileMap = (TileMap) o;
         return mapWidth == tileMap.mapWidth && mapHeight == tileMap.mapHeight
-                && Objects.deepEquals(tiles, tileMap.tiles);
+                && width == tileMap.width && Objects.equals(palette, tileMap.palette)
+                && hasSameCells(tileMap);
     }
 
     /**
@@ -148,7 +418,7 @@ public class TileMap {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(Arrays.deepHashCode(tiles), mapWidth, mapHeight);
+        return Objects.hash(palette, mapWidth, mapHeight);
     }
 
     /**
@@ -158,7 +428,8 @@ public class TileMap {
      */
     @Override
     public String toString() {
-        return "TileMap{" + "tiles=" + Arrays.toString(tiles) + ", mapWidth=" + mapWidth
-                + ", mapHeight=" + mapHeight + '}';
+        return "TileMap{" + "width=" + width + ", height=" + height + ", layer=" + layer
+                + ", palette=" + palette
+                + ", mapWidth=" + mapWidth + ", mapHeight=" + mapHeight + '}';
     }
 }
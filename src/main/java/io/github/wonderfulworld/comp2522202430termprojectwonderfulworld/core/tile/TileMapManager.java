@@ -1,15 +1,22 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
 import org.json.JSONObject;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
-import java.nio.file.Files;
+import java.io.InputStreamReader;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The TileMapManager class represents the management of creation and caching of tile maps.
@@ -19,10 +26,22 @@ import java.util.HashMap;
  * @version 2024
  */
 public final class TileMapManager {
+    /**
+     * The extension of map files in the binary format.
+     */
+    public static final String BINARY_MAP_EXTENSION = ".bin";
+
+    /**
+     * The directory holding the tile definitions.
+     */
+    private static final String TILE_DIRECTORY = "config/tile";
+
     /**
      * A map of cashed tiles, identified by their IDs.
+     * Filled by several threads while preloading, and shared by all game sessions,
+     * since tiles never change.
      */
-    private static final HashMap<String, Tile> CACHED_TILES = new HashMap<>();
+    private static final ConcurrentHashMap<String, Tile> CACHED_TILES = new ConcurrentHashMap<>();
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -34,8 +53,12 @@ public final class TileMapManager {
     }
 
     /**
-     * Creates a TileMap object by reading a map file and associating characters
+     * Creates a TileMap object by reading a map file and associating the tile ids
      * in the file with Tile objects.
+     * Files ending in .bin are read in the binary map format, any other file as a text map.
+     * The file is read through the assets, from the content pack if it holds the map.
+     * Each different tile id becomes one entry of the palette of the map,
+     * and the cells only store the index of their palette entry.
      *
      * @param filename  the name of the map file
      * @param tileSize  the size of each tile in pixels
@@ -43,39 +66,80 @@ public final class TileMapManager {
      * @throws RuntimeException if the map file cannot be loaded
      */
     public static TileMap createTileMap(final String filename, final int tileSize) {
-        int mapWidth = 0;
-        int mapHeight;
-        ArrayList<String> lines = new ArrayList<>();
+        ITileLayer.Mode mode = ITileLayer.Mode.valueOf(Config.getTileLayer());
+        MapFile mapFile;
+        if (filename.endsWith(BINARY_MAP_EXTENSION)) {
+            mapFile = MapFile.readBinary(readMap(filename), filename, mode);
+        } else {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    Assets.openStream(filename), StandardCharsets.UTF_8))) {
+                mapFile = MapFile.readText(reader, mode);
+            } catch (IOException e) {
+                System.err.println("Error while reading map file: " + e.getMessage());
+                throw new RuntimeException("Error while reading map file: " + filename, e);
+            }
+        }
 
-        // Map Parsing
+        ArrayList<Tile> palette = new ArrayList<>(mapFile.getTileIds().size());
+        for (String tileId : mapFile.getTileIds()) {
+            palette.add(getTile(tileId));
+        }
+
+        return new TileMap(mapFile.getWidth(), mapFile.getHeight(), tileSize, palette,
+                mapFile.getLayer());
+    }
+
+    /**
+     * Reads the bytes of a binary map without copying them.
+     *
+     * @param filename the name of the map file
+     * @return the bytes of the map file
+     * @throws RuntimeException if the map file cannot be read
+     */
+    private static MemorySegment readMap(final String filename) {
         try {
-            Reader fileReader = new FileReader(filename);
-            BufferedReader br = new BufferedReader(fileReader);
-
-            String fileLine;
-            while ((fileLine = br.readLine()) != null) {
-                if (fileLine.length() > mapWidth) {
-                    mapWidth = fileLine.length();
-                }
-                lines.add(fileLine);
-            }
+            return Assets.read(filename);
+        } catch (IOException e) {
+            System.err.println("Error while reading map file: " + e.getMessage());
+            throw new RuntimeException("Error while reading map file: " + filename, e);
+        }
+    }
 
-            br.close();
-            fileReader.close();
+    /**
+     * Loads every tile defined in the config directory into the cache, one virtual thread
+     * per tile, so parsing maps afterwards does not read any tile file.
+     * Must be called after the texture atlas is built. Tiles that fail to load are reported
+     * and left to be loaded, and fail again, when a map uses them.
+     */
+    public static void preloadTiles() {
+        List<String> ids;
+        try {
+            ids = Assets.list(TILE_DIRECTORY);
         } catch (IOException e) {
-            System.out.println(e.getMessage());
+            System.err.println("Cannot read directory " + TILE_DIRECTORY + ": " + e.getMessage());
+            return;
         }
 
-        mapHeight = lines.size();
-        TileMap tileMap = new TileMap(mapWidth, mapHeight, tileSize);
-        for (int i = 0; i < lines.size(); i++) {
-            for (int j = 0; j < lines.get(i).length(); j++) {
-                char c = lines.get(i).charAt(j);
-                tileMap.setTile(j, i, getTile(String.valueOf(c)));
+        ArrayList<Future<Tile>> futures = new ArrayList<>(ids.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String id : ids) {
+                // Loading outside computeIfAbsent keeps the virtual threads from being pinned
+                futures.add(executor.submit(() -> loadTile(id)));
             }
         }
 
-        return tileMap;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                CACHED_TILES.putIfAbsent(ids.get(i), futures.get(i).get());
+            } catch (ExecutionException e) {
+                System.err.println("Error while preloading tile " + ids.get(i) + ": "
+                        + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        System.out.println("Tiles preloaded: " + CACHED_TILES.size() + " of " + ids.size() + ".");
     }
 
     /**
@@ -86,21 +150,23 @@ public final class TileMapManager {
      * @throws RuntimeException if the tile configuration or image cannot be loaded
      */
     private static Tile getTile(final String id) {
-        if (CACHED_TILES.containsKey(id)) {
-            return CACHED_TILES.get(id);
-        }
+        return CACHED_TILES.computeIfAbsent(id, TileMapManager::loadTile);
+    }
 
+    /**
+     * Loads a tile from its definition in the config directory.
+     *
+     * @param id the ID of the tile
+     * @return the tile
+     * @throws RuntimeException if the tile configuration or image cannot be loaded
+     */
+    private static Tile loadTile(final String id) {
         try {
-            String content = new String(Files.readAllBytes(Path.of("config/tile/"
-                    + id + "/config.json")));
+            String content = Assets.readString(TILE_DIRECTORY + "/" + id + "/config.json");
             JSONObject config = new JSONObject(content);
 
-            Tile tile = new Tile(Path.of("config/tile/" + id + "/image.png").toUri().toString(),
+            return new Tile(Path.of(TILE_DIRECTORY, id, "image.png").toUri().toString(),
                     config.getBoolean("passable"));
-            CACHED_TILES.put(id, tile);
-
-            return tile;
-
         } catch (IOException e) {
             throw new RuntimeException("Tile not found: " + id);
         }
@@ -1,9 +1,11 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.PlayerConfig;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemFactory;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.location.Location;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.location.LocationManager;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteImages;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteManager;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
@@ -17,6 +19,7 @@ import java.util.ArrayList;
 
 /**
  * The GameModel class is responsible for managing the state of the game.
+ * Each game session owns one model.
  *
  *
  * @author Candice Wei
@@ -27,7 +30,6 @@ public class GameModel {
     /**
      * Player properties.
      */
-    private static GameModel instance;
     @Getter private Player player;
 
     /**
@@ -44,6 +46,7 @@ public class GameModel {
     public void init(final boolean fromSave) {
         System.out.println("Initializing game world...");
         JSONObject playerConfig = PlayerConfig.getPlayerConfig(fromSave);
+        release();
         locationManager = new LocationManager();
 
         initializePlayer(playerConfig);
@@ -55,6 +58,23 @@ public class GameModel {
         System.out.println("Game world initialized.");
     }
 
+    /**
+     * Releases the images of the sprites of the previous game, before a new one replaces it.
+     */
+    private void release() {
+        if (currentLocation != null) {
+            currentLocation.unsetPlayer();
+            currentLocation = null;
+        }
+        if (locationManager != null) {
+            locationManager.release();
+        }
+        if (player != null) {
+            player.releaseImage();
+        }
+        SpriteImages.purge();
+    }
+
     /**
      * Initializes the player with basic attributes from config.
      *
@@ -118,30 +138,30 @@ public class GameModel {
     }
 
     /**
-     * Returns the singleton instance of the GameModel.
+     * Returns the GameModel of the current game session.
      *
      * @return the instance of GameModel
      */
     public static GameModel getInstance() {
-        if (instance == null) {
-            instance = new GameModel();
-        }
-        return instance;
+        return GameSession.current().getModel();
     }
 
     /**
-     * Sets the current location of the game.
+     * Sets the current location of the game. The images of the sprites of the location
+     * the player leaves are released until the player comes back.
      *
      * @param locationId the location id to set
      */
     public void setLocation(final int locationId) {
         if (currentLocation != null) {
             currentLocation.unsetPlayer();
+            currentLocation.unload();
         }
 
         currentLocation = locationManager.getLocation(locationId);
         currentLocation.init();
         currentLocation.setPlayer(player);
+        SpriteImages.purge();
 
         System.out.println("Location set to: " + currentLocation.getName());
     }
@@ -4,31 +4,34 @@ import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.it
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Armor;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Weapon;
 import java.util.Objects;
-import lombok.Getter;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a character's equipped items, including a weapon and armor.
  * This class allows for managing the character's weapon and armor by setting
  * and unsetting these items, and updating the inventory accordingly.
+ * Listeners are told about every change, the view binds to them through ModelProperties.
  *
  *
  * @author Melissa Shao
  * @version 2024
  */
-@Getter
 public class Equipment {
 
     /**
-     * Property for the weapon currently equipped by the character.
+     * The weapon currently equipped by the character.
      */
-    private final ObjectProperty<Weapon> weaponProperty = new SimpleObjectProperty<>();
+    private volatile Weapon weapon;
 
     /**
-     * Property for the armor currently equipped by the character.
+     * The armor currently equipped by the character.
      */
-    private final ObjectProperty<Armor> armorProperty = new SimpleObjectProperty<>();
+    private volatile Armor armor;
+
+    /**
+     * Called after the weapon or the armor changed, on the thread that changed them.
+     */
+    private final CopyOnWriteArrayList<Runnable> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Gets the currently equipped weapon.
@@ -36,7 +39,7 @@ public class Equipment {
      * @return the equipped weapon, or null if no weapon is equipped
      */
     public Weapon getWeapon() {
-        return weaponProperty.get();
+        return weapon;
     }
 
     /**
@@ -45,7 +48,7 @@ public class Equipment {
      * @return the equipped armor, or null if no armor is equipped
      */
     public Armor getArmor() {
-        return armorProperty.get();
+        return armor;
     }
 
     /**
@@ -61,23 +64,23 @@ public class Equipment {
         inventory.removeItem(item);
 
         // If the item is a weapon
-        if (item instanceof Weapon weapon) {
+        if (item instanceof Weapon newWeapon) {
             // If the player has a weapon before, put the old weapon into inventory
-            if (weaponProperty.get() != null) {
-                inventory.addItem(weaponProperty.get());
+            if (weapon != null && !inventory.addItem(weapon)) {
+                weapon.releaseImage(); // No room left, so the old weapon is gone for good
             }
             // Put on the new weapon
-            weaponProperty.set(weapon);
+            setWeapon(newWeapon);
         }
 
         // If the item is an armor
-        if (item instanceof Armor armor) {
+        if (item instanceof Armor newArmor) {
             // If the player has an armor before, put the old armor into inventory
-            if (armorProperty.get() != null) {
-                inventory.addItem(armorProperty.get());
+            if (armor != null && !inventory.addItem(armor)) {
+                armor.releaseImage(); // No room left, so the old armor is gone for good
             }
             // Put on the new armor
-            armorProperty.set(armor);
+            setArmor(newArmor);
         }
     }
 
@@ -91,52 +94,85 @@ public class Equipment {
      */
     public void unsetEquipment(final AEquipment item, final Inventory inventory) {
         // If the item is a weapon
-        if (item instanceof Weapon weapon) {
+        if (item instanceof Weapon oldWeapon) {
             // If the player has no current weapon, return none
-            if (weaponProperty.get() == null) {
+            if (weapon == null) {
                 return;
             }
             // If the weapon is the same with item, put the weapon back into inventory
-            if (weaponProperty.get().equals(weapon)) {
+            if (weapon.equals(oldWeapon)) {
                 if (inventory.addItem(item)) {
                     // Set the current weapon to be null
-                    weaponProperty.set(null);
+                    setWeapon(null);
                 }
             }
         }
 
         // If the item is an armor
-        if (item instanceof Armor armor) {
+        if (item instanceof Armor oldArmor) {
             // If the player has no current armor, return none
-            if (armorProperty.get() == null) {
+            if (armor == null) {
                 return;
             }
             // If the armor is the same with item, put the armor back into inventory
-            if (armorProperty.get().equals(armor)) {
+            if (armor.equals(oldArmor)) {
                 if (inventory.addItem(item)) {
                     // Set the current armor to be null
-                    armorProperty.set(null);
+                    setArmor(null);
                 }
             }
         }
     }
 
     /**
-     * Property for weapon, used for data binding.
+     * Equips a weapon, telling the listeners if it is different.
+     *
+     * @param newWeapon the weapon, or null to equip none
+     */
+    private void setWeapon(final Weapon newWeapon) {
+        if (weapon != newWeapon) {
+            weapon = newWeapon;
+            fireChanged();
+        }
+    }
+
+    /**
+     * Equips an armor, telling the listeners if it is different.
+     *
+     * @param newArmor the armor, or null to equip none
+     */
+    private void setArmor(final Armor newArmor) {
+        if (armor != newArmor) {
+            armor = newArmor;
+            fireChanged();
+        }
+    }
+
+    /**
+     * Adds a listener called after the weapon or the armor changed.
      *
-     * @return the weapon property
+     * @param listener the listener
      */
-    public ObjectProperty<Weapon> weaponProperty() {
-        return weaponProperty;
+    public void addListener(final Runnable listener) {
+        listeners.add(listener);
     }
 
     /**
-     * Property for armor, used for data binding.
+     * Removes a listener added before.
      *
-     * @return the armor property
+     * @param listener the listener
      */
-    public ObjectProperty<Armor> armorProperty() {
-        return armorProperty;
+    public void removeListener(final Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Tells the listeners that the equipped items changed.
+     */
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
     }
 
     /**
@@ -146,8 +182,8 @@ public class Equipment {
      */
     @Override
     public String toString() {
-        return "Equipment{" + "weapon=" + weaponProperty.get() + ", armor="
-                + armorProperty.get() + '}';
+        return "Equipment{" + "weapon=" + weapon + ", armor="
+                + armor + '}';
     }
 
     /**
@@ -166,8 +202,8 @@ public class Equipment {
             return false;
         }
         Equipment equipment = (Equipment) object;
-        return Objects.equals(weaponProperty.get(), equipment.weaponProperty.get())
-                && Objects.equals(armorProperty.get(), equipment.armorProperty.get());
+        return Objects.equals(weapon, equipment.weapon)
+                && Objects.equals(armor, equipment.armor);
     }
 
     /**
@@ -177,5 +213,5 @@ public class Equipment {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(weaponProperty.get(), armorProperty.get());    }
+        return Objects.hash(weapon, armor);    }
 }
@@ -1,14 +1,14 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.component;
 
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.SimpleDoubleProperty;
 import lombok.Getter;
 import lombok.Setter;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a character's health (HP) and provides methods to manage it.
  * This class allows adding and reducing health when the health changes.
+ * Listeners are told about every change, the view binds to them through ModelProperties.
  *
  *
  * @author Melissa Shao
@@ -22,9 +22,14 @@ public class HP {
     @Getter @Setter private double initialHealth;
 
     /**
-     * The current health of the character, represented as a DoubleProperty.
+     * The current health of the character.
      */
-    private final DoubleProperty currentHealth;
+    private volatile double currentHealth;
+
+    /**
+     * Called after the current health changed, on the thread that changed it.
+     */
+    private final CopyOnWriteArrayList<Runnable> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs an HP instance with a specified initial health value.
@@ -33,7 +38,7 @@ public class HP {
      */
     public HP(final double health) {
         this.initialHealth = health;
-        this.currentHealth = new SimpleDoubleProperty(health);
+        this.currentHealth = health;
     }
 
     /**
@@ -42,7 +47,7 @@ public class HP {
      * @param health the amount of health to add
      */
     public void addHealth(final double health) {
-        currentHealth.set(Math.min(currentHealth.get() + health, initialHealth));
+        set(Math.min(currentHealth + health, initialHealth));
     }
 
     /**
@@ -51,16 +56,40 @@ public class HP {
      * @param health the amount of health to reduce
      */
     public void reduceHealth(final double health) {
-        currentHealth.set(Math.max(currentHealth.get() - health, 0));
+        set(Math.max(currentHealth - health, 0));
     }
 
     /**
-     * Gets the current health property for data binding.
+     * Adds a listener called after the current health changed.
      *
-     * @return the current health property
+     * @param listener the listener
      */
-    public DoubleProperty healthProperty() {
-        return currentHealth;
+    public void addListener(final Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added before.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(final Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Changes the current health, telling the listeners if it is different.
+     *
+     * @param health the new health value
+     */
+    private void set(final double health) {
+        if (Double.compare(currentHealth, health) == 0) {
+            return;
+        }
+        currentHealth = health;
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
     }
 
     /**
@@ -69,7 +98,7 @@ public class HP {
      * @return the current health value, rounded to the nearest whole number
      */
     public double getHealth() {
-        return currentHealth.get();
+        return currentHealth;
     }
 
     /**
@@ -78,7 +107,7 @@ public class HP {
      * @param health the new health value
      */
     public void setHealth(final double health) {
-        currentHealth.set(Math.min(health, initialHealth));
+        set(Math.min(health, initialHealth));
     }
 
     /**
@@ -89,7 +118,7 @@ public class HP {
     @Override
     public String toString() {
         return "HP{" + "initialHealth=" + initialHealth
-                + ", currentHealth=" + currentHealth.get() + '}';
+                + ", currentHealth=" + currentHealth + '}';
     }
 
     /**
@@ -109,7 +138,7 @@ public class HP {
         }
         HP hp = (HP) object;
         return Double.compare(initialHealth, hp.initialHealth) == 0
-                && Double.compare(currentHealth.get(), hp.currentHealth.get()) == 0;
+                && Double.compare(currentHealth, hp.currentHealth) == 0;
     }
 
     /**
@@ -119,6 +148,6 @@ public class HP {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(initialHealth, currentHealth.get());
+        return Objects.hash(initialHealth, currentHealth);
     }
 }
@@ -3,13 +3,14 @@ package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.c
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.AccessLevel;
 import lombok.Getter;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleIntegerProperty;
 
 /**
  * Represents an inventory for managing items with a defined capacity.
  * The inventory can store, add, and remove items while keeping track of its maximum capacity.
+ * Listeners are told about every change, the view binds to them through ModelProperties.
  *
  *
  * @author Melissa Shao
@@ -28,10 +29,10 @@ public class Inventory {
     private final ArrayList<AItem> items = new ArrayList<>();
 
     /**
-     * Properties for quantity and capacity.
+     * Called after an item was added or removed, on the thread that changed the inventory.
      */
-    private final IntegerProperty quantityProperty = new SimpleIntegerProperty(0);
-    private final IntegerProperty capacityProperty = new SimpleIntegerProperty();
+    @Getter(AccessLevel.NONE)
+    private final CopyOnWriteArrayList<Runnable> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs an Inventory with the specified maximum capacity.
@@ -40,7 +41,6 @@ public class Inventory {
      */
     public Inventory(final int capacity) {
         this.capacity = capacity;
-        this.capacityProperty.set(capacity);
     }
 
     /**
@@ -53,7 +53,7 @@ public class Inventory {
     public boolean addItem(final AItem item) {
         if (!isFull() && !isInInventory(item)) {
             items.add(item);
-            quantityProperty.set(items.size()); // Update quantity property
+            fireChanged(); // Update the views of the quantity
             return true;
         }
         return false;
@@ -67,7 +67,7 @@ public class Inventory {
      */
     public boolean removeItem(final AItem item) {
         if (items.remove(item)) {
-            quantityProperty.set(items.size()); // Update quantity property
+            fireChanged(); // Update the views of the quantity
             return true;
         }
         return false;
@@ -94,21 +94,39 @@ public class Inventory {
 
 
     /**
-     * Property for quantity, used for data binding.
+     * Gets the number of items in the inventory.
      *
-     * @return the quantity property
+     * @return the number of items
      */
-    public IntegerProperty quantityProperty() {
-        return quantityProperty;
+    public int getQuantity() {
+        return items.size();
     }
 
     /**
-     * Property for capacity, used for data binding.
+     * Adds a listener called after an item was added or removed.
      *
-     * @return the capacity property
+     * @param listener the listener
      */
-    public IntegerProperty capacityProperty() {
-        return capacityProperty;
+    public void addListener(final Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added before.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(final Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Tells the listeners that the items changed.
+     */
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
     }
 
     /**
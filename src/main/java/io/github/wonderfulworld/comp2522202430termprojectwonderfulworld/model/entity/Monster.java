@@ -1,13 +1,11 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.IDamageable;
-import javafx.geometry.Rectangle2D;
-import java.util.List;
 import java.util.Objects;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.Getter;
 
 /**
@@ -15,6 +13,8 @@ import lombok.Getter;
  * in combat and pursue targets in the game world.
  * It defines the behavior for attacking, receiving damage, and switching between random movement
  * and targeted pursuit of a player.
+ * The stats of a monster are shared with every monster of the same kind,
+ * a monster only holds its own position, health, timers and combat state.
  *
  * @author Melissa Shao
  * @version 2024
@@ -29,22 +29,27 @@ public class Monster extends ASprite implements IDamageable  {
     private static final double RESET_WAITING_TIME = 3.0;
     private static final double RESET_MOVING_TIME = 2.0;
 
+    /**
+     * Every order of the four movement directions, shared by all monsters.
+     */
+    private static final int[][] DIRECTION_SEQUENCES = createDirectionSequences();
+
     /**
      * The target player that the monster is currently pursuing.
      */
     private Player aim;
 
     /**
-     * Monster attributes.
+     * The stats shared with every monster of the same kind.
+     * -- GETTER --
+     * Gets the stats of the monster.
+     */
+    @Getter private final MonsterStats stats;
+
+    /**
+     * The health points left.
      */
-    @Getter
-    private final String name;
-    @Getter private final double damage;
-    @Getter private final double damageRadius;
-    @Getter private final double viewingRadius;
     @Getter private double health;
-    private final double speed; // Movement speed in pixels per second
-    private final double attackSpeed; // Attack cooldown in milliseconds
 
     /**
      * Timers for movement and combat mode.
@@ -56,17 +61,17 @@ public class Monster extends ASprite implements IDamageable  {
      * Directional attributes for random movement.
      */
     private int currentDirectionIndex = 0;
-    private final Integer[] directionSequence = {1, 2, 3, 4};
+    private final int[] directionSequence;
 
     /**
      * Combat-related flags.
      */
     private boolean inCombat = false;
     private boolean isDead;
-    private double lastAttack;
+    private double lastAttack = Double.NEGATIVE_INFINITY;
 
     /**
-     * Constructs a Monster with specified attributes.
+     * Constructs a Monster with specified attributes and no image.
      *
      * @param name          the name of the monster
      * @param health        the health points of the monster
@@ -79,35 +84,124 @@ public class Monster extends ASprite implements IDamageable  {
     public Monster(final String name, final double health, final double damage,
                    final double damageRadius, final double viewingRadius,
                    final double speed, final double attackSpeed) {
-        this.name = name;
-        this.health = health;
-        this.damage = damage;
-        this.damageRadius = damageRadius;
-        this.viewingRadius = viewingRadius;
-        this.speed = speed;
-        this.attackSpeed = attackSpeed;
-
-        // Initialize a random direction sequence
-        List<Integer> intList = Arrays.asList(directionSequence);
-        Collections.shuffle(intList);
-        intList.toArray(directionSequence);
-
-        // Set a random initial waiting time
-        Random random = new Random();
+        this(new MonsterStats(name, health, damage, damageRadius, viewingRadius, speed,
+                attackSpeed, null));
+    }
+
+    /**
+     * Constructs a Monster of the kind described by the specified stats, with full health.
+     *
+     * @param stats the stats shared with every monster of the same kind
+     */
+    public Monster(final MonsterStats stats) {
+        this.stats = stats;
+        this.health = stats.getHealth();
+
+        // Pick a random direction sequence and initial waiting time
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        directionSequence = DIRECTION_SEQUENCES[random.nextInt(DIRECTION_SEQUENCES.length)];
         waitingTimer = random.nextDouble() * RANDOM_WAITING_TIME_MAX;
     }
 
+    /**
+     * Creates every order of the four movement directions.
+     *
+     * @return the direction sequences
+     */
+    private static int[][] createDirectionSequences() {
+        int[] directions = {MOVEMENT_DIRECTION_TOP, MOVEMENT_DIRECTION_RIGHT,
+            MOVEMENT_DIRECTION_BOTTOM, MOVEMENT_DIRECTION_LEFT};
+        int count = 1;
+        for (int i = 2; i <= directions.length; i++) {
+            count *= i;
+        }
+
+        int[][] sequences = new int[count][];
+        for (int i = 0; i < count; i++) {
+            // Decode the index as a permutation, picking one remaining direction per step
+            int[] remaining = directions.clone();
+            int[] sequence = new int[directions.length];
+            int rest = i;
+            for (int j = 0; j < sequence.length; j++) {
+                int left = directions.length - j;
+                int pick = rest % left;
+                rest /= left;
+                sequence[j] = remaining[pick];
+                remaining[pick] = remaining[left - 1];
+            }
+            sequences[i] = sequence;
+        }
+        return sequences;
+    }
+
+    /**
+     * Gets the name of the monster.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return stats.getName();
+    }
+
+    /**
+     * Gets the damage points of the monster.
+     *
+     * @return the damage
+     */
+    public double getDamage() {
+        return stats.getDamage();
+    }
+
+    /**
+     * Gets the radius within which the monster can deal damage.
+     *
+     * @return the damage radius
+     */
+    public double getDamageRadius() {
+        return stats.getDamageRadius();
+    }
+
+    /**
+     * Gets the viewing radius of the monster.
+     *
+     * @return the viewing radius
+     */
+    public double getViewingRadius() {
+        return stats.getViewingRadius();
+    }
+
+    /**
+     * Gets the cooldown time between attacks of the monster.
+     *
+     * @return the attack speed (in milliseconds)
+     */
+    @Override
+    public double getAttackSpeed() {
+        return stats.getAttackSpeed();
+    }
+
+    /**
+     * Gets the session time of the last attack of the monster.
+     *
+     * @return the time (in milliseconds), or negative infinity if it never attacked
+     */
+    @Override
+    public double getLastAttack() {
+        return lastAttack;
+    }
+
     /**
      * Attacks the specified target if the cooldown period has passed.
      *
      * @param target the target player to attack
      */
     public void attack(final IDamageable target) {
-        if ((System.currentTimeMillis() - lastAttack) < attackSpeed) {
+        double now = GameSession.current().getClock().getMillis();
+        if ((now - lastAttack) < stats.getAttackSpeed()) {
             return;
         }
 
-        lastAttack = System.currentTimeMillis(); // Reset the cooldown timer
+        lastAttack = now; // Reset the cooldown timer
 
         if (!target.isDead()) {
             ((Player) target).inAttack(this);
@@ -147,7 +241,7 @@ public class Monster extends ASprite implements IDamageable  {
      * @return true if the target is within the viewing radius, false otherwise
      */
     public boolean intersectsRadiusViewBox(final ASprite s) {
-        return s.getCollisionBox().intersects(this.getRadiusViewCollisionBox());
+        return intersectsRadius(s, stats.getViewingRadius());
     }
 
     /**
@@ -157,35 +251,29 @@ public class Monster extends ASprite implements IDamageable  {
      * @return true if the target is within the damage radius, false otherwise
      */
     public boolean intersectsDamageBox(final ASprite s) {
-        return s.getCollisionBox().intersects(this.getDamageRadiusBox());
+        return intersectsRadius(s, stats.getDamageRadius());
     }
 
     /**
-     * Gets damage radius box.
+     * Checks if the target is within the box of the monster grown by the radius on every side.
      *
-     * @return The damage radius box.
+     * @param s      the target to check
+     * @param radius the radius around the monster
+     * @return true if the target is within the radius, false otherwise
      */
-    public Rectangle2D getDamageRadiusBox() {
-
-        return new Rectangle2D(
-                positionX - damageRadius,
-                positionY - damageRadius,
-                width + (2 * damageRadius),
-                height + (2 * damageRadius));
+    private boolean intersectsRadius(final ASprite s, final double radius) {
+        return s.intersects(positionX - radius, positionY - radius,
+                positionX + width + radius, positionY + height + radius);
     }
 
     /**
-     * Gets radius view collision box.
+     * Gets the reach of the monster, which is the larger of its viewing and damage radius.
      *
-     * @return The radius view collision box.
+     * @return the reach in pixels
      */
-    public Rectangle2D getRadiusViewCollisionBox() {
-
-        return new Rectangle2D(
-                positionX - viewingRadius,
-                positionY - viewingRadius,
-                width + (2 * viewingRadius),
-                height + (2 * viewingRadius));
+    @Override
+    public double getReach() {
+        return Math.max(stats.getViewingRadius(), stats.getDamageRadius());
     }
 
     /**
@@ -206,7 +294,7 @@ public class Monster extends ASprite implements IDamageable  {
      * @param delta the time delta for movement calculations
      */
     private void moveToAim(final double delta) {
-        int path = (int) (speed * delta);
+        double path = stats.getSpeed() * delta;
 
         if (intersectsDamageBox(aim)) {
             attack(aim);
@@ -244,12 +332,13 @@ public class Monster extends ASprite implements IDamageable  {
         if (waitingTimer < 0) {
             movingTimer -= delta;
             if (movingTimer > 0) {
+                double path = stats.getSpeed() * delta;
                 int directionNumber = directionSequence[currentDirectionIndex];
                 switch (directionNumber) {
-                    case MOVEMENT_DIRECTION_TOP -> positionX += (int) (speed * delta);
-                    case MOVEMENT_DIRECTION_RIGHT -> positionX -= (int) (speed * delta);
-                    case MOVEMENT_DIRECTION_BOTTOM -> positionY += (int) (speed * delta);
-                    case MOVEMENT_DIRECTION_LEFT -> positionY -= (int) (speed * delta);
+                    case MOVEMENT_DIRECTION_TOP -> positionX += path;
+                    case MOVEMENT_DIRECTION_RIGHT -> positionX -= path;
+                    case MOVEMENT_DIRECTION_BOTTOM -> positionY += path;
+                    case MOVEMENT_DIRECTION_LEFT -> positionY -= path;
                     default -> throw new IllegalStateException("Unexpected direction: "
                             + directionNumber);
                 }
@@ -295,13 +384,8 @@ public class Monster extends ASprite implements IDamageable  {
     public String toString() {
         return "Monster{"
                 + "aim=" + aim
-                + ", name='" + name
-                + '\'' + ", damage=" + damage
-                + ", damageRadius=" + damageRadius
-                + ", viewingRadius=" + viewingRadius
+                + ", stats=" + stats
                 + ", health=" + health
-                + ", speed=" + speed
-                + ", attackSpeed=" + attackSpeed
                 + ", movingTimer=" + movingTimer
                 + ", waitingTimer=" + waitingTimer
                 + ", currentDirectionIndex=" + currentDirectionIndex
@@ -332,20 +416,15 @@ public class Monster extends ASprite implements IDamageable  {
             return false;
         }
         Monster monster = (Monster) object;
-        return Double.compare(damage, monster.damage) == 0
-                && Double.compare(damageRadius, monster.damageRadius) == 0
-                && Double.compare(viewingRadius, monster.viewingRadius) == 0
-                && Double.compare(health, monster.health) == 0
-                && Double.compare(speed, monster.speed) == 0
-                && Double.compare(attackSpeed, monster.attackSpeed) == 0
+        return Double.compare(health, monster.health) == 0
                 && Double.compare(movingTimer, monster.movingTimer) == 0
                 && Double.compare(waitingTimer, monster.waitingTimer) == 0
                 && currentDirectionIndex == monster.currentDirectionIndex
                 && inCombat == monster.inCombat && isDead == monster.isDead
                 && Double.compare(lastAttack, monster.lastAttack) == 0
                 && Objects.equals(aim, monster.aim)
-                && Objects.equals(name, monster.name)
-                && Objects.deepEquals(directionSequence, monster.directionSequence);
+                && Objects.equals(stats, monster.stats)
+                && Arrays.equals(directionSequence, monster.directionSequence);
     }
 
     /**
@@ -355,8 +434,8 @@ public class Monster extends ASprite implements IDamageable  {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), aim, name, damage, damageRadius, viewingRadius,
-                health, speed, attackSpeed, movingTimer, waitingTimer, currentDirectionIndex,
+        return Objects.hash(super.hashCode(), aim, stats, health, movingTimer, waitingTimer,
+                currentDirectionIndex,
                 Arrays.hashCode(directionSequence), inCombat, isDead, lastAttack);
     }
 }
@@ -0,0 +1,114 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity;
+
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * The MonsterStats class represents the stats of a kind of monster.
+ * Stats are immutable and shared by every monster of the same kind,
+ * so a monster only holds the state that changes while playing.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+@Getter
+public final class MonsterStats {
+    /**
+     * Monster attributes.
+     */
+    private final String name;
+    private final double health;
+    private final double damage;
+    private final double damageRadius;
+    private final double viewingRadius;
+    private final double speed; // Movement speed in pixels per second
+    private final double attackSpeed; // Attack cooldown in milliseconds
+
+    /**
+     * The URI of the image of the monster, or null if it has none.
+     */
+    private final String imagePath;
+
+    /**
+     * Constructs new MonsterStats with specified attributes.
+     *
+     * @param name          the name of the monster
+     * @param health        the initial health points of the monster
+     * @param damage        the damage points of the monster
+     * @param damageRadius  the radius within which the monster can deal damage
+     * @param viewingRadius the viewing radius of the monster
+     * @param speed         the movement speed of the monster
+     * @param attackSpeed   the cooldown time between attacks
+     * @param imagePath     the URI of the image of the monster, or null if it has none
+     */
+    public MonsterStats(final String name, final double health, final double damage,
+                        final double damageRadius, final double viewingRadius,
+                        final double speed, final double attackSpeed, final String imagePath) {
+        this.name = name;
+        this.health = health;
+        this.damage = damage;
+        this.damageRadius = damageRadius;
+        this.viewingRadius = viewingRadius;
+        this.speed = speed;
+        this.attackSpeed = attackSpeed;
+        this.imagePath = imagePath;
+    }
+
+    /**
+     * Compares these MonsterStats with another object for equality.
+     * Two MonsterStats objects are considered equal if they have the same values
+     * for all properties.
+     *
+     * @param object the object to compare with these MonsterStats
+     * @return true if the given object is equal to these MonsterStats, false otherwise
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        MonsterStats that = (MonsterStats) object;
+        return Double.compare(health, that.health) == 0
+                && Double.compare(damage, that.damage) == 0
+                && Double.compare(damageRadius, that.damageRadius) == 0
+                && Double.compare(viewingRadius, that.viewingRadius) == 0
+                && Double.compare(speed, that.speed) == 0
+                && Double.compare(attackSpeed, that.attackSpeed) == 0
+                && Objects.equals(name, that.name)
+                && Objects.equals(imagePath, that.imagePath);
+    }
+
+    /**
+     * Returns the hash code of these MonsterStats.
+     *
+     * @return the hash code value of the MonsterStats as an integer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, health, damage, damageRadius, viewingRadius, speed,
+                attackSpeed, imagePath);
+    }
+
+    /**
+     * Returns a string representation of these MonsterStats.
+     *
+     * @return the representation of the MonsterStats as a string
+     */
+    @Override
+    public String toString() {
+        return "MonsterStats{"
+                + "name='" + name + '\''
+                + ", health=" + health
+                + ", damage=" + damage
+                + ", damageRadius=" + damageRadius
+                + ", viewingRadius=" + viewingRadius
+                + ", speed=" + speed
+                + ", attackSpeed=" + attackSpeed
+                + '}';
+    }
+}
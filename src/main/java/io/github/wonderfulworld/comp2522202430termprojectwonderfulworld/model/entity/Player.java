@@ -1,5 +1,6 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.IDamageable;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.component.Equipment;
@@ -7,14 +8,14 @@ import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.co
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.component.Inventory;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.recovery.AEquipment;
-import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.StateManager;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.recovery.HealthBottle;
-import javafx.geometry.Rectangle2D;
-import javafx.scene.image.Image;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ISpriteImage;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteImages;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Objects;
 import lombok.Getter;
+import lombok.Setter;
 
 /**
  * The Player class represents a character in the game.
@@ -30,10 +31,25 @@ public class Player extends ASprite implements IDamageable {
      * The enum Direction.
      */
     private enum Direction {
-        TOP,
-        RIGHT,
-        BOTTOM,
-        LEFT
+        TOP("player_top.png"),
+        RIGHT("player_right.png"),
+        BOTTOM("player_bottom.png"),
+        LEFT("player_left.png");
+
+        /**
+         * The URI of the image of the character facing this direction,
+         * resolved once rather than for every new player.
+         */
+        private final String imagePath;
+
+        /**
+         * Constructs a new Direction.
+         *
+         * @param filename the name of the image file in the player config directory
+         */
+        Direction(final String filename) {
+            imagePath = Path.of("config/player/" + filename).toUri().toString();
+        }
     }
 
     /**
@@ -57,7 +73,7 @@ public class Player extends ASprite implements IDamageable {
      * <p>
      * The images of the character in different directions.
      */
-    private final HashMap<Direction, Image> images = new HashMap<>();
+    private final HashMap<Direction, ISpriteImage> images = new HashMap<>();
 
     /**
      * The Current direction.
@@ -70,7 +86,7 @@ public class Player extends ASprite implements IDamageable {
      * Player status variables.
      */
     private boolean isDead; // Flag to indicate if the player is dead
-    private double lastAttack; // Timestamp of the last attack to manage cooldowns
+    private double lastAttack = Double.NEGATIVE_INFINITY; // Session time of the last attack
 
     /**
      * Character properties.
@@ -87,6 +103,13 @@ public class Player extends ASprite implements IDamageable {
     @Getter private final Inventory inventory; // Inventory for storing items
     @Getter private final Equipment equipment; // Equipment for combat enhancements
 
+    /**
+     * Called once when the player dies, so the game can react without the model knowing it.
+     * -- SETTER --
+     * Sets what happens when the player dies.
+     */
+    @Setter private Runnable onDeath = () -> { };
+
     /**
      * Constructs a new Player instance with specified attributes.
      *
@@ -108,18 +131,33 @@ public class Player extends ASprite implements IDamageable {
         this.isDead = false;
 
         // Setting Up Direction Images
-        images.put(Direction.TOP, new Image(Path.of("config/player/player_top.png")
-                .toUri().toString()));
-        images.put(Direction.RIGHT, new Image(Path.of("config/player/player_right.png")
-                .toUri().toString()));
-        images.put(Direction.BOTTOM, new Image(Path.of("config/player/player_bottom.png")
-                .toUri().toString()));
-        images.put(Direction.LEFT, new Image(Path.of("config/player/player_left.png")
-                .toUri().toString()));
+        for (Direction direction : Direction.values()) {
+            images.put(direction, SpriteImages.load(direction.imagePath));
+        }
 
         // Setting Up Default Image
         currentDirection = Direction.BOTTOM;
-        setImage(images.get(currentDirection));
+        setRegion(images.get(currentDirection));
+    }
+
+    /**
+     * Gets the cooldown time between attacks of the player.
+     *
+     * @return the attack speed (in milliseconds)
+     */
+    @Override
+    public double getAttackSpeed() {
+        return ATTACK_SPEED;
+    }
+
+    /**
+     * Gets the session time of the last attack of the player.
+     *
+     * @return the time (in milliseconds), or negative infinity if it never attacked
+     */
+    @Override
+    public double getLastAttack() {
+        return lastAttack;
     }
 
     /**
@@ -130,11 +168,12 @@ public class Player extends ASprite implements IDamageable {
      */
     @Override
     public void attack(final IDamageable target) {
-        if ((System.currentTimeMillis() - lastAttack) < ATTACK_SPEED) {
+        double now = GameSession.current().getClock().getMillis();
+        if ((now - lastAttack) < ATTACK_SPEED) {
             return; // Attack is on cooldown, so exit method
         }
 
-        lastAttack = System.currentTimeMillis(); // Reset cooldown timer
+        lastAttack = now; // Reset cooldown timer
 
         if (!target.isDead()) {
             ((Monster) target).inAttack(this);
@@ -151,9 +190,9 @@ public class Player extends ASprite implements IDamageable {
         double incomingDamage = monster.getDamage()
                 * (PERCENTAGE_BASE / (PERCENTAGE_BASE + getArmor())); // Calculate effective damage
         health.reduceHealth(incomingDamage); // Reduce health by calculated damage
-        if (health.getHealth() == 0) {
+        if (health.getHealth() == 0 && !isDead) {
             isDead = true;
-            StateManager.gameOver(); // Trigger game over sequence
+            onDeath.run(); // Trigger game over sequence
         }
     }
 
@@ -179,6 +218,7 @@ public class Player extends ASprite implements IDamageable {
 
         health.addHealth(healthBottle.getHealth()); // Add health points
         inventory.removeItem(healthBottle); // Remove the used item from inventory
+        healthBottle.releaseImage(); // The used item is gone for good
     }
 
     /**
@@ -290,7 +330,15 @@ public class Player extends ASprite implements IDamageable {
      * @return True if the sprite intersects with the attack area, false otherwise.
      */
     public boolean intersectsAttackBox(final ASprite s) {
-        return s.getCollisionBox().intersects(this.getAttackCollisionBox());
+        double radius = getDamageRadius();
+        return switch (currentDirection) {
+            case TOP -> s.intersects(positionX, positionY - radius, positionX + width, positionY);
+            case RIGHT -> s.intersects(positionX + width, positionY,
+                    positionX + width + radius, positionY + height);
+            case BOTTOM -> s.intersects(positionX, positionY + height,
+                    positionX + width, positionY + height + radius);
+            case LEFT -> s.intersects(positionX - radius, positionY, positionX, positionY + height);
+        };
     }
 
     /**
@@ -300,34 +348,17 @@ public class Player extends ASprite implements IDamageable {
      * @return True if the sprite intersects with the movement area, false otherwise.
      */
     public boolean intersectsMoveBox(final ASprite s) {
-        return s.getCollisionBox().intersects(this.getMoveBox());
+        return s.intersects(positionX, getMoveBoxMinY(), positionX + width, positionY + height);
     }
 
     /**
-     * Returns the attack area of the sprite as a Rectangle2D object.
+     * Returns the top of the movement area of the sprite's legs.
+     * The movement area spans the width of the sprite, down to its bottom.
      *
-     * @return A Rectangle2D object representing the attack area of the sprite.
+     * @return The minimum y-coordinate of the movement area.
      */
-    public Rectangle2D getAttackCollisionBox() {
-        return switch (currentDirection) {
-            case TOP -> new Rectangle2D(positionX,
-                    positionY - getDamageRadius(), width, getDamageRadius());
-            case RIGHT -> new Rectangle2D(positionX
-                    + width, positionY, getDamageRadius(), height);
-            case BOTTOM -> new Rectangle2D(positionX,
-                    positionY + height, width, getDamageRadius());
-            case LEFT -> new Rectangle2D(positionX
-                    - getDamageRadius(), positionY, getDamageRadius(), height);
-        };
-    }
-
-    /**
-     * Returns the movement area of the sprite's legs as a Rectangle2D object.
-     *
-     * @return A Rectangle2D object representing the movement area of the sprite's legs.
-     */
-    public Rectangle2D getMoveBox() {
-        return new Rectangle2D(positionX, positionY + height - LEG_HEIGHT, width, LEG_HEIGHT);
+    public double getMoveBoxMinY() {
+        return positionY + height - LEG_HEIGHT;
     }
 
     /**
@@ -335,10 +366,10 @@ public class Player extends ASprite implements IDamageable {
      *
      * @param path the distance to move upward
      */
-    public void moveUp(final int path) {
+    public void moveUp(final double path) {
         if (currentDirection != Direction.TOP) {
             currentDirection = Direction.TOP;
-            setImage(images.get(currentDirection));
+            setRegion(images.get(currentDirection));
         }
         positionY -= path;
     }
@@ -348,10 +379,10 @@ public class Player extends ASprite implements IDamageable {
      *
      * @param path the distance to move to the right
      */
-    public void moveRight(final int path) {
+    public void moveRight(final double path) {
         if (currentDirection != Direction.RIGHT) {
             currentDirection = Direction.RIGHT;
-            setImage(images.get(currentDirection));
+            setRegion(images.get(currentDirection));
         }
         positionX += path;
     }
@@ -361,10 +392,10 @@ public class Player extends ASprite implements IDamageable {
      *
      * @param path the distance to move downward
      */
-    public void moveDown(final int path) {
+    public void moveDown(final double path) {
         if (currentDirection != Direction.BOTTOM) {
             currentDirection = Direction.BOTTOM;
-            setImage(images.get(currentDirection));
+            setRegion(images.get(currentDirection));
         }
         positionY += path;
     }
@@ -374,15 +405,37 @@ public class Player extends ASprite implements IDamageable {
      *
      * @param path the distance to move to the left
      */
-    public void moveLeft(final int path) {
+    public void moveLeft(final double path) {
         if (currentDirection != Direction.LEFT) {
             currentDirection = Direction.LEFT;
-            setImage(images.get(currentDirection));
+            setRegion(images.get(currentDirection));
         }
         positionX -= path;
     }
 
 
+    /**
+     * Releases the images of the character, and of the items it carries and wears,
+     * when the player is replaced by the one of a new game.
+     */
+    @Override
+    public void releaseImage() {
+        super.releaseImage();
+        for (Direction direction : images.keySet()) {
+            SpriteImages.release(direction.imagePath);
+        }
+        images.clear();
+        for (AItem item : inventory.getItems()) {
+            item.releaseImage();
+        }
+        if (equipment.getWeapon() != null) {
+            equipment.getWeapon().releaseImage();
+        }
+        if (equipment.getArmor() != null) {
+            equipment.getArmor().releaseImage();
+        }
+    }
+
     /**
      * Returns a string representation of this Player.
      *
@@ -45,9 +45,10 @@ public class Portal extends ASprite {
 
     /**
      * Activates the portal, and transports the player to next map.
+     *
+     * @param gameModel the model of the game the player is in
      */
-    public void activate() {
-        GameModel gameModel = GameModel.getInstance();
+    public void activate(final GameModel gameModel) {
         Player player = gameModel.getPlayer();
         gameModel.setLocation(locationId);
         player.setPosition(
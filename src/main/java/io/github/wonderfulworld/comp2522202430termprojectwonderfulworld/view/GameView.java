@@ -1,11 +1,17 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view;
 
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.controller.GameController;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Camera;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.DirtyRegions;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.RenderSnapshot;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteRenderer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.TileLayerCache;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteManager;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.component.ModelProperties;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.component.game.HPBox;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
@@ -28,21 +34,104 @@ import java.util.Objects;
  * @version 2024
  */
 public class GameView extends AView {
+    /**
+     * The rendering modes of the game view.
+     */
+    public enum RenderMode {
+        /**
+         * Clears and repaints the whole canvas every frame.
+         */
+        FULL,
+        /**
+         * Repaints only the areas where sprites changed. Any camera movement scrolls the whole
+         * canvas, so a frame whose camera moved is fully repainted: this mode only saves work
+         * while the camera stands still.
+         */
+        DIRTY_RECT
+    }
+
+    /**
+     * Constants.
+     */
+    private static final double NANOSECONDS_TO_MILLISECONDS = 1000000.0;
+    private static final double FRAME_TIME_SMOOTHING = 0.05;
+    private static final double MAX_FRAME_TIME = 250; // Longer gaps are pauses, not frames
+    private static final double PERCENT = 100.0;
+
+    /**
+     * The current rendering mode.
+     * -- GETTER --
+     * Gets the current rendering mode.
+     */
+    @Getter
+    private RenderMode renderMode = RenderMode.valueOf(Config.getRenderMode());
+
+    /**
+     * The areas changed since the last frame, used by the dirty rectangle mode.
+     */
+    private final DirtyRegions dirtyRegions = new DirtyRegions();
+
+    /**
+     * The smoothed time in milliseconds between two pulses of each rendering mode.
+     * Drawing on the canvas only records commands, which the render thread runs after the
+     * pulse, so the time of a whole pulse is measured rather than the drawing calls.
+     */
+    private final double[] frameTimes = new double[RenderMode.values().length];
+
+    /**
+     * The number of frames rendered in each rendering mode,
+     * and how many of them were repainted fully because the camera moved.
+     */
+    private final long[] frames = new long[RenderMode.values().length];
+    private final long[] cameraMovedFrames = new long[RenderMode.values().length];
+
+    /**
+     * The time of the last rendered pulse in nanoseconds, or 0 to start measuring anew.
+     */
+    private long lastFrameNanoTime;
+
+    /**
+     * Whether the next frame has to repaint the whole canvas.
+     */
+    private boolean fullRepaint = true;
+
+    /**
+     * The camera position of the last rendered frame.
+     */
+    private double lastCameraX;
+    private double lastCameraY;
+
     /**
      * The tile map for the game, representing the game's world layout.
      */
     private TileMap tileMap;
 
+    /**
+     * The pre-rendered static layer of the tile map.
+     * -- GETTER --
+     * Gets the tile layer cache, used to read its hit, miss and eviction counters.
+     */
+    @Getter
+    private final TileLayerCache tileLayer = new TileLayerCache(Config.getTileChunkSize(),
+            Config.getTileCacheBudgetMb());
+
     /**
      * The graphics context used to render graphics onto the canvas.
      */
     private GraphicsContext gc;
 
     /**
-     * The root pane containing the canvas.
+     * The window-sized canvas the game world is drawn on, reused between locations.
+     */
+    private Canvas canvas;
+
+    /**
+     * The camera deciding which part of the game world is visible.
+     * -- GETTER --
+     * Gets the camera of the game view.
      */
     @Getter
-    private Pane canvasRoot;
+    private final Camera camera = new Camera(Config.getWindowWidth(), Config.getWindowHeight());
 
     /**
      * The sprite manager responsible for managing and rendering game entities.
@@ -63,31 +152,24 @@ public class GameView extends AView {
      */
     @Override
     public void init() {
-        GameModel gameModel = GameModel.getInstance();
-        tileMap = gameModel.getTileMap();
-        spriteManager = gameModel.getSpriteManager();
-        Player player = gameModel.getPlayer();
+        Player player = GameModel.getInstance().getPlayer();
+        loadLocation();
 
         // Main Pane
         Pane root = new Pane();
 
         // Canvas
-        // Init main pane and canvas
-        canvasRoot = new Pane();
-        Canvas canvas = new Canvas(tileMap.getMapWidth(), tileMap.getMapHeight());
-        canvasRoot.getChildren().add(canvas);
+        // The canvas is as large as the window, the camera is applied as a transform
+        canvas = new Canvas(Config.getWindowWidth(), Config.getWindowHeight());
         gc = canvas.getGraphicsContext2D();
-        root.getChildren().add(canvasRoot);
+        root.getChildren().add(canvas);
 
         // GUI
         BorderPane borderPane = new BorderPane();
         root.getChildren().add(borderPane);
 
-        HPBox health = new HPBox(new javafx.beans.property.
-                SimpleDoubleProperty(player.getHP().getHealth()));
-
-        player.getHP().healthProperty().addListener((observable, oldValue, newValue) ->
-                health.getText().setText("HP: " + newValue.intValue()));
+        // The player may be hit on the simulation thread, the property follows on the JavaFX thread
+        HPBox health = new HPBox(ModelProperties.health(player.getHP()));
         borderPane.getChildren().add(health.getText());
 
         // Scene Creation
@@ -98,14 +180,171 @@ public class GameView extends AView {
         scene.setOnKeyReleased(((GameController) controller)::keyRelease);
     }
 
+    /**
+     * Links the view to the current location of the game model.
+     * Called on init and after moving through a portal, the canvas and scene are reused.
+     */
+    public void loadLocation() {
+        GameModel gameModel = GameModel.getInstance();
+        tileMap = gameModel.getTileMap();
+        spriteManager = gameModel.getSpriteManager();
+
+        // Drop the cached tile chunks of the previous location
+        tileLayer.prepare(tileMap);
+        fullRepaint = true;
+        lastFrameNanoTime = 0;
+    }
+
     /**
      * Renders the game view.
      */
     @Override
     public void render() {
-        gc.clearRect(0, 0, tileMap.getMapWidth(), tileMap.getMapHeight());
-        tileMap.render(gc);
-        spriteManager.render(gc);
+        measureFrame();
+
+        // A moved camera shifts every pixel on the canvas, so nothing can be kept
+        boolean cameraMoved = camera.getX() != lastCameraX || camera.getY() != lastCameraY;
+        int mode = renderMode.ordinal();
+        frames[mode]++;
+        if (cameraMoved) {
+            cameraMovedFrames[mode]++;
+        }
+        if (renderMode == RenderMode.DIRTY_RECT && !fullRepaint && !cameraMoved) {
+            renderDirtyRegions();
+        } else {
+            renderFull();
+        }
+    }
+
+    /**
+     * Renders a snapshot published by the simulation thread, repainting the whole canvas.
+     * The dirty rectangle mode needs the live sprites, so snapshots are always fully repainted.
+     *
+     * @param snapshot the sprites of the latest simulation step
+     * @param alpha    how far the frame is between the previous and the current step
+     */
+    public void render(final RenderSnapshot snapshot, final double alpha) {
+        measureFrame();
+
+        // Switch to the new location once the simulation moved through a portal
+        if (snapshot.getTileMap() != tileMap) {
+            tileMap = snapshot.getTileMap();
+            spriteManager = GameModel.getInstance().getSpriteManager();
+            tileLayer.prepare(tileMap);
+        }
+
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        camera.apply(gc);
+        tileLayer.render(gc, tileMap, camera.getX(), camera.getY(),
+                camera.getWidth(), camera.getHeight());
+        snapshot.render(gc, alpha, camera.getX(), camera.getY(),
+                camera.getX() + camera.getWidth(), camera.getY() + camera.getHeight());
+        fullRepaint = true;
+    }
+
+    /**
+     * Measures the time since the last pulse, which includes running the drawing commands
+     * of the last frame on the render thread, and adds it to the frame time of the current mode.
+     * Pulses wait for the display, so to compare the modes beyond its refresh rate,
+     * run the game with -Djavafx.animation.fullspeed=true.
+     */
+    private void measureFrame() {
+        long now = System.nanoTime();
+        if (lastFrameNanoTime != 0) {
+            double frameTime = (now - lastFrameNanoTime) / NANOSECONDS_TO_MILLISECONDS;
+            if (frameTime < MAX_FRAME_TIME) {
+                int mode = renderMode.ordinal();
+                frameTimes[mode] += (frameTime - frameTimes[mode]) * FRAME_TIME_SMOOTHING;
+            }
+        }
+        lastFrameNanoTime = now;
+    }
+
+    /**
+     * Gets the share of the frames of a rendering mode in which the camera moved.
+     *
+     * @param mode the rendering mode
+     * @return the share in percent, or 0 if no frame was rendered in the mode
+     */
+    private double getCameraMovedPercent(final RenderMode mode) {
+        long rendered = frames[mode.ordinal()];
+        if (rendered == 0) {
+            return 0;
+        }
+        return cameraMovedFrames[mode.ordinal()] * PERCENT / rendered;
+    }
+
+    /**
+     * Clears and repaints the whole canvas.
+     */
+    private void renderFull() {
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        // Draw the world in world coordinates through the camera transform
+        camera.apply(gc);
+        tileLayer.render(gc, tileMap, camera.getX(), camera.getY(),
+                camera.getWidth(), camera.getHeight());
+        SpriteRenderer.render(gc, spriteManager);
+
+        // Remember the sprite bounds, so the next frame can repaint only what changed
+        if (renderMode == RenderMode.DIRTY_RECT) {
+            dirtyRegions.clear();
+            dirtyRegions.beginFrame();
+            spriteManager.trackDirtyRegions(dirtyRegions);
+            dirtyRegions.endFrame();
+        }
+        fullRepaint = false;
+        lastCameraX = camera.getX();
+        lastCameraY = camera.getY();
+    }
+
+    /**
+     * Repaints only the areas where sprites moved, appeared or disappeared,
+     * drawing the tiles underneath and the sprites overlapping each area.
+     */
+    private void renderDirtyRegions() {
+        dirtyRegions.beginFrame();
+        spriteManager.trackDirtyRegions(dirtyRegions);
+        dirtyRegions.endFrame();
+
+        camera.apply(gc);
+        for (double[] region : dirtyRegions.getRegions()) {
+            double width = region[2] - region[0];
+            double height = region[3] - region[1];
+
+            gc.save();
+            gc.beginPath();
+            gc.rect(region[0], region[1], width, height);
+            gc.clip();
+            gc.clearRect(region[0], region[1], width, height);
+            tileLayer.render(gc, tileMap, region[0], region[1], width, height);
+            SpriteRenderer.render(gc, spriteManager, region[0], region[1], region[2], region[3]);
+            gc.restore();
+        }
+    }
+
+    /**
+     * Switches between the full and the dirty rectangle rendering modes,
+     * printing the average frame time of both modes, and how many frames of the
+     * dirty rectangle mode had to be repainted fully.
+     */
+    public void toggleRenderMode() {
+        if (renderMode == RenderMode.FULL) {
+            renderMode = RenderMode.DIRTY_RECT;
+        } else {
+            renderMode = RenderMode.FULL;
+        }
+        fullRepaint = true;
+        lastFrameNanoTime = 0;
+
+        System.out.printf("Render mode: %s. Average frame time: "
+                + "FULL %.3f ms, DIRTY_RECT %.3f ms (%.0f%% fully repainted "
+                + "because the camera moved)%n", renderMode,
+                frameTimes[RenderMode.FULL.ordinal()],
+                frameTimes[RenderMode.DIRTY_RECT.ordinal()],
+                getCameraMovedPercent(RenderMode.DIRTY_RECT));
     }
 
     /**
@@ -115,8 +354,9 @@ public class GameView extends AView {
      */
     @Override
     public String toString() {
-        return "GameView{" + "tileMap=" + tileMap + ", gc=" + gc
-                + ", canvasRoot=" + canvasRoot + ", spriteManager=" + spriteManager + '}';
+        return "GameView{" + "renderMode=" + renderMode + ", tileMap=" + tileMap
+                + ", tileLayer=" + tileLayer + ", gc=" + gc
+                + ", camera=" + camera + ", spriteManager=" + spriteManager + '}';
     }
 
     /**
@@ -139,8 +379,11 @@ public class GameView extends AView {
             return false;
         }
         GameView gameView = (GameView) object;
-        return Objects.equals(tileMap, gameView.tileMap) && Objects.equals(gc, gameView.gc)
-                && Objects.equals(canvasRoot, gameView.canvasRoot)
+        return renderMode == gameView.renderMode
+                && Objects.equals(tileMap, gameView.tileMap)
+                && Objects.equals(tileLayer, gameView.tileLayer)
+                && Objects.equals(gc, gameView.gc)
+                && Objects.equals(camera, gameView.camera)
                 && Objects.equals(spriteManager, gameView.spriteManager);
     }
 
@@ -151,6 +394,7 @@ public class GameView extends AView {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), tileMap, gc, canvasRoot, spriteManager);
+        return Objects.hash(super.hashCode(), renderMode, tileMap, tileLayer, gc, camera,
+                spriteManager);
     }
 }
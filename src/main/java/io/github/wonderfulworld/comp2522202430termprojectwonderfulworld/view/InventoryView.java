@@ -9,6 +9,7 @@ import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.it
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Armor;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Weapon;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.component.ModelProperties;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.component.inventory.ItemView;
 import javafx.scene.Scene;
 import javafx.scene.layout.GridPane;
@@ -134,10 +135,8 @@ public class InventoryView extends AView {
         inventoryTitle.setFill(Color.WHITE);
 
         Text capacity = new Text();
-        capacity.textProperty().bind(
-                inventory.quantityProperty().asString("Capacity %d / ")
-                        .concat(inventory.capacityProperty().asString("%d"))
-        );
+        capacity.textProperty().bind(ModelProperties.quantity(inventory)
+                .asString("Capacity %d / " + inventory.getCapacity()));
         capacity.setFont(Font.font("Comic Sans MS", FontWeight.BOLD, INVENTORY_TITLE_SIZE));
         capacity.setFill(Color.WHITE);
 
@@ -198,10 +197,10 @@ public class InventoryView extends AView {
      * Listeners handle updates to inventory quantity and equipped items.
      */
     private void attachListeners() {
-        inventory.quantityProperty().addListener((_, _, _) -> renderItems());
-        player.getEquipment().weaponProperty().addListener((_, _, _)
+        ModelProperties.quantity(inventory).addListener((_, _, _) -> renderItems());
+        ModelProperties.weapon(player.getEquipment()).addListener((_, _, _)
                 -> renderEquippedItems());
-        player.getEquipment().armorProperty().addListener((_, _, _)
+        ModelProperties.armor(player.getEquipment()).addListener((_, _, _)
                 -> renderEquippedItems());
     }
 
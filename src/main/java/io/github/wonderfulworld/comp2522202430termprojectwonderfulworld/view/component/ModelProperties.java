@@ -0,0 +1,106 @@
+package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.component;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.component.Equipment;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.component.HP;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.component.Inventory;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Armor;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Weapon;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+/**
+ * The ModelProperties class adapts the components of the game model to JavaFX properties,
+ * so views can bind to them while the model itself does not depend on JavaFX.
+ * The model may change on the simulation thread, the properties are always updated
+ * on the JavaFX application thread.
+ *
+ *
+ * @author Melissa Shao
+ * @version 2024
+ */
+public final class ModelProperties {
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException if an attempt is made to instantiate the class
+     */
+    private ModelProperties() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Creates a property following the current health.
+     *
+     * @param hp the health
+     * @return the health property
+     */
+    public static ReadOnlyDoubleProperty health(final HP hp) {
+        SimpleDoubleProperty property = new SimpleDoubleProperty(hp.getHealth());
+        hp.addListener(() -> runOnFxThread(() -> property.set(hp.getHealth())));
+        return property;
+    }
+
+    /**
+     * Creates a property following the number of items in an inventory.
+     *
+     * @param inventory the inventory
+     * @return the quantity property
+     */
+    public static ReadOnlyIntegerProperty quantity(final Inventory inventory) {
+        SimpleIntegerProperty property = new SimpleIntegerProperty(inventory.getQuantity());
+        inventory.addListener(() -> runOnFxThread(() -> property.set(inventory.getQuantity())));
+        return property;
+    }
+
+    /**
+     * Creates a property following the equipped weapon.
+     *
+     * @param equipment the equipment
+     * @return the weapon property
+     */
+    public static ReadOnlyObjectProperty<Weapon> weapon(final Equipment equipment) {
+        SimpleObjectProperty<Weapon> property = new SimpleObjectProperty<>(equipment.getWeapon());
+        equipment.addListener(() -> runOnFxThread(() -> property.set(equipment.getWeapon())));
+        return property;
+    }
+
+    /**
+     * Creates a property following the equipped armor.
+     *
+     * @param equipment the equipment
+     * @return the armor property
+     */
+    public static ReadOnlyObjectProperty<Armor> armor(final Equipment equipment) {
+        SimpleObjectProperty<Armor> property = new SimpleObjectProperty<>(equipment.getArmor());
+        equipment.addListener(() -> runOnFxThread(() -> property.set(equipment.getArmor())));
+        return property;
+    }
+
+    /**
+     * Runs an update on the JavaFX application thread, right away if already on it.
+     *
+     * @param update the update
+     */
+    private static void runOnFxThread(final Runnable update) {
+        if (Platform.isFxApplicationThread()) {
+            update.run();
+        } else {
+            Platform.runLater(update);
+        }
+    }
+
+    /**
+     * Returns a string representation of this ModelProperties.
+     *
+     * @return the representation of the ModelProperties as a string
+     */
+    @Override
+    public String toString() {
+        return "ModelProperties{}";
+    }
+}
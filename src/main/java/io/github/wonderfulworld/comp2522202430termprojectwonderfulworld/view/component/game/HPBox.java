@@ -2,7 +2,7 @@ package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.co
 
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
-import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
 
 import java.util.Objects;
 
@@ -32,7 +32,7 @@ public class HPBox {
      *
      * @param healthProperty the health property to bind to
      */
-    public HPBox(final DoubleProperty healthProperty) {
+    public HPBox(final ReadOnlyDoubleProperty healthProperty) {
         this.health = new Text(INITIAL_X_POSITION, INITIAL_Y_POSITION,
                 "HP: " + healthProperty.get());
         this.health.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;"
@@ -1,5 +1,6 @@
 package io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.component.inventory;
 
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.AtlasRegion;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
 import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.view.InventoryView;
 import javafx.scene.control.Button;
@@ -97,7 +98,9 @@ public class ItemView extends Button {
     public void setItem(final AItem item) {
         itemRef = item;
         if (item != null) {
-            ImageView imageView = new ImageView(item.getImage());
+            AtlasRegion region = (AtlasRegion) item.getRegion();
+            ImageView imageView = new ImageView(region.getImage());
+            imageView.setViewport(region.getViewport());
             imageView.setFitWidth(ITEM_SIZE - TILE_SIZE);
             imageView.setFitHeight(ITEM_SIZE - TILE_SIZE);
             imageView.setPreserveRatio(true);
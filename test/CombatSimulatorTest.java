@@ -0,0 +1,109 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.balance.CombatSimulator;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.balance.CombatStats;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.balance.Loadout;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemPrototype;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.MonsterStats;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CombatSimulatorTest {
+    private static final int ENCOUNTERS = 20000;
+    private static final long SEED = 42;
+
+    private final MonsterStats slime =
+            new MonsterStats("Slime", 200, 10, 30, 64, 100, 500, null);
+    private final ItemPrototype sword =
+            new ItemPrototype(5, "Sword", ItemPrototype.Type.WEAPON, null, 75, 50);
+    private final ItemPrototype dress =
+            new ItemPrototype(4, "Dress", ItemPrototype.Type.ARMOR, null, 50, 0);
+    private final ItemPrototype bottle =
+            new ItemPrototype(1, "Bottle", ItemPrototype.Type.BOTTLE, null, 100, 0);
+    private final Supplier<Player> players = () -> new Player("Player", 500, 50, 0, 10);
+
+    @Test
+    void testSameSeedGivesSameStats() {
+        Loadout loadout = new Loadout(sword, null);
+
+        CombatStats first = CombatSimulator.simulate(players, loadout, slime, ENCOUNTERS, SEED);
+        CombatStats second = CombatSimulator.simulate(players, loadout, slime, ENCOUNTERS, SEED);
+
+        assertEquals(first, second);
+        assertEquals(ENCOUNTERS, first.getEncounters());
+    }
+
+    @Test
+    void testStrongPlayerAlwaysWins() {
+        CombatStats stats = CombatSimulator.simulate(players, new Loadout(sword, dress), slime,
+                ENCOUNTERS, SEED);
+
+        assertEquals(1.0, stats.getWinRate());
+        assertTrue(stats.getMeanTimeToKill() > 0);
+        assertTrue(stats.getTimeToKill(0.5) <= stats.getTimeToKill(0.9));
+    }
+
+    @Test
+    void testWeakPlayerAlwaysLoses() {
+        Supplier<Player> weak = () -> new Player("Player", 10, 1, 0, 10);
+
+        CombatStats stats = CombatSimulator.simulate(weak, new Loadout(null, null), slime,
+                ENCOUNTERS, SEED);
+
+        assertEquals(0.0, stats.getWinRate());
+        assertTrue(Double.isNaN(stats.getMeanTimeToKill()));
+        assertEquals(10, stats.getMeanDamageTaken(), 1e-9);
+    }
+
+    @Test
+    void testEquipmentImprovesOutcome() {
+        CombatStats bare = CombatSimulator.simulate(players, new Loadout(null, null), slime,
+                ENCOUNTERS, SEED);
+        CombatStats armed = CombatSimulator.simulate(players, new Loadout(sword, null), slime,
+                ENCOUNTERS, SEED);
+        CombatStats armored = CombatSimulator.simulate(players, new Loadout(null, dress), slime,
+                ENCOUNTERS, SEED);
+
+        assertTrue(armed.getMeanTimeToKill() < bare.getMeanTimeToKill());
+        assertTrue(armored.getMeanDamageTaken() < bare.getMeanDamageTaken());
+    }
+
+    @Test
+    void testSweepCombinesWeaponsAndArmors() {
+        List<Loadout> loadouts = Loadout.sweep(List.of(sword, dress, bottle));
+
+        assertEquals(4, loadouts.size());
+        assertEquals(new Loadout(null, null), loadouts.get(0));
+        assertTrue(loadouts.contains(new Loadout(sword, dress)));
+        assertEquals("Sword + no armor", new Loadout(sword, null).getName());
+    }
+
+    @Test
+    void testLoadoutRejectsWrongItemType() {
+        assertThrows(IllegalArgumentException.class, () -> new Loadout(dress, null));
+    }
+
+    @Test
+    void testStatsPercentilesAndMerge() {
+        CombatStats first = new CombatStats(0.5, 10, 100);
+        first.record(true, 2, 10);
+        first.record(true, 4, 20);
+        CombatStats second = new CombatStats(0.5, 10, 100);
+        second.record(false, 6, 100);
+        second.record(true, 20, 30.5);
+
+        first.merge(second);
+
+        assertEquals(4, first.getEncounters());
+        assertEquals(3, first.getWins());
+        assertEquals(0.75, first.getWinRate());
+        assertEquals(2.0, first.getTimeToKill(0.5));
+        assertEquals(5.0, first.getTimeToKill(1));
+        assertEquals(40.125, first.getMeanDamageTaken());
+        assertEquals(20, first.getDamageTaken(0.5));
+        assertEquals(100, first.getDamageTaken(1));
+    }
+}
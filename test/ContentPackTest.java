@@ -0,0 +1,115 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.ContentPack;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.ITileLayer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.MapConverter;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.MapFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentPackTest {
+    @TempDir
+    Path directory;
+
+    private ContentPack writePack(final Map<String, Path> files) throws IOException {
+        Path pack = directory.resolve("content.pak");
+        ContentPack.write(pack, files);
+        return ContentPack.open(pack);
+    }
+
+    private Path writeFile(final String name, final String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    void testEntriesRoundTrip() throws IOException {
+        ContentPack pack = writePack(Map.of(
+                "config/config.json", writeFile("a", "{\"tileSize\": 64}"),
+                "config/tile/A/config.json", writeFile("b", "{\"passable\": true}"),
+                "config/empty.txt", writeFile("c", "")));
+
+        assertEquals(3, pack.getEntryCount());
+        MemorySegment entry = pack.get("config/tile/A/config.json");
+        assertEquals("{\"passable\": true}",
+                new String(entry.toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8));
+        assertEquals(0, pack.get("config/empty.txt").byteSize());
+        assertTrue(entry.isReadOnly(), "Entries should not be writable.");
+        assertNull(pack.get("config/missing.json"));
+    }
+
+    @Test
+    void testEntriesAreAligned() throws IOException {
+        ContentPack pack = writePack(Map.of(
+                "x", writeFile("a", "1"),
+                "y", writeFile("b", "22"),
+                "z", writeFile("c", "333")));
+
+        for (String path : List.of("x", "y", "z")) {
+            assertEquals(0, pack.get(path).address() % ContentPack.ALIGNMENT,
+                    "Entry " + path + " should be aligned.");
+        }
+    }
+
+    @Test
+    void testListAndContains() throws IOException {
+        ContentPack pack = writePack(Map.of(
+                "config/tile/B/config.json", writeFile("a", "b"),
+                "config/tile/A/config.json", writeFile("b", "a"),
+                "config/tile/A/image.png", writeFile("c", "png"),
+                "config/config.json", writeFile("d", "{}")));
+
+        assertEquals(List.of("A", "B"), pack.list("config/tile"));
+        assertEquals(List.of("config.json", "tile"), pack.list("config"));
+        assertTrue(pack.contains("config/tile/A"));
+        assertTrue(pack.contains("config/tile/A/image.png"));
+        assertFalse(pack.contains("config/tile/C"));
+        assertFalse(pack.contains("config/til"));
+        assertEquals(List.of(), pack.list("config/item"));
+    }
+
+    @Test
+    void testBinaryMapFromPack() throws IOException {
+        Path textMap = writeFile("map.txt", "AAAB\nCAAB\nAAAA\n");
+        MapFile expected = MapFile.readText(textMap, ITileLayer.Mode.HEAP);
+        Path binaryMap = MapConverter.convert(textMap);
+
+        ContentPack pack = writePack(Map.of("config/location/1/map.bin", binaryMap));
+        MapFile mapFile = MapFile.readBinary(pack.get("config/location/1/map.bin"),
+                "map.bin", ITileLayer.Mode.HEAP);
+
+        assertEquals(expected, mapFile);
+    }
+
+    @Test
+    void testListIdsSkipsStrayEntries() throws IOException {
+        for (String id : List.of("2", "10", "README", "3")) {
+            Files.createDirectories(directory.resolve(id));
+        }
+        for (String id : List.of("2", "10", "README")) {
+            writeFile(id + "/config.json", "{}");
+        }
+        writeFile(".DS_Store", "");
+        writeFile("7", "not a directory");
+
+        assertEquals(List.of(10, 2), Assets.listIds(directory.toString()));
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path file = writeFile("content.pak", "not a pack");
+
+        assertThrows(IOException.class, () -> ContentPack.open(file));
+    }
+}
@@ -0,0 +1,110 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameClock;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.MonsterStats;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSessionTest {
+    private final MonsterStats stats =
+            new MonsterStats("Slime", 100, 10, 50, 300, 100, 1000, null);
+
+    @Test
+    void testDefaultSessionOutsideAnySession() {
+        assertSame(GameSession.getDefault(), GameSession.current());
+        assertSame(GameSession.getDefault().getModel(), GameModel.getInstance());
+    }
+
+    @Test
+    void testRunBindsAndRestoresSession() {
+        GameSession outer = new GameSession();
+        GameSession inner = new GameSession();
+
+        outer.run(() -> {
+            assertSame(outer, GameSession.current());
+            inner.run(() -> assertSame(inner.getModel(), GameModel.getInstance()));
+            assertSame(outer, GameSession.current());
+        });
+
+        assertSame(GameSession.getDefault(), GameSession.current());
+    }
+
+    @Test
+    void testSessionsRunOnOwnVirtualThreads() throws InterruptedException {
+        GameSession first = new GameSession();
+        GameSession second = new GameSession();
+        AtomicReference<GameModel> firstModel = new AtomicReference<>();
+        AtomicReference<GameModel> secondModel = new AtomicReference<>();
+        AtomicBoolean virtual = new AtomicBoolean(true);
+
+        Thread firstThread = first.start(() -> {
+            firstModel.set(GameModel.getInstance());
+            virtual.compareAndSet(true, Thread.currentThread().isVirtual());
+        });
+        Thread secondThread = second.start(() -> {
+            secondModel.set(GameModel.getInstance());
+            virtual.compareAndSet(true, Thread.currentThread().isVirtual());
+        });
+        firstThread.join();
+        secondThread.join();
+
+        assertSame(first.getModel(), firstModel.get());
+        assertSame(second.getModel(), secondModel.get());
+        assertNotSame(firstModel.get(), secondModel.get());
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    void testBotMovesOnlyItsOwnPlayer() {
+        Config.init("config/config.json");
+        GameSession bot = new GameSession();
+        GameSession other = new GameSession();
+        bot.run(() -> bot.getModel().init(false));
+        other.run(() -> other.getModel().init(false));
+        double start = bot.getModel().getPlayer().getPositionX();
+
+        bot.getInput().setMovingLeft(true);
+        bot.tick(1.0 / 60.0, 30);
+        other.tick(1.0 / 60.0, 30);
+
+        assertTrue(bot.getModel().getPlayer().getPositionX() < start);
+        assertEquals(start, other.getModel().getPlayer().getPositionX());
+        assertEquals(0.5, bot.getClock().getTime(), 1e-9);
+    }
+
+    @Test
+    void testCooldownFollowsSessionClock() {
+        GameSession session = new GameSession();
+        Player player = new Player("Player", 100, 10, 0, 50);
+        Monster monster = new Monster(stats);
+
+        session.run(() -> {
+            monster.attack(player);
+            double afterFirst = player.getHealth();
+            monster.attack(player);
+            assertEquals(afterFirst, player.getHealth());
+
+            session.getClock().advance(1);
+            monster.attack(player);
+            assertTrue(player.getHealth() < afterFirst);
+        });
+    }
+
+    @Test
+    void testSessionClocksAreIndependent() {
+        GameSession first = new GameSession();
+        GameSession second = new GameSession();
+
+        first.getClock().advance(2);
+
+        assertEquals(2000, first.getClock().getMillis());
+        assertEquals(new GameClock(), second.getClock());
+    }
+}
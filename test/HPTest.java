@@ -2,6 +2,8 @@ import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.co
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class HPTest {
@@ -49,9 +51,16 @@ public class HPTest {
     }
 
     @Test
-    void testHealthProperty() {
-        hp.healthProperty().set(70.0);
-        assertEquals(70.0, hp.getHealth(), "Health property should update health value.");
+    void testHealthListener() {
+        AtomicInteger changes = new AtomicInteger();
+        hp.addListener(changes::incrementAndGet);
+
+        hp.setHealth(70.0);
+        assertEquals(70.0, hp.getHealth(), "Setting health should update health value.");
+        assertEquals(1, changes.get(), "Listeners should be told about the change.");
+
+        hp.setHealth(70.0);
+        assertEquals(1, changes.get(), "Listeners should not be told when health stays the same.");
     }
 
     @Test
@@ -0,0 +1,182 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.Config;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.GameSession;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.PlayerInput;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ISpriteImage;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ISpriteImageLoader;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ImageSize;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteImages;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.MonsterStats;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.GameModel;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeadlessModelTest {
+    private static final Path SOURCE = Path.of("src/main/java/io/github/wonderfulworld/"
+            + "comp2522202430termprojectwonderfulworld");
+
+    private static final List<String> HEADLESS_SOURCES = List.of(
+            "model", "core/tile", "core/location", "core/factory", "core/asset",
+            "core/Config.java", "core/PlayerConfig.java",
+            "core/GameSession.java", "core/GameClock.java", "core/balance",
+            "core/PlayerInput.java", "core/WorldSimulation.java",
+            "core/sprite/ASprite.java", "core/sprite/SpriteManager.java",
+            "core/sprite/SpatialHash.java", "core/sprite/DirtyRegions.java",
+            "core/sprite/ISpriteImage.java", "core/sprite/ISpriteImageLoader.java",
+            "core/sprite/SpriteImages.java", "core/sprite/ImageSize.java");
+
+    private static final double TIME_STEP = 1.0 / 60.0;
+
+    private static final int MAX_STEPS = 600;
+
+    private static final int STEPS_TO_ITEM_ROW = 30;
+
+    private static final String PLAYER_IMAGE =
+            Path.of("config/player/player_bottom.png").toUri().toString();
+
+    @Test
+    void testModelDoesNotImportJavaFX() throws IOException {
+        for (String source : HEADLESS_SOURCES) {
+            try (Stream<Path> files = Files.walk(SOURCE.resolve(source))) {
+                for (Path file : files.filter(path -> path.toString().endsWith(".java")).toList()) {
+                    String code = Files.readString(file);
+                    assertFalse(code.contains("import javafx"), file + " imports JavaFX");
+                    assertFalse(code.contains("StateManager"), file + " uses the StateManager");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testHeadlessLoaderReadsImageSize() {
+        ImageSize size = ImageSize.read(PLAYER_IMAGE);
+
+        assertTrue(size.getWidth() > 0);
+        assertTrue(size.getHeight() > 0);
+    }
+
+    @Test
+    void testMissingImageHasNoSize() {
+        ImageSize size = ImageSize.read(Path.of("config/player/missing.png").toUri().toString());
+
+        assertEquals(new ImageSize(0, 0), size);
+    }
+
+    @Test
+    void testPlayerTakesSizeFromImage() {
+        assertSame(SpriteImages.HEADLESS, SpriteImages.getLoader());
+        Player player = new Player("Player", 30, 10, 0, 50);
+        ImageSize size = ImageSize.read(PLAYER_IMAGE);
+
+        assertEquals(size.getWidth(), player.getWidth());
+        assertEquals(size.getHeight(), player.getHeight());
+    }
+
+    @Test
+    void testPlayerDeathNotifiesOnce() {
+        Player player = new Player("Player", 30, 10, 0, 50);
+        Monster monster = new Monster(new MonsterStats("Slime", 100, 10, 50, 300, 100, 1000, null));
+        AtomicInteger deaths = new AtomicInteger();
+        player.setOnDeath(deaths::incrementAndGet);
+
+        for (int i = 0; i < 5; i++) {
+            player.inAttack(monster);
+        }
+
+        assertTrue(player.isDead());
+        assertEquals(1, deaths.get());
+    }
+
+    @Test
+    void testSpriteLoadsAndReleasesImageOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger releases = new AtomicInteger();
+        SpriteImages.setLoader(new ISpriteImageLoader() {
+            @Override
+            public ISpriteImage load(String uri) {
+                loads.incrementAndGet();
+                return ImageSize.read(uri);
+            }
+
+            @Override
+            public void release(String uri) {
+                releases.incrementAndGet();
+            }
+        });
+        try {
+            ASprite sprite = new ASprite() { };
+            sprite.setImage(PLAYER_IMAGE);
+            double width = sprite.getWidth();
+
+            sprite.unloadImage();
+            sprite.unloadImage();
+            assertNull(sprite.getRegion());
+            assertEquals(width, sprite.getWidth(), "Unloaded sprite should keep its size.");
+
+            sprite.reloadImage();
+            sprite.reloadImage();
+            assertNotNull(sprite.getRegion());
+
+            sprite.releaseImage();
+            sprite.releaseImage();
+            assertEquals(2, loads.get());
+            assertEquals(2, releases.get());
+
+            Player player = new Player("Player", 30, 10, 0, 50);
+            player.releaseImage();
+            player.releaseImage();
+            assertEquals(loads.get(), releases.get(),
+                    "Player should release every image it loaded.");
+        } finally {
+            SpriteImages.setLoader(SpriteImages.HEADLESS);
+        }
+    }
+
+    @Test
+    void testScriptedPlayerTakesItemAndFightsMonster() {
+        Config.init("config/config.json");
+        GameSession session = new GameSession();
+        session.run(() -> session.getModel().init(false));
+        GameModel model = session.getModel();
+        Player player = model.getPlayer();
+        PlayerInput input = session.getInput();
+        int items = model.getItems().size();
+        int quantity = player.getInventory().getQuantity();
+
+        // The player starts two tiles right of an item, a little below it
+        input.setMovingUp(true);
+        for (int i = 0; i < STEPS_TO_ITEM_ROW; i++) {
+            session.tick(TIME_STEP);
+        }
+        input.clear();
+        input.setMovingLeft(true);
+        for (int i = 0; i < MAX_STEPS && player.getInventory().getQuantity() == quantity; i++) {
+            session.tick(TIME_STEP);
+        }
+        input.clear();
+
+        assertEquals(quantity + 1, player.getInventory().getQuantity());
+        assertEquals(items - 1, model.getItems().size());
+
+        // Then walks down and right into a monster, which fights back
+        double health = player.getHP().getHealth();
+        input.setMovingRight(true);
+        input.setMovingDown(true);
+        for (int i = 0; i < MAX_STEPS && player.getHP().getHealth() == health; i++) {
+            session.tick(TIME_STEP);
+        }
+        input.clear();
+
+        assertTrue(player.getHP().getHealth() < health, "Monster should attack the player.");
+    }
+}
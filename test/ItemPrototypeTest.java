@@ -0,0 +1,55 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.factory.ItemPrototype;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.AItem;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Armor;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.equipment.Weapon;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.items.recovery.HealthBottle;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemPrototypeTest {
+    private static final String IMAGE = "image.png";
+
+    @Test
+    void testFromConfigWeapon() {
+        JSONObject config = new JSONObject(
+                "{\"id\": 5, \"name\": \"Peach Blossom\", \"type\": \"weapon\", "
+                        + "\"damage\": 75, \"radius\": 50}");
+
+        ItemPrototype prototype = ItemPrototype.fromConfig(config, IMAGE);
+
+        assertEquals(ItemPrototype.Type.WEAPON, prototype.getType());
+        assertEquals(new Weapon(5, "Peach Blossom", 75, 50), prototype.instantiate());
+    }
+
+    @Test
+    void testFromConfigBottleAndArmor() {
+        ItemPrototype bottle = ItemPrototype.fromConfig(new JSONObject(
+                "{\"id\": 1, \"name\": \"Bottle\", \"type\": \"bottle\", \"health\": 100}"), IMAGE);
+        ItemPrototype armor = ItemPrototype.fromConfig(new JSONObject(
+                "{\"id\": 3, \"name\": \"Dress\", \"type\": \"armor\", \"armor\": 30}"), IMAGE);
+
+        assertEquals(new HealthBottle(1, "Bottle", 100), bottle.instantiate());
+        assertEquals(new Armor(3, "Dress", 30), armor.instantiate());
+    }
+
+    @Test
+    void testFromConfigUnknownType() {
+        JSONObject config = new JSONObject("{\"id\": 9, \"name\": \"Rock\", \"type\": \"rock\"}");
+
+        assertNull(ItemPrototype.fromConfig(config, IMAGE));
+    }
+
+    @Test
+    void testInstantiateCreatesNewItems() {
+        ItemPrototype prototype = new ItemPrototype(3, "Dress", ItemPrototype.Type.ARMOR, IMAGE,
+                30, 0);
+
+        AItem first = prototype.instantiate();
+        AItem second = prototype.instantiate();
+
+        assertNotSame(first, second, "Every item should be a new instance.");
+        assertEquals(first, second);
+    }
+}
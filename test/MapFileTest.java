@@ -0,0 +1,159 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.ITileLayer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.MapConverter;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.MapFile;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.StreamingTileLayer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapFileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadText() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "AAB\nAC\n");
+
+        MapFile mapFile = MapFile.readText(textMap, ITileLayer.Mode.HEAP);
+
+        assertEquals(3, mapFile.getWidth());
+        assertEquals(2, mapFile.getHeight());
+        assertEquals(List.of("A", "B", "C"), mapFile.getTileIds());
+        assertEquals(2, mapFile.getLayer().getTile(2), "Third cell should be tile B.");
+        assertEquals(0, mapFile.getLayer().getTile(5),
+                "Short rows should be padded with empty cells.");
+    }
+
+    @Test
+    void testBinaryRoundTrip() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "AAAB\nCAAB\nAAAA\n");
+        MapFile expected = MapFile.readText(textMap, ITileLayer.Mode.HEAP);
+
+        Path binaryMap = MapConverter.convert(textMap);
+
+        assertEquals(directory.resolve("map.bin"), binaryMap);
+        for (ITileLayer.Mode mode : ITileLayer.Mode.values()) {
+            assertEquals(expected, MapFile.readBinary(binaryMap, mode),
+                    "Mode " + mode + " should read the same map.");
+        }
+    }
+
+    @Test
+    void testRawBinaryRoundTrip() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "AAAB\nCAAB\nAAAA\n");
+        MapFile expected = MapFile.readText(textMap, ITileLayer.Mode.HEAP);
+
+        Path binaryMap = MapConverter.convert(textMap, false);
+
+        for (ITileLayer.Mode mode : ITileLayer.Mode.values()) {
+            assertEquals(expected, MapFile.readBinary(binaryMap, mode),
+                    "Mode " + mode + " should read the same map.");
+        }
+    }
+
+    @Test
+    void testRunLengthEncodingIsSmaller() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "A".repeat(64) + "\n" + "B".repeat(64) + "\n");
+
+        Path compressedMap = MapConverter.convert(textMap, true);
+        long compressedSize = Files.size(compressedMap);
+        Path rawMap = MapConverter.convert(textMap, false);
+
+        assertTrue(compressedSize < Files.size(rawMap), "Encoded runs should be smaller.");
+    }
+
+    @Test
+    void testRunsLongerThanMaximumAreSplit() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "A".repeat(70000) + "B\n");
+        MapFile expected = MapFile.readText(textMap, ITileLayer.Mode.HEAP);
+
+        Path binaryMap = MapConverter.convert(textMap, true);
+
+        assertEquals(expected, MapFile.readBinary(binaryMap, ITileLayer.Mode.HEAP));
+    }
+
+    @Test
+    void testChunkedRoundTrip() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "AAAAABBB\nACCAAB\nAAAAAAAA\nBBBBBBBB\nA\n");
+        MapFile expected = MapFile.readText(textMap, ITileLayer.Mode.HEAP);
+
+        for (boolean compressed : new boolean[] {true, false}) {
+            Path binaryMap = MapConverter.convert(textMap, compressed, 3);
+            MapFile mapFile = MapFile.readBinary(binaryMap, ITileLayer.Mode.HEAP);
+            StreamingTileLayer layer = assertInstanceOf(StreamingTileLayer.class,
+                    mapFile.getLayer());
+            layer.load(0, 0, mapFile.getWidth() - 1, mapFile.getHeight() - 1);
+
+            assertEquals(expected, mapFile,
+                    "Compressed " + compressed + " should read the same map.");
+        }
+    }
+
+    @Test
+    void testReadBinaryRejectsTextMap() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA\n");
+
+        assertThrows(RuntimeException.class,
+                () -> MapFile.readBinary(textMap, ITileLayer.Mode.HEAP));
+    }
+
+    private Path writeBinaryWithSize(final int width, final int height) throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "AAAB\nCAAB\n");
+        Path binaryMap = MapConverter.convert(textMap);
+        byte[] bytes = Files.readAllBytes(binaryMap);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(8, width).putInt(12, height);
+        Files.write(binaryMap, bytes);
+        return binaryMap;
+    }
+
+    @Test
+    void testReadBinaryRejectsNegativeSize() throws IOException {
+        Path binaryMap = writeBinaryWithSize(-4, 2);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MapFile.readBinary(binaryMap, ITileLayer.Mode.HEAP));
+        assertTrue(e.getMessage().contains(binaryMap.toString()));
+    }
+
+    @Test
+    void testReadBinaryRejectsOverflowingSize() throws IOException {
+        Path binaryMap = writeBinaryWithSize(65536, 65536);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MapFile.readBinary(binaryMap, ITileLayer.Mode.HEAP));
+        assertTrue(e.getMessage().contains(binaryMap.toString()));
+    }
+
+    @Test
+    void testBinaryMapOutdatedAfterTextEdit() throws IOException {
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, "AAAB\n");
+        Path binaryMap = MapConverter.convert(textMap);
+        Files.setLastModifiedTime(textMap, FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(binaryMap, FileTime.fromMillis(2000));
+
+        assertFalse(MapConverter.isOutdated(binaryMap, textMap));
+
+        Files.setLastModifiedTime(textMap, FileTime.fromMillis(3000));
+
+        assertTrue(MapConverter.isOutdated(binaryMap, textMap));
+        assertFalse(MapConverter.isOutdated(binaryMap, directory.resolve("missing.txt")));
+    }
+}
@@ -0,0 +1,38 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.MonsterStats;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonsterTest {
+    private final MonsterStats stats =
+            new MonsterStats("Slime", 100, 10, 50, 300, 100, 1000, null);
+
+    @Test
+    void testMonstersShareStats() {
+        Monster first = new Monster(stats);
+        Monster second = new Monster(stats);
+
+        assertSame(first.getStats(), second.getStats());
+        assertEquals("Slime", first.getName());
+        assertEquals(10, first.getDamage());
+        assertEquals(50, first.getDamageRadius());
+        assertEquals(300, first.getViewingRadius());
+        assertEquals(300, first.getReach());
+    }
+
+    @Test
+    void testNewMonsterHasFullHealth() {
+        Monster monster = new Monster(stats);
+
+        assertEquals(stats.getHealth(), monster.getHealth());
+        assertFalse(monster.isDead());
+    }
+
+    @Test
+    void testAttributeConstructor() {
+        Monster monster = new Monster("Slime", 100, 10, 50, 300, 100, 1000);
+
+        assertEquals(stats, monster.getStats());
+    }
+}
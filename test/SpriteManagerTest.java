@@ -0,0 +1,188 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpriteManagerTest {
+    private SpriteManager spriteManager;
+
+    @BeforeEach
+    void setUp() {
+        spriteManager = new SpriteManager(64);
+    }
+
+    private ASprite createSprite(double y) {
+        return createSprite(0, y);
+    }
+
+    private ASprite createSprite(double x, double y) {
+        ASprite sprite = new ASprite() {
+            @Override
+            public double getWidth() {
+                return 32;
+            }
+
+            @Override
+            public double getHeight() {
+                return 32;
+            }
+        };
+        sprite.setPosition(x, y);
+        spriteManager.addSprite(sprite);
+        return sprite;
+    }
+
+    @Test
+    void testUpdateSortsByPositionY() {
+        ASprite low = createSprite(300);
+        ASprite high = createSprite(100);
+        ASprite middle = createSprite(200);
+
+        spriteManager.update(0);
+
+        assertSame(high, spriteManager.getSprite(0), "Sprite with the lowest Y should be first.");
+        assertSame(middle, spriteManager.getSprite(1));
+        assertSame(low, spriteManager.getSprite(2), "Sprite with the highest Y should be last.");
+    }
+
+    @Test
+    void testUpdateKeepsOrderAfterMovement() {
+        ASprite first = createSprite(100);
+        ASprite second = createSprite(200);
+        spriteManager.update(0);
+
+        first.setPosition(0, 250);
+        spriteManager.update(0);
+
+        assertSame(second, spriteManager.getSprite(0));
+        assertSame(first, spriteManager.getSprite(1), "Moved sprite should be drawn on top.");
+    }
+
+    @Test
+    void testUpdateIsStableForEqualPositions() {
+        ASprite first = createSprite(100);
+        ASprite second = createSprite(100);
+
+        spriteManager.update(0);
+
+        assertSame(first, spriteManager.getSprite(0), "Sprites at the same Y should keep their order.");
+        assertSame(second, spriteManager.getSprite(1));
+    }
+
+    @Test
+    void testAddBeyondInitialCapacity() {
+        for (int i = 0; i < 100; i++) {
+            createSprite(100 - i);
+        }
+        spriteManager.update(0);
+
+        assertEquals(100, spriteManager.getSize());
+        for (int i = 1; i < spriteManager.getSize(); i++) {
+            assertTrue(spriteManager.getSprite(i - 1).getPositionY()
+                    <= spriteManager.getSprite(i).getPositionY(), "Sprites should be sorted by Y.");
+        }
+    }
+
+    @Test
+    void testRemoveSprite() {
+        ASprite first = createSprite(100);
+        ASprite second = createSprite(200);
+        ASprite third = createSprite(300);
+
+        spriteManager.removeSprite(second);
+
+        assertEquals(2, spriteManager.getSize());
+        assertSame(first, spriteManager.getSprite(0));
+        assertSame(third, spriteManager.getSprite(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> spriteManager.getSprite(2));
+    }
+
+    @Test
+    void testQueryFindsOnlyOverlappingSprites() {
+        ASprite near = createSprite(100, 100);
+        createSprite(1000, 1000);
+        createSprite(-500, 100);
+        List<ASprite> result = new ArrayList<>();
+
+        spriteManager.query(90, 90, 140, 140, result);
+
+        assertEquals(List.of(near), result, "Only the overlapping sprite should be found.");
+    }
+
+    @Test
+    void testQueryReturnsSpriteSpanningCellsOnce() {
+        ASprite sprite = createSprite(60, 60);
+        List<ASprite> result = new ArrayList<>();
+
+        spriteManager.query(0, 0, 200, 200, result);
+
+        assertEquals(List.of(sprite), result, "A sprite covering many cells should be found once.");
+    }
+
+    @Test
+    void testQueryFollowsMovedSprites() {
+        ASprite sprite = createSprite(100, 100);
+        sprite.setPosition(700, 700);
+        spriteManager.update(0);
+        List<ASprite> result = new ArrayList<>();
+
+        spriteManager.query(90, 90, 140, 140, result);
+        assertTrue(result.isEmpty(), "Moved sprite should not be found at its old position.");
+
+        spriteManager.query(690, 690, 740, 740, result);
+        assertEquals(List.of(sprite), result, "Moved sprite should be found at its new position.");
+    }
+
+    @Test
+    void testQueryIgnoresRemovedSprites() {
+        ASprite sprite = createSprite(100, 100);
+        spriteManager.removeSprite(sprite);
+        List<ASprite> result = new ArrayList<>();
+
+        spriteManager.query(0, 0, 200, 200, result);
+
+        assertTrue(result.isEmpty(), "Removed sprite should not be found.");
+    }
+
+    @Test
+    void testInterpolateBetweenSteps() {
+        ASprite sprite = new ASprite() {
+            @Override
+            public void update(final double delta) {
+                positionX += 100 * delta;
+            }
+        };
+        sprite.setPosition(10, 20);
+        spriteManager.addSprite(sprite);
+
+        spriteManager.savePositions();
+        spriteManager.update(0.1);
+        spriteManager.interpolate(0.25);
+
+        assertEquals(20, sprite.getPositionX(), 1e-9);
+        assertEquals(12.5, sprite.getRenderX(), 1e-9,
+                "Sprite should be drawn a quarter of the way.");
+        assertEquals(20, sprite.getRenderY(), 1e-9);
+
+        spriteManager.interpolate(1);
+        assertEquals(20, sprite.getRenderX(), 1e-9);
+    }
+
+    @Test
+    void testSetPositionDoesNotInterpolate() {
+        ASprite sprite = createSprite(10, 20);
+
+        spriteManager.savePositions();
+        sprite.setPosition(500, 600);
+        spriteManager.interpolate(0.5);
+
+        assertEquals(500, sprite.getRenderX(), 1e-9,
+                "A moved sprite should be drawn in place.");
+        assertEquals(600, sprite.getRenderY(), 1e-9);
+    }
+}
@@ -0,0 +1,128 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ImageSize;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.ITileLayer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.MapFile;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.StreamingTileLayer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.Tile;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingTileLayerTest {
+    private static final int WIDTH = 70;
+    private static final int HEIGHT = 30;
+    private static final int CHUNK_SIZE = 8;
+
+    private final ImageSize region = new ImageSize(64, 64);
+    private final Tile grass = new Tile(region, true);
+    private final Tile wall = new Tile(region, false);
+
+    @TempDir
+    Path directory;
+
+    private TileMap heapMap;
+    private TileMap streamedMap;
+    private StreamingTileLayer layer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                if ((x * 7 + y * 3) % 5 == 0) {
+                    text.append('#');
+                } else {
+                    text.append('.');
+                }
+            }
+            text.append('\n');
+        }
+        Path textMap = directory.resolve("map.txt");
+        Files.writeString(textMap, text);
+
+        MapFile heapFile = MapFile.readText(textMap, ITileLayer.Mode.HEAP);
+        heapMap = new TileMap(WIDTH, HEIGHT, 64, getPalette(heapFile), heapFile.getLayer());
+
+        Path binaryMap = directory.resolve("map.bin");
+        heapFile.writeBinary(binaryMap, true, CHUNK_SIZE);
+        MapFile streamedFile = MapFile.readBinary(binaryMap, ITileLayer.Mode.HEAP);
+        layer = (StreamingTileLayer) streamedFile.getLayer();
+        streamedMap = new TileMap(WIDTH, HEIGHT, 64, getPalette(streamedFile), layer);
+    }
+
+    private List<Tile> getPalette(final MapFile mapFile) {
+        ArrayList<Tile> palette = new ArrayList<>();
+        for (String tileId : mapFile.getTileIds()) {
+            if (tileId.equals("#")) {
+                palette.add(wall);
+            } else {
+                palette.add(grass);
+            }
+        }
+        return palette;
+    }
+
+    @Test
+    void testUnloadedChunksAreEmptyAndNotPassable() {
+        assertEquals(0, layer.getLoadedChunkCount());
+        assertNull(streamedMap.getTile(1, 1), "Unloaded cells should be empty.");
+        assertFalse(streamedMap.isPassable(1, 1), "Unloaded cells should not be passable.");
+        assertFalse(streamedMap.isAreaLoaded(0, 0, 1, 1));
+    }
+
+    @Test
+    void testLoadedMapMatchesHeapMap() {
+        layer.load(0, 0, WIDTH - 1, HEIGHT - 1);
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertSame(heapMap.getTile(x, y), streamedMap.getTile(x, y));
+                assertEquals(heapMap.isPassable(x, y), streamedMap.isPassable(x, y),
+                        "Passability of " + x + ", " + y + " should match.");
+            }
+        }
+        assertEquals(heapMap.isAreaPassable(3, 2, 40, 3), streamedMap.isAreaPassable(3, 2, 40, 3));
+    }
+
+    @Test
+    void testUpdateLoadsVisibleChunks() {
+        layer.update(10, 10, 20, 20);
+
+        assertTrue(streamedMap.isAreaLoaded(10, 10, 20, 20), "Visible chunks should be loaded.");
+        assertEquals(heapMap.getTile(15, 15), streamedMap.getTile(15, 15));
+    }
+
+    @Test
+    void testUpdateDropsFarChunks() {
+        layer.update(0, 0, 7, 7);
+        assertTrue(streamedMap.isAreaLoaded(0, 0, 7, 7));
+
+        layer.update(WIDTH - 8, HEIGHT - 8, WIDTH - 1, HEIGHT - 1);
+
+        assertFalse(streamedMap.isAreaLoaded(0, 0, 7, 7), "Far chunks should be dropped.");
+        assertTrue(streamedMap.isAreaLoaded(WIDTH - 8, HEIGHT - 8, WIDTH - 1, HEIGHT - 1));
+    }
+
+    @Test
+    void testUpdateReportsCorruptChunk() {
+        // Only the first palette index is known, so chunks with walls cannot be decoded
+        layer.setPassableTiles(new boolean[1]);
+
+        assertDoesNotThrow(() -> layer.update(0, 0, 7, 7));
+        assertFalse(streamedMap.isAreaLoaded(0, 0, 7, 7), "Corrupt chunks should stay empty.");
+        assertThrows(IllegalArgumentException.class, () -> layer.load(0, 0, 7, 7));
+    }
+
+    @Test
+    void testStreamedMapIsReadOnly() {
+        assertThrows(UnsupportedOperationException.class, () -> streamedMap.setTile(0, 0, grass));
+    }
+}
@@ -0,0 +1,128 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ImageSize;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.ITileLayer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.Tile;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileMapTest {
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 5;
+
+    private final ImageSize region = new ImageSize(64, 64);
+    private final Tile grass = new Tile(region, true);
+    private final Tile wall = new Tile(region, false);
+    private TileMap tileMap;
+
+    @BeforeEach
+    void setUp() {
+        tileMap = new TileMap(WIDTH, HEIGHT, 64);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                tileMap.setTile(x, y, grass);
+            }
+        }
+    }
+
+    @Test
+    void testIsPassable() {
+        tileMap.setTile(70, 2, wall);
+
+        assertTrue(tileMap.isPassable(69, 2), "Grass should be passable.");
+        assertFalse(tileMap.isPassable(70, 2), "Wall should not be passable.");
+    }
+
+    @Test
+    void testOutOfBoundsIsNotPassable() {
+        assertFalse(tileMap.isPassable(-1, 0));
+        assertFalse(tileMap.isPassable(WIDTH, 0));
+        assertFalse(tileMap.isPassable(0, HEIGHT));
+        assertFalse(tileMap.isAreaPassable(WIDTH - 2, 0, WIDTH, 0), "Leaving the map is blocked.");
+    }
+
+    @Test
+    void testMissingTileIsNotPassable() {
+        tileMap.setTile(3, 3, null);
+
+        assertFalse(tileMap.isPassable(3, 3), "Missing tile should not be passable.");
+    }
+
+    @Test
+    void testIsAreaPassableAcrossWords() {
+        assertTrue(tileMap.isAreaPassable(0, 0, WIDTH - 1, HEIGHT - 1), "All grass is passable.");
+
+        tileMap.setTile(63, 1, wall);
+        assertFalse(tileMap.isAreaPassable(10, 1, 90, 1), "Wall inside the span blocks it.");
+        assertTrue(tileMap.isAreaPassable(10, 0, 90, 0), "Other rows stay passable.");
+        assertTrue(tileMap.isAreaPassable(64, 1, 90, 1), "Span after the wall stays passable.");
+
+        tileMap.setTile(63, 1, grass);
+        assertTrue(tileMap.isAreaPassable(10, 1, 90, 1), "Replaced wall should not block.");
+    }
+
+    @Test
+    void testSetTileOutOfBoundsThrows() {
+        assertThrows(IndexOutOfBoundsException.class, () -> tileMap.setTile(WIDTH, 0, wall));
+        assertThrows(IndexOutOfBoundsException.class, () -> tileMap.setTile(-1, 1, wall));
+        assertThrows(IndexOutOfBoundsException.class, () -> tileMap.setTile(0, HEIGHT, wall));
+
+        assertTrue(tileMap.isPassable(0, 1), "Neighbouring rows should not be changed.");
+        assertTrue(tileMap.isPassable(WIDTH - 1, 0));
+    }
+
+    @Test
+    void testSetTileReusesPaletteEntries() {
+        tileMap.setTile(1, 1, wall);
+        tileMap.setTile(2, 2, wall);
+
+        assertEquals(2, tileMap.getPaletteSize(), "Map should only hold grass and wall.");
+        assertSame(wall, tileMap.getTile(2, 2));
+        assertSame(grass, tileMap.getTile(0, 0));
+    }
+
+    @Test
+    void testCreateFromPalette() {
+        short[] cells = {1, 2, 0, 2, 1, 1};
+        TileMap map = new TileMap(3, 2, 64, List.of(grass, wall), cells);
+
+        assertEquals(3, map.getWidth());
+        assertEquals(2, map.getHeight());
+        assertSame(wall, map.getTile(1, 0), "Cells should be stored row by row.");
+        assertSame(wall, map.getTile(0, 1));
+        assertNull(map.getTile(2, 0), "Index 0 should be an empty cell.");
+        assertTrue(map.isAreaPassable(1, 1, 2, 1));
+        assertFalse(map.isPassable(2, 0));
+    }
+
+    @Test
+    void testCreateFromPaletteRejectsUnknownIndex() {
+        short[] cells = {1, 3};
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TileMap(2, 1, 64, List.of(grass, wall), cells));
+    }
+
+    @Test
+    void testLayerModesBehaveTheSame() {
+        for (ITileLayer.Mode mode : ITileLayer.Mode.values()) {
+            ITileLayer layer = ITileLayer.create(mode, 3 * 2);
+            layer.setTile(0, (short) 1);
+            layer.setTile(1, (short) 2);
+            layer.setTile(3, (short) 1);
+            TileMap map = new TileMap(3, 2, 64, List.of(grass, wall), layer);
+
+            assertSame(grass, map.getTile(0, 0), mode + " layer should keep the cells.");
+            assertSame(wall, map.getTile(1, 0), mode + " layer should keep the cells.");
+            assertNull(map.getTile(2, 0), mode + " layer should start empty.");
+            assertTrue(map.isPassable(0, 1), mode + " layer should keep the passability.");
+            assertFalse(map.isAreaPassable(0, 0, 1, 0), mode + " layer should keep the walls.");
+
+            map.setTile(1, 0, grass);
+            assertTrue(map.isAreaPassable(0, 0, 1, 0), mode + " layer should be writable.");
+        }
+    }
+}
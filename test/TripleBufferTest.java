@@ -0,0 +1,88 @@
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.TripleBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TripleBufferTest {
+    private TripleBuffer<int[]> buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new TripleBuffer<>(() -> new int[1]);
+    }
+
+    @Test
+    void testAcquireReturnsPublishedBuffer() {
+        buffer.getBack()[0] = 1;
+        buffer.publish();
+
+        assertEquals(1, buffer.acquire()[0]);
+    }
+
+    @Test
+    void testAcquireReturnsLatestPublishedBuffer() {
+        buffer.getBack()[0] = 1;
+        buffer.publish();
+        buffer.getBack()[0] = 2;
+        buffer.publish();
+
+        assertEquals(2, buffer.acquire()[0]);
+    }
+
+    @Test
+    void testAcquireKeepsBufferWhenNothingPublished() {
+        buffer.getBack()[0] = 1;
+        buffer.publish();
+        int[] first = buffer.acquire();
+
+        assertSame(first, buffer.acquire());
+        assertEquals(1, first[0]);
+    }
+
+    @Test
+    void testWriterNeverGetsFrontBuffer() {
+        buffer.getBack()[0] = 1;
+        buffer.publish();
+        int[] front = buffer.acquire();
+
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(front, buffer.getBack());
+            buffer.publish();
+        }
+    }
+
+    @Test
+    void testThreeDistinctBuffers() {
+        AtomicInteger created = new AtomicInteger();
+        new TripleBuffer<>(() -> new int[created.incrementAndGet()]);
+
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    void testReaderSeesCompleteBuffersFromOtherThread() throws InterruptedException {
+        final int steps = 100000;
+        TripleBuffer<int[]> pairs = new TripleBuffer<>(() -> new int[2]);
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= steps; i++) {
+                int[] back = pairs.getBack();
+                back[0] = i;
+                back[1] = i;
+                pairs.publish();
+            }
+        });
+        writer.start();
+
+        int last = 0;
+        while (last < steps) {
+            int[] front = pairs.acquire();
+            assertEquals(front[0], front[1]);
+            assertTrue(front[0] >= last);
+            last = front[0];
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.Assets;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.ContentPack;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.asset.ContentPackBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading every file of the config directory the way the game does at startup,
+ * either as loose files or from a content pack built in a temporary file.
+ * Run from the project root.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetReadBenchmark {
+    @Param({"loose", "pack"})
+    private String source;
+
+    private final List<String> paths = new ArrayList<>();
+    private Path packFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        paths.addAll(new TreeSet<>(ContentPackBuilder.collect("config").keySet()));
+        packFile = Files.createTempFile("content", ".pak");
+        ContentPack.write(packFile, ContentPackBuilder.collect("config"));
+        if (source.equals("pack")) {
+            Assets.init(packFile.toString());
+        } else {
+            Assets.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Assets.close();
+        Files.deleteIfExists(packFile);
+    }
+
+    @Benchmark
+    public long readAll() throws IOException {
+        long bytes = 0;
+        for (String path : paths) {
+            if (path.endsWith(".json")) {
+                bytes += Assets.readString(path).length();
+            } else {
+                bytes += Assets.read(path).byteSize();
+            }
+        }
+        return bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AssetReadBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
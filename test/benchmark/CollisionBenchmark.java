@@ -0,0 +1,101 @@
+package benchmark;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ImageSize;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.SpriteManager;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the collision pass of the game controller: a spatial hash query around the player,
+ * followed by the exact box checks of every monster found.
+ * Run with the GC profiler to check that the pass does not allocate,
+ * gc.alloc.rate.norm should stay at about 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final double TILE_SIZE = 64;
+    private static final double MAP_SIZE = 200 * TILE_SIZE;
+    private static final double REACH = 300;
+
+    @Param({"100", "10000"})
+    private int monsterCount;
+
+    private SpriteManager spriteManager;
+    private ASprite[] probes;
+    private final ArrayList<ASprite> nearbySprites = new ArrayList<>();
+    private int nextProbe;
+
+    // Sprites get their size from their region, the image itself is never drawn here
+    private final ImageSize region = new ImageSize(TILE_SIZE, TILE_SIZE);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        spriteManager = new SpriteManager(TILE_SIZE);
+        for (int i = 0; i < monsterCount; i++) {
+            Monster monster = new Monster("monster", 100, 10, 50, REACH, 100, 1000);
+            monster.setRegion(region);
+            monster.setPosition(random.nextDouble() * MAP_SIZE, random.nextDouble() * MAP_SIZE);
+            spriteManager.addSprite(monster);
+        }
+
+        probes = new ASprite[256];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = new ASprite() { };
+            probes[i].setRegion(region);
+            probes[i].setPosition(random.nextDouble() * MAP_SIZE, random.nextDouble() * MAP_SIZE);
+        }
+    }
+
+    @Benchmark
+    public int collisionPass() {
+        ASprite player = probes[nextProbe];
+        nextProbe = (nextProbe + 1) & (probes.length - 1);
+
+        double reach = spriteManager.getMaxReach();
+        nearbySprites.clear();
+        spriteManager.query(player.getPositionX() - reach, player.getPositionY() - reach,
+                player.getPositionX() + player.getWidth() + reach,
+                player.getPositionY() + player.getHeight() + reach, nearbySprites);
+
+        int hits = 0;
+        for (int i = 0; i < nearbySprites.size(); i++) {
+            if (nearbySprites.get(i) instanceof Monster monster
+                    && (monster.intersectsRadiusViewBox(player)
+                    || monster.intersectsDamageBox(player))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CollisionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ASprite;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.Monster;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.model.entity.MonsterStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures spawning 10,000 monsters of one kind, the way the monster factory does it:
+ * every monster shares the stats of its kind and only allocates its own state.
+ * Run with the GC profiler, gc.alloc.rate.norm divided by the monster count is the size
+ * of one monster.
+ * <p>
+ * spawnCopiedStats is the baseline: a copy of the monster before the stats were shared, which
+ * copied every stat, shuffled a boxed direction array and created its own Random.
+ * The commit that shared the stats quoted figures for the old monster that this benchmark
+ * could not have measured, since it did not run against the old code; compare the two
+ * methods of this benchmark instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonsterSpawnBenchmark {
+    private static final int MONSTER_COUNT = 10_000;
+
+    private final MonsterStats stats =
+            new MonsterStats("monster", 100, 10, 50, 300, 100, 1000, null);
+
+    /**
+     * The state a monster allocated before the stats were shared, with the same constructor.
+     */
+    private static final class CopiedStatsMonster extends ASprite {
+        private static final double RANDOM_WAITING_TIME_MAX = 3.0;
+
+        private final String name;
+        private final double damage;
+        private final double damageRadius;
+        private final double viewingRadius;
+        private double health;
+        private final double speed;
+        private final double attackSpeed;
+        private double movingTimer = 2;
+        private double waitingTimer;
+        private int currentDirectionIndex;
+        private final Integer[] directionSequence = {1, 2, 3, 4};
+        private boolean inCombat;
+        private boolean isDead;
+        private double lastAttack;
+
+        private CopiedStatsMonster(final MonsterStats stats) {
+            this.name = stats.getName();
+            this.health = stats.getHealth();
+            this.damage = stats.getDamage();
+            this.damageRadius = stats.getDamageRadius();
+            this.viewingRadius = stats.getViewingRadius();
+            this.speed = stats.getSpeed();
+            this.attackSpeed = stats.getAttackSpeed();
+
+            List<Integer> intList = Arrays.asList(directionSequence);
+            Collections.shuffle(intList);
+            intList.toArray(directionSequence);
+
+            Random random = new Random();
+            waitingTimer = random.nextDouble() * RANDOM_WAITING_TIME_MAX;
+        }
+    }
+
+    @Benchmark
+    public ASprite[] spawnCopiedStats() {
+        ASprite[] monsters = new ASprite[MONSTER_COUNT];
+        for (int i = 0; i < monsters.length; i++) {
+            monsters[i] = new CopiedStatsMonster(stats);
+        }
+        return monsters;
+    }
+
+    @Benchmark
+    public Monster[] spawn() {
+        Monster[] monsters = new Monster[MONSTER_COUNT];
+        for (int i = 0; i < monsters.length; i++) {
+            monsters[i] = new Monster(stats);
+        }
+        return monsters;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MonsterSpawnBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
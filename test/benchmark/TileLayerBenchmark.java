@@ -0,0 +1,102 @@
+package benchmark;
+
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.sprite.ImageSize;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.ITileLayer;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.Tile;
+import io.github.wonderfulworld.comp2522202430termprojectwonderfulworld.core.tile.TileMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the tile map layers kept on the heap, off the heap and in a mapped file:
+ * reading the tiles of a screen the way the map is rendered, and the passability
+ * checks of the movement code.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class TileLayerBenchmark {
+    private static final int MAP_SIZE = 4096;
+    private static final int SCREEN_WIDTH = 20;
+    private static final int SCREEN_HEIGHT = 12;
+    private static final int QUERIES = 1024;
+
+    @Param({"HEAP", "OFF_HEAP", "MAPPED"})
+    private ITileLayer.Mode mode;
+
+    private TileMap tileMap;
+    private int[] queryX;
+    private int[] queryY;
+
+    @Setup
+    public void setUp() {
+        ImageSize region = new ImageSize(64, 64);
+        List<Tile> palette = List.of(new Tile(region, true), new Tile(region, false));
+
+        // Mostly grass with scattered walls, like the shipped maps
+        Random random = new Random(42);
+        ITileLayer layer = ITileLayer.create(mode, MAP_SIZE * MAP_SIZE);
+        for (int i = 0; i < MAP_SIZE * MAP_SIZE; i++) {
+            layer.setTile(i, (short) (random.nextInt(10) == 0 ? 2 : 1));
+        }
+        tileMap = new TileMap(MAP_SIZE, MAP_SIZE, 64, palette, layer);
+
+        queryX = new int[QUERIES];
+        queryY = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = random.nextInt(MAP_SIZE - 1);
+            queryY[i] = random.nextInt(MAP_SIZE - 1);
+        }
+    }
+
+    @Benchmark
+    public void readScreens(final Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i += 64) {
+            int minX = Math.min(queryX[i], MAP_SIZE - SCREEN_WIDTH);
+            int minY = Math.min(queryY[i], MAP_SIZE - SCREEN_HEIGHT);
+            for (int y = minY; y < minY + SCREEN_HEIGHT; y++) {
+                for (int x = minX; x < minX + SCREEN_WIDTH; x++) {
+                    blackhole.consume(tileMap.getTile(x, y));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int movementChecks() {
+        int passable = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (tileMap.isAreaPassable(queryX[i], queryY[i], queryX[i] + 1, queryY[i])) {
+                passable++;
+            }
+        }
+        return passable;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TileLayerBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}